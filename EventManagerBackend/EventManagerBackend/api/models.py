@@ -1,4 +1,5 @@
 from django.db import models
+from django.core.serializers.json import DjangoJSONEncoder
 from django.contrib.auth.models import AbstractBaseUser, BaseUserManager, PermissionsMixin
 from django.utils import timezone
 import random
@@ -108,6 +109,21 @@ class Event(models.Model):
         ordering = ['date', 'time']
 
 
+class EventTombstone(models.Model):
+    """Records hard-deleted events so delta syncs can tell clients to drop them"""
+    
+    id = models.AutoField(primary_key=True)
+    event_id = models.IntegerField()
+    deleted_at = models.DateTimeField(auto_now_add=True, db_index=True)
+    
+    def __str__(self):
+        return f"Deleted event {self.event_id}"
+    
+    class Meta:
+        db_table = 'event_tombstones'
+        ordering = ['-deleted_at']
+
+
 class EventRegistration(models.Model):
     """Event Registration model - tracks user registrations for events"""
     
@@ -148,6 +164,24 @@ class Reminder(models.Model):
         ordering = ['remind_at']
 
 
+class IdempotencyRecord(models.Model):
+    """Response to a mutation sent with an Idempotency-Key, replayed when the client retries it"""
+    
+    id = models.AutoField(primary_key=True)
+    user = models.ForeignKey(User, on_delete=models.CASCADE, related_name='idempotency_records')
+    key = models.CharField(max_length=64)
+    status_code = models.PositiveSmallIntegerField()
+    response_body = models.JSONField(encoder=DjangoJSONEncoder)
+    created_at = models.DateTimeField(auto_now_add=True, db_index=True)
+    
+    def __str__(self):
+        return f"{self.user_id}: {self.key} -> {self.status_code}"
+    
+    class Meta:
+        db_table = 'idempotency_records'
+        unique_together = ['user', 'key']
+
+
 class OTP(models.Model):
     """OTP model for password reset"""
     
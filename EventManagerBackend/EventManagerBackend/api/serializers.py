@@ -116,9 +116,10 @@ class EventSerializer(serializers.ModelSerializer):
             'id', 'title', 'description', 'date', 'time', 
             'location', 'category', 'created_by', 'created_by_name',
             'max_participants', 'registered_count', 'is_full',
-            'is_active', 'is_registered', 'has_reminder', 'created_at'
+            'is_active', 'is_registered', 'has_reminder', 'created_at',
+            'updated_at'
         ]
-        read_only_fields = ['id', 'created_by', 'created_at']
+        read_only_fields = ['id', 'created_by', 'created_at', 'updated_at']
     
     def get_is_registered(self, obj):
         request = self.context.get('request')
@@ -30,8 +30,17 @@ urlpatterns = [
     path('events/<int:pk>/cancel-reminder/', views.cancel_reminder, name='cancel_reminder'),
     path('reminders/', views.my_reminders, name='my_reminders'),
     
+    # ==================== Batch ====================
+    path('events/batch/register/', views.batch_register, name='batch_register'),
+    path('events/batch/set-reminder/', views.batch_set_reminder, name='batch_set_reminder'),
+    
     # ==================== Dashboard ====================
     path('dashboard/', views.dashboard, name='dashboard'),
     path('admin/dashboard/', views.admin_dashboard, name='admin_dashboard'),
+    path('admin/dashboard/stats/', views.admin_dashboard_stats, name='admin_dashboard_stats'),
+    path('admin/dashboard/events/', views.admin_dashboard_events, name='admin_dashboard_events'),
+    path('admin/dashboard/users/', views.admin_dashboard_users, name='admin_dashboard_users'),
+    path('admin/dashboard/events/<int:pk>/registrations/', views.admin_event_registrations, name='admin_event_registrations'),
+    path('admin/dashboard/users/<int:pk>/registrations/', views.admin_user_registrations, name='admin_user_registrations'),
 ]
 
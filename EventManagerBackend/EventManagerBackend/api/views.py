@@ -4,11 +4,16 @@ from rest_framework.permissions import AllowAny, IsAuthenticated
 from rest_framework.response import Response
 from rest_framework_simplejwt.tokens import RefreshToken
 from django.utils import timezone
+from django.utils.dateparse import parse_datetime
+from django.utils.http import http_date
 from django.core.mail import send_mail
 from django.conf import settings
-from datetime import timedelta
+from django.db import IntegrityError, transaction
+from django.db.models import Count, Prefetch, Q
+from datetime import date, datetime, time, timedelta, timezone as dt_timezone
+from functools import wraps
 
-from .models import User, Event, EventRegistration, Reminder, OTP
+from .models import User, Event, EventTombstone, EventRegistration, Reminder, OTP, IdempotencyRecord
 from .serializers import (
     UserSerializer, UserRegistrationSerializer, LoginSerializer,
     ForgotPasswordSerializer, VerifyOTPSerializer, ResetPasswordSerializer,
@@ -279,18 +284,159 @@ def change_password(request):
     }, status=status.HTTP_400_BAD_REQUEST)
 
 
+# ==================== IDEMPOTENCY ====================
+
+IDEMPOTENCY_HEADER = 'Idempotency-Key'
+IDEMPOTENCY_KEY_LENGTH = 64
+# Long enough for an app to come back online and retry what it queued
+IDEMPOTENCY_TTL = timedelta(days=7)
+
+
+def valid_idempotency_key(key):
+    return isinstance(key, str) and 0 < len(key) <= IDEMPOTENCY_KEY_LENGTH
+
+
+def stored_results(user, keys):
+    """Stored (status code, body) per key for the keys this user has already used"""
+    if not keys:
+        return {}
+    records = IdempotencyRecord.objects.filter(
+        user=user, key__in=keys, created_at__gte=timezone.now() - IDEMPOTENCY_TTL)
+    return {record.key: (record.status_code, record.response_body) for record in records}
+
+
+def remember_result(user, key, code, body):
+    """Store the answer to a keyed request; server errors are not stored so a retry runs again"""
+    if code >= 500:
+        return
+    IdempotencyRecord.objects.filter(
+        user=user, created_at__lt=timezone.now() - IDEMPOTENCY_TTL).delete()
+    IdempotencyRecord.objects.create(user=user, key=key, status_code=code, response_body=body)
+
+
+def idempotent(view):
+    """Answer a repeated Idempotency-Key with the stored response instead of running the view again.
+    Goes below @permission_classes so request.user is authenticated."""
+    @wraps(view)
+    def wrapper(request, *args, **kwargs):
+        key = request.headers.get(IDEMPOTENCY_HEADER)
+        if key is None:
+            return view(request, *args, **kwargs)
+        if not valid_idempotency_key(key):
+            return Response({
+                'success': False,
+                'message': f'{IDEMPOTENCY_HEADER} must be 1 to {IDEMPOTENCY_KEY_LENGTH} characters'
+            }, status=status.HTTP_400_BAD_REQUEST)
+        
+        stored = stored_results(request.user, [key]).get(key)
+        if stored is None:
+            try:
+                # The change and its record commit together, so a retry never sees one without the other
+                with transaction.atomic():
+                    response = view(request, *args, **kwargs)
+                    remember_result(request.user, key, response.status_code, response.data)
+                return response
+            except IntegrityError:
+                # A concurrent request with the same key got there first
+                stored = stored_results(request.user, [key]).get(key)
+                if stored is None:
+                    raise
+        
+        code, body = stored
+        return Response(body, status=code, headers={'Idempotent-Replayed': 'true'})
+    return wrapper
+
+
 # ==================== EVENT APIs ====================
 
+EVENT_PAGE_SIZE = 50
+MAX_EVENT_PAGE_SIZE = 200
+
+
+def make_event_cursor(event):
+    """Keyset cursor pointing just after this event in (date, time, id) order"""
+    return f"{event.date.isoformat()}_{event.time.isoformat()}_{event.id}"
+
+
+def parse_event_cursor(cursor):
+    """Return (date, time, id) from a cursor, or None if it is malformed"""
+    try:
+        date_part, time_part, id_part = cursor.split('_')
+        return date.fromisoformat(date_part), time.fromisoformat(time_part), int(id_part)
+    except ValueError:
+        return None
+
+
 @api_view(['GET'])
 @permission_classes([IsAuthenticated])
 def event_list(request):
-    """Get all active events"""
-    events = Event.objects.filter(is_active=True)
+    """Get active events, a page at a time with ?cursor=&limit=, or only the changes since ?since=<synced_at>"""
+    # Taken before querying so nothing committed during the query is skipped next time
+    synced_at = timezone.now()
+    since_param = request.query_params.get('since')
+    next_cursor = None
+    
+    if since_param:
+        # A raw '+' in the UTC offset arrives as a space if the client did not encode it
+        since = parse_datetime(since_param.replace(' ', '+'))
+        if since is None:
+            return Response({
+                'success': False,
+                'message': 'Invalid since timestamp'
+            }, status=status.HTTP_400_BAD_REQUEST)
+        
+        changed = Event.objects.filter(updated_at__gt=since)
+        events = changed.filter(is_active=True)
+        deleted = list(changed.filter(is_active=False).values_list('id', flat=True))
+        deleted += list(EventTombstone.objects.filter(
+            deleted_at__gt=since
+        ).values_list('event_id', flat=True))
+    else:
+        events = Event.objects.filter(is_active=True).order_by('date', 'time', 'id')
+        deleted = []
+        
+        # Paging is opt-in so older clients keep getting the full list
+        cursor_param = request.query_params.get('cursor')
+        limit_param = request.query_params.get('limit')
+        if cursor_param or limit_param:
+            try:
+                limit = min(max(int(limit_param or EVENT_PAGE_SIZE), 1), MAX_EVENT_PAGE_SIZE)
+            except ValueError:
+                return Response({
+                    'success': False,
+                    'message': 'Invalid limit'
+                }, status=status.HTTP_400_BAD_REQUEST)
+            
+            if cursor_param:
+                key = parse_event_cursor(cursor_param)
+                if key is None:
+                    return Response({
+                        'success': False,
+                        'message': 'Invalid cursor'
+                    }, status=status.HTTP_400_BAD_REQUEST)
+                after_date, after_time, after_id = key
+                # Keyset paging: stable under inserts and uses the (date, time) ordering directly
+                events = events.filter(
+                    Q(date__gt=after_date) |
+                    Q(date=after_date, time__gt=after_time) |
+                    Q(date=after_date, time=after_time, id__gt=after_id)
+                )
+            
+            # One extra row tells whether another page follows
+            page = list(events[:limit + 1])
+            if len(page) > limit:
+                page = page[:limit]
+                next_cursor = make_event_cursor(page[-1])
+            events = page
+    
     serializer = EventSerializer(events, many=True, context={'request': request})
     return Response({
         'success': True,
-        'count': events.count(),
-        'events': serializer.data
+        'count': len(serializer.data),
+        'events': serializer.data,
+        'deleted': deleted,
+        'synced_at': synced_at.isoformat(),
+        'next_cursor': next_cursor,
     }, status=status.HTTP_200_OK)
 
 
@@ -301,10 +447,13 @@ def event_detail(request, pk):
     try:
         event = Event.objects.get(pk=pk, is_active=True)
         serializer = EventSerializer(event, context={'request': request})
-        return Response({
+        response = Response({
             'success': True,
             'event': serializer.data
         }, status=status.HTTP_200_OK)
+        # Lets clients revalidate with If-Modified-Since (ConditionalGetMiddleware answers 304)
+        response['Last-Modified'] = http_date(event.updated_at.timestamp())
+        return response
     except Event.DoesNotExist:
         return Response({
             'success': False,
@@ -314,6 +463,7 @@ def event_detail(request, pk):
 
 @api_view(['POST'])
 @permission_classes([IsAuthenticated])
+@idempotent
 def event_create(request):
     """Create new event (Admin only)"""
     if not request.user.is_admin():
@@ -341,6 +491,7 @@ def event_create(request):
 
 @api_view(['PUT'])
 @permission_classes([IsAuthenticated])
+@idempotent
 def event_update(request, pk):
     """Update event (Admin only)"""
     if not request.user.is_admin():
@@ -386,6 +537,7 @@ def event_delete(request, pk):
     
     try:
         event = Event.objects.get(pk=pk)
+        EventTombstone.objects.create(event_id=event.id)
         event.delete()
         return Response({
             'success': True,
@@ -398,65 +550,82 @@ def event_delete(request, pk):
         }, status=status.HTTP_404_NOT_FOUND)
 
 
+def touch_event(event_id):
+    """Bump updated_at so delta syncs resend the event's counts and per-user flags"""
+    Event.objects.filter(pk=event_id).update(updated_at=timezone.now())
+
+
 # ==================== REGISTRATION APIs ====================
 
+def registration_result(user, event, already_registered, data):
+    """Register user for event; returns (status code, response body) without touching the event"""
+    if event is None:
+        return status.HTTP_404_NOT_FOUND, {
+            'success': False,
+            'message': 'Event not found'
+        }
+    
+    # Check if already registered
+    if already_registered:
+        return status.HTTP_400_BAD_REQUEST, {
+            'success': False,
+            'message': 'You are already registered for this event'
+        }
+    
+    # Check if event is full
+    if event.is_full:
+        return status.HTTP_400_BAD_REQUEST, {
+            'success': False,
+            'message': 'This event is full'
+        }
+    
+    # Get registration details from request
+    name = data.get('name', user.name)
+    email = data.get('email', user.email)
+    phone = data.get('phone', '')
+    student_id = data.get('student_id', '')
+    
+    # Create registration with details
+    registration = EventRegistration.objects.create(
+        user=user,
+        event=event,
+        name=name,
+        email=email,
+        phone=phone,
+        student_id=student_id
+    )
+    
+    return status.HTTP_201_CREATED, {
+        'success': True,
+        'message': 'Successfully registered for event',
+        'registration': EventRegistrationSerializer(registration).data
+    }
+
+
 @api_view(['POST'])
 @permission_classes([IsAuthenticated])
+@idempotent
 def register_for_event(request, pk):
     """Register current user for an event with details"""
-    try:
-        event = Event.objects.get(pk=pk, is_active=True)
-        
-        # Check if already registered
-        if EventRegistration.objects.filter(user=request.user, event=event).exists():
-            return Response({
-                'success': False,
-                'message': 'You are already registered for this event'
-            }, status=status.HTTP_400_BAD_REQUEST)
-        
-        # Check if event is full
-        if event.is_full:
-            return Response({
-                'success': False,
-                'message': 'This event is full'
-            }, status=status.HTTP_400_BAD_REQUEST)
-        
-        # Get registration details from request
-        name = request.data.get('name', request.user.name)
-        email = request.data.get('email', request.user.email)
-        phone = request.data.get('phone', '')
-        student_id = request.data.get('student_id', '')
-        
-        # Create registration with details
-        registration = EventRegistration.objects.create(
-            user=request.user,
-            event=event,
-            name=name,
-            email=email,
-            phone=phone,
-            student_id=student_id
-        )
-        
-        return Response({
-            'success': True,
-            'message': 'Successfully registered for event',
-            'registration': EventRegistrationSerializer(registration).data
-        }, status=status.HTTP_201_CREATED)
-        
-    except Event.DoesNotExist:
-        return Response({
-            'success': False,
-            'message': 'Event not found'
-        }, status=status.HTTP_404_NOT_FOUND)
+    event = Event.objects.filter(pk=pk, is_active=True).first()
+    already_registered = event is not None and EventRegistration.objects.filter(
+        user=request.user, event=event).exists()
+    
+    code, body = registration_result(request.user, event, already_registered, request.data)
+    if body['success']:
+        touch_event(event.id)
+    return Response(body, status=code)
 
 
 @api_view(['DELETE'])
 @permission_classes([IsAuthenticated])
+@idempotent
 def cancel_registration(request, pk):
     """Cancel registration for an event"""
     try:
         registration = EventRegistration.objects.get(user=request.user, event_id=pk)
         registration.delete()
+        touch_event(pk)
         
         return Response({
             'success': True,
@@ -485,120 +654,111 @@ def my_registrations(request):
 
 # ==================== REMINDER APIs ====================
 
+def reminder_result(user, event, already_set, data):
+    """Set reminder for user on event; returns (status code, response body) without touching the event"""
+    if event is None:
+        return status.HTTP_404_NOT_FOUND, {
+            'success': False,
+            'message': 'Event not found'
+        }
+    
+    # Check if reminder already exists
+    if already_set:
+        return status.HTTP_400_BAD_REQUEST, {
+            'success': False,
+            'message': 'Reminder already set for this event'
+        }
+    
+    # Validate timing option
+    serializer = SetReminderSerializer(data=data)
+    if not serializer.is_valid():
+        return status.HTTP_400_BAD_REQUEST, {
+            'success': False,
+            'message': 'Invalid timing option',
+            'errors': serializer.errors
+        }
+    
+    timing = serializer.validated_data.get('timing', '1_day')
+    
+    # Calculate remind_at based on timing option
+    # Combine date and time (naive datetime)
+    # event.date and event.time are stored as naive DateField and TimeField
+    # These represent the local time in Pakistan (UTC+5)
+    event_datetime_naive = datetime.combine(event.date, event.time)
+    
+    # IMPORTANT: The naive datetime is already in Pakistan local time
+    # We need to treat it as UTC+5 and convert to UTC for storage
+    # Pakistan is UTC+5, so to convert PKT to UTC, we subtract 5 hours
+    # Example: 11:40 PM PKT = 6:40 PM UTC (11:40 PM - 5 hours)
+    
+    # Convert Pakistan local time directly to UTC
+    # Since PKT = UTC+5, we subtract 5 hours to get UTC
+    pakistan_offset_hours = 5
+    event_datetime_utc_naive = event_datetime_naive - timedelta(hours=pakistan_offset_hours)
+    
+    # Make it timezone-aware in UTC (Django stores in UTC when USE_TZ=True)
+    event_datetime = event_datetime_utc_naive.replace(tzinfo=dt_timezone.utc)
+    
+    # Calculate reminder time based on selected option
+    timing_map = {
+        '1_day': timedelta(days=1),
+        '12_hours': timedelta(hours=12),
+        '6_hours': timedelta(hours=6),
+        '3_hours': timedelta(hours=3),
+        '1_hour': timedelta(hours=1),
+        '30_minutes': timedelta(minutes=30),
+        '15_minutes': timedelta(minutes=15),
+    }
+    
+    remind_at = event_datetime - timing_map.get(timing, timedelta(days=1))
+    
+    # Don't set reminder in the past
+    if remind_at <= timezone.now():
+        return status.HTTP_400_BAD_REQUEST, {
+            'success': False,
+            'message': 'Cannot set reminder in the past. Please choose a different timing option.'
+        }
+    
+    reminder = Reminder.objects.create(
+        user=user,
+        event=event,
+        remind_at=remind_at
+    )
+    
+    # Format timing for response message
+    timing_display = dict(SetReminderSerializer.TIMING_CHOICES).get(timing, timing)
+    
+    return status.HTTP_201_CREATED, {
+        'success': True,
+        'message': f'Reminder set successfully for {timing_display}',
+        'reminder': ReminderSerializer(reminder).data
+    }
+
+
 @api_view(['POST'])
 @permission_classes([IsAuthenticated])
+@idempotent
 def set_reminder(request, pk):
     """Set reminder for an event with custom timing"""
-    try:
-        event = Event.objects.get(pk=pk, is_active=True)
-        
-        # Check if reminder already exists
-        if Reminder.objects.filter(user=request.user, event=event).exists():
-            return Response({
-                'success': False,
-                'message': 'Reminder already set for this event'
-            }, status=status.HTTP_400_BAD_REQUEST)
-        
-        # Validate timing option
-        serializer = SetReminderSerializer(data=request.data)
-        if not serializer.is_valid():
-            return Response({
-                'success': False,
-                'message': 'Invalid timing option',
-                'errors': serializer.errors
-            }, status=status.HTTP_400_BAD_REQUEST)
-        
-        timing = serializer.validated_data.get('timing', '1_day')
-        
-        # Calculate remind_at based on timing option
-        from datetime import datetime, timedelta
-        from django.conf import settings
-        
-        # Combine date and time (naive datetime)
-        # event.date and event.time are stored as naive DateField and TimeField
-        # These represent the local time in Pakistan (UTC+5)
-        event_datetime_naive = datetime.combine(event.date, event.time)
-        
-        # IMPORTANT: The naive datetime is already in Pakistan local time
-        # We need to treat it as UTC+5 and convert to UTC for storage
-        # Pakistan is UTC+5, so to convert PKT to UTC, we subtract 5 hours
-        # Example: 11:40 PM PKT = 6:40 PM UTC (11:40 PM - 5 hours)
-        
-        # Convert Pakistan local time directly to UTC
-        # Since PKT = UTC+5, we subtract 5 hours to get UTC
-        pakistan_offset_hours = 5
-        event_datetime_utc_naive = event_datetime_naive - timedelta(hours=pakistan_offset_hours)
-        
-        # Make it timezone-aware in UTC (Django stores in UTC when USE_TZ=True)
-        from datetime import timezone as dt_timezone
-        event_datetime = event_datetime_utc_naive.replace(tzinfo=dt_timezone.utc)
-        
-        # Calculate reminder time based on selected option
-        timing_map = {
-            '1_day': timedelta(days=1),
-            '12_hours': timedelta(hours=12),
-            '6_hours': timedelta(hours=6),
-            '3_hours': timedelta(hours=3),
-            '1_hour': timedelta(hours=1),
-            '30_minutes': timedelta(minutes=30),
-            '15_minutes': timedelta(minutes=15),
-        }
-        
-        remind_at = event_datetime - timing_map.get(timing, timedelta(days=1))
-        
-        # Debug: Print times to help diagnose timezone issues
-        import sys
-        from datetime import timezone as dt_timezone
-        pakistan_tz = dt_timezone(timedelta(hours=5))
-        naive_dt = datetime.combine(event.date, event.time)
-        print(f"[DEBUG] ===== REMINDER TIMEZONE DEBUG =====", file=sys.stderr)
-        print(f"[DEBUG] Event date: {event.date}, time: {event.time}", file=sys.stderr)
-        print(f"[DEBUG] Event datetime (naive/PKT): {naive_dt}", file=sys.stderr)
-        print(f"[DEBUG] Event datetime (UTC in DB): {event_datetime}", file=sys.stderr)
-        print(f"[DEBUG] Event datetime (back to PKT): {event_datetime.astimezone(pakistan_tz)}", file=sys.stderr)
-        print(f"[DEBUG] Remind at (UTC in DB): {remind_at}", file=sys.stderr)
-        print(f"[DEBUG] Remind at (PKT): {remind_at.astimezone(pakistan_tz)}", file=sys.stderr)
-        print(f"[DEBUG] Current time (UTC): {timezone.now()}", file=sys.stderr)
-        print(f"[DEBUG] Current time (PKT): {timezone.now().astimezone(pakistan_tz)}", file=sys.stderr)
-        print(f"[DEBUG] Settings TIME_ZONE: {settings.TIME_ZONE}", file=sys.stderr)
-        print(f"[DEBUG] ====================================", file=sys.stderr)
-        
-        # Don't set reminder in the past
-        if remind_at <= timezone.now():
-            return Response({
-                'success': False,
-                'message': 'Cannot set reminder in the past. Please choose a different timing option.'
-            }, status=status.HTTP_400_BAD_REQUEST)
-        
-        reminder = Reminder.objects.create(
-            user=request.user,
-            event=event,
-            remind_at=remind_at
-        )
-        
-        # Format timing for response message
-        timing_display = dict(SetReminderSerializer.TIMING_CHOICES).get(timing, timing)
-        
-        return Response({
-            'success': True,
-            'message': f'Reminder set successfully for {timing_display}',
-            'reminder': ReminderSerializer(reminder).data
-        }, status=status.HTTP_201_CREATED)
-        
-    except Event.DoesNotExist:
-        return Response({
-            'success': False,
-            'message': 'Event not found'
-        }, status=status.HTTP_404_NOT_FOUND)
+    event = Event.objects.filter(pk=pk, is_active=True).first()
+    already_set = event is not None and Reminder.objects.filter(
+        user=request.user, event=event).exists()
+    
+    code, body = reminder_result(request.user, event, already_set, request.data)
+    if body['success']:
+        touch_event(event.id)
+    return Response(body, status=code)
 
 
 @api_view(['DELETE'])
 @permission_classes([IsAuthenticated])
+@idempotent
 def cancel_reminder(request, pk):
     """Cancel reminder for an event"""
     try:
         reminder = Reminder.objects.get(user=request.user, event_id=pk)
         reminder.delete()
+        touch_event(pk)
         
         return Response({
             'success': True,
@@ -625,6 +785,99 @@ def my_reminders(request):
     }, status=status.HTTP_200_OK)
 
 
+# ==================== BATCH APIs ====================
+
+MAX_BATCH_ITEMS = 50
+
+
+def parse_batch_items(request):
+    """Items of a batch body, or (None, error response) when the body is unusable"""
+    items = request.data.get('items')
+    if not isinstance(items, list) or not items:
+        return None, Response({
+            'success': False,
+            'message': 'items must be a non-empty list'
+        }, status=status.HTTP_400_BAD_REQUEST)
+    if len(items) > MAX_BATCH_ITEMS:
+        return None, Response({
+            'success': False,
+            'message': f'At most {MAX_BATCH_ITEMS} items per batch'
+        }, status=status.HTTP_400_BAD_REQUEST)
+    for item in items:
+        if not isinstance(item, dict) or type(item.get('event_id')) is not int:
+            return None, Response({
+                'success': False,
+                'message': 'Every item needs an integer event_id'
+            }, status=status.HTTP_400_BAD_REQUEST)
+        if 'idempotency_key' in item and not valid_idempotency_key(item['idempotency_key']):
+            return None, Response({
+                'success': False,
+                'message': f'idempotency_key must be 1 to {IDEMPOTENCY_KEY_LENGTH} characters'
+            }, status=status.HTTP_400_BAD_REQUEST)
+    return items, None
+
+
+def run_batch(request, items, existing, perform, noun):
+    """Apply perform to each item in order and report a result per item, in the same order.
+    An item whose idempotency_key was seen before gets its stored result and is not applied again."""
+    event_ids = {item['event_id'] for item in items}
+    events = Event.objects.filter(pk__in=event_ids, is_active=True).in_bulk()
+    done = set(existing.filter(user=request.user, event_id__in=event_ids)
+               .values_list('event_id', flat=True))
+    replayed = stored_results(request.user, [item['idempotency_key'] for item in items if 'idempotency_key' in item])
+    
+    results = []
+    touched = set()
+    for item in items:
+        event_id = item['event_id']
+        key = item.get('idempotency_key')
+        if key in replayed:
+            code, body = replayed[key]
+            results.append({'event_id': event_id, 'status': code, **body})
+            continue
+        
+        with transaction.atomic():
+            code, body = perform(request.user, events.get(event_id), event_id in done, item)
+            if key:
+                remember_result(request.user, key, code, body)
+                replayed[key] = (code, body)
+        if body['success']:
+            done.add(event_id)
+            touched.add(event_id)
+        results.append({'event_id': event_id, 'status': code, **body})
+    
+    # One update for every event whose counts or per-user flags changed
+    if touched:
+        Event.objects.filter(pk__in=touched).update(updated_at=timezone.now())
+    
+    succeeded = sum(1 for result in results if result['success'])
+    return Response({
+        'success': succeeded == len(results),
+        'message': f'{succeeded} of {len(results)} {noun} succeeded',
+        'results': results
+    }, status=status.HTTP_200_OK)
+
+
+@api_view(['POST'])
+@permission_classes([IsAuthenticated])
+def batch_register(request):
+    """Register current user for several events; items carry event_id plus registration details"""
+    items, error = parse_batch_items(request)
+    if error:
+        return error
+    return run_batch(request, items, EventRegistration.objects, registration_result, 'registrations')
+
+
+@api_view(['POST'])
+@permission_classes([IsAuthenticated])
+def batch_set_reminder(request):
+    """Set reminders on several events; items carry event_id plus timing"""
+    items, error = parse_batch_items(request)
+    if error:
+        return error
+    return run_batch(request, items, Reminder.objects, reminder_result, 'reminders')
+
+
 # ==================== DASHBOARD API ====================
 
 @api_view(['GET'])
@@ -656,109 +909,146 @@ def dashboard(request):
     return Response(data, status=status.HTTP_200_OK)
 
 
-@api_view(['GET'])
-@permission_classes([IsAuthenticated])
-def admin_dashboard(request):
-    """Get detailed admin dashboard data with all statistics and registrations"""
-    user = request.user
-    
-    # Check if user is admin
-    if not user.is_admin():
+ADMIN_PAGE_SIZE = 20
+MAX_ADMIN_PAGE_SIZE = 100
+
+
+def admin_forbidden(user):
+    """Response to return when the user is not an admin, otherwise None"""
+    if user.is_admin():
+        return None
+    return Response({
+        'success': False,
+        'message': 'Only admins can access this dashboard'
+    }, status=status.HTTP_403_FORBIDDEN)
+
+
+def admin_page(request, queryset, key, serialize):
+    """One ?cursor=&limit= page of queryset under key; the cursor is the offset of the next row"""
+    try:
+        limit = min(max(int(request.query_params.get('limit') or ADMIN_PAGE_SIZE), 1), MAX_ADMIN_PAGE_SIZE)
+        offset = max(int(request.query_params.get('cursor') or 0), 0)
+    except ValueError:
         return Response({
             'success': False,
-            'message': 'Only admins can access this dashboard'
-        }, status=status.HTTP_403_FORBIDDEN)
-    
-    from django.db.models import Count
-    from django.utils import timezone
-    from datetime import timedelta
+            'message': 'Invalid cursor or limit'
+        }, status=status.HTTP_400_BAD_REQUEST)
     
-    # Total statistics
-    total_users = User.objects.count()
-    total_students = User.objects.filter(role='student').count()
-    total_admins = User.objects.filter(role='admin').count()
-    total_events = Event.objects.count()
-    active_events = Event.objects.filter(is_active=True).count()
-    total_registrations = EventRegistration.objects.count()
+    # One extra row tells whether another page follows
+    page = list(queryset[offset:offset + limit + 1])
+    next_cursor = None
+    if len(page) > limit:
+        page = page[:limit]
+        next_cursor = str(offset + limit)
     
-    # Recent activity (last 7 days)
-    seven_days_ago = timezone.now() - timedelta(days=7)
-    recent_registrations = EventRegistration.objects.filter(
-        registered_at__gte=seven_days_ago
-    ).count()
-    recent_events = Event.objects.filter(
-        created_at__gte=seven_days_ago
-    ).count()
-    
-    # Events with registration counts and details
-    events_with_counts = Event.objects.annotate(
+    return Response({
+        'success': True,
+        key: [serialize(item) for item in page],
+        'next_cursor': next_cursor,
+    }, status=status.HTTP_200_OK)
+
+
+def admin_event_queryset():
+    """Events with registration counts in dashboard order, id breaks ties so pages are stable"""
+    return Event.objects.annotate(
         registration_count=Count('registrations')
-    ).order_by('-date', '-registration_count')
-    
-    # Build event registration details
-    event_registration_details = []
-    for event in events_with_counts:
-        registrations = EventRegistration.objects.filter(event=event).select_related('user')
-        registration_list = []
-        for reg in registrations:
-            registration_list.append({
-                'id': reg.id,
-                'user_id': reg.user.id,
-                'user_name': reg.user.name,
-                'user_email': reg.user.email,
-                'name': reg.name,
-                'email': reg.email,
-                'phone': reg.phone,
-                'student_id': reg.student_id,
-                'registered_at': reg.registered_at.isoformat() if reg.registered_at else None,
-            })
-        
-        event_registration_details.append({
-            'event_id': event.id,
-            'event_title': event.title,
-            'event_date': event.date.isoformat(),
-            'event_time': event.time.isoformat(),
-            'event_location': event.location,
-            'event_category': event.get_category_display(),
-            'registration_count': event.registration_count,
-            'max_participants': event.max_participants,
-            'is_full': event.registration_count >= event.max_participants if event.max_participants else False,
-            'is_active': event.is_active,
-            'registrations': registration_list,
-        })
-    
-    # Users with their registrations
-    users_with_registrations = User.objects.annotate(
+    ).order_by('-date', '-registration_count', 'id')
+
+
+def admin_user_queryset():
+    """Users who registered for anything, busiest first"""
+    return User.objects.annotate(
         registration_count=Count('registrations')
-    ).filter(registration_count__gt=0).order_by('-registration_count', 'name')
-    
-    user_registration_details = []
-    for user in users_with_registrations:
-        registrations = EventRegistration.objects.filter(user=user).select_related('event')
-        registration_list = []
-        for reg in registrations:
-            registration_list.append({
-                'id': reg.id,
-                'event_id': reg.event.id,
-                'event_title': reg.event.title,
-                'event_date': reg.event.date.isoformat(),
-                'event_time': reg.event.time.isoformat(),
-                'event_location': reg.event.location,
-                'name': reg.name,
-                'email': reg.email,
-                'phone': reg.phone,
-                'student_id': reg.student_id,
-                'registered_at': reg.registered_at.isoformat() if reg.registered_at else None,
-            })
-        
-        user_registration_details.append({
-            'user_id': user.id,
-            'user_name': user.name,
-            'user_email': user.email,
-            'user_role': user.role,
-            'registration_count': user.registration_count,
-            'registrations': registration_list,
-        })
+    ).filter(registration_count__gt=0).order_by('-registration_count', 'name', 'id')
+
+
+def serialize_event_summary(event, registrations=None):
+    data = {
+        'event_id': event.id,
+        'event_title': event.title,
+        'event_date': event.date.isoformat(),
+        'event_time': event.time.isoformat(),
+        'event_location': event.location,
+        'event_category': event.get_category_display(),
+        'registration_count': event.registration_count,
+        'max_participants': event.max_participants,
+        'is_full': event.registration_count >= event.max_participants if event.max_participants else False,
+        'is_active': event.is_active,
+    }
+    if registrations is not None:
+        data['registrations'] = registrations
+    return data
+
+
+def serialize_user_summary(user, registrations=None):
+    data = {
+        'user_id': user.id,
+        'user_name': user.name,
+        'user_email': user.email,
+        'user_role': user.role,
+        'registration_count': user.registration_count,
+    }
+    if registrations is not None:
+        data['registrations'] = registrations
+    return data
+
+
+def serialize_event_registration(reg):
+    """A registration as listed under its event (needs reg.user loaded)"""
+    return {
+        'id': reg.id,
+        'user_id': reg.user.id,
+        'user_name': reg.user.name,
+        'user_email': reg.user.email,
+        'name': reg.name,
+        'email': reg.email,
+        'phone': reg.phone,
+        'student_id': reg.student_id,
+        'registered_at': reg.registered_at.isoformat() if reg.registered_at else None,
+    }
+
+
+def serialize_user_registration(reg):
+    """A registration as listed under its user (needs reg.event loaded)"""
+    return {
+        'id': reg.id,
+        'event_id': reg.event.id,
+        'event_title': reg.event.title,
+        'event_date': reg.event.date.isoformat(),
+        'event_time': reg.event.time.isoformat(),
+        'event_location': reg.event.location,
+        'name': reg.name,
+        'email': reg.email,
+        'phone': reg.phone,
+        'student_id': reg.student_id,
+        'registered_at': reg.registered_at.isoformat() if reg.registered_at else None,
+    }
+
+
+@api_view(['GET'])
+@permission_classes([IsAuthenticated])
+def admin_dashboard(request):
+    """Get detailed admin dashboard data with all statistics and registrations"""
+    forbidden = admin_forbidden(request.user)
+    if forbidden:
+        return forbidden
+    
+    # Registrations are prefetched in one query per section instead of one per event and user
+    events_with_counts = admin_event_queryset().prefetch_related(
+        Prefetch('registrations', queryset=EventRegistration.objects.select_related('user'))
+    )
+    event_registration_details = [
+        serialize_event_summary(event, [serialize_event_registration(reg) for reg in event.registrations.all()])
+        for event in events_with_counts
+    ]
+    
+    users_with_registrations = admin_user_queryset().prefetch_related(
+        Prefetch('registrations', queryset=EventRegistration.objects.select_related('event'))
+    )
+    user_registration_details = [
+        serialize_user_summary(user, [serialize_user_registration(reg) for reg in user.registrations.all()])
+        for user in users_with_registrations
+    ]
     
     # Top events by registrations
     top_events = Event.objects.annotate(
@@ -776,17 +1066,101 @@ def admin_dashboard(request):
     
     return Response({
         'success': True,
-        'stats': {
-            'total_users': total_users,
-            'total_students': total_students,
-            'total_admins': total_admins,
-            'total_events': total_events,
-            'active_events': active_events,
-            'total_registrations': total_registrations,
-            'recent_registrations': recent_registrations,
-            'recent_events': recent_events,
-        },
+        'stats': admin_stats(),
         'event_registration_details': event_registration_details,
         'user_registration_details': user_registration_details,
         'top_events': top_events_list,
     }, status=status.HTTP_200_OK)
+
+
+def admin_stats():
+    """Dashboard totals; a fixed number of count queries whatever the data size"""
+    # Recent activity (last 7 days)
+    seven_days_ago = timezone.now() - timedelta(days=7)
+    
+    return {
+        'total_users': User.objects.count(),
+        'total_students': User.objects.filter(role='student').count(),
+        'total_admins': User.objects.filter(role='admin').count(),
+        'total_events': Event.objects.count(),
+        'active_events': Event.objects.filter(is_active=True).count(),
+        'total_registrations': EventRegistration.objects.count(),
+        'recent_registrations': EventRegistration.objects.filter(registered_at__gte=seven_days_ago).count(),
+        'recent_events': Event.objects.filter(created_at__gte=seven_days_ago).count(),
+    }
+
+
+@api_view(['GET'])
+@permission_classes([IsAuthenticated])
+def admin_dashboard_stats(request):
+    """Get the admin dashboard statistics only"""
+    forbidden = admin_forbidden(request.user)
+    if forbidden:
+        return forbidden
+    
+    return Response({
+        'success': True,
+        'stats': admin_stats(),
+    }, status=status.HTTP_200_OK)
+
+
+@api_view(['GET'])
+@permission_classes([IsAuthenticated])
+def admin_dashboard_events(request):
+    """Get a page of event summaries with registration counts (?cursor=&limit=)"""
+    forbidden = admin_forbidden(request.user)
+    if forbidden:
+        return forbidden
+    
+    return admin_page(request, admin_event_queryset(), 'events', serialize_event_summary)
+
+
+@api_view(['GET'])
+@permission_classes([IsAuthenticated])
+def admin_dashboard_users(request):
+    """Get a page of users who registered for events, with their registration counts (?cursor=&limit=)"""
+    forbidden = admin_forbidden(request.user)
+    if forbidden:
+        return forbidden
+    
+    return admin_page(request, admin_user_queryset(), 'users', serialize_user_summary)
+
+
+@api_view(['GET'])
+@permission_classes([IsAuthenticated])
+def admin_event_registrations(request, pk):
+    """Get a page of the registrations for one event (?cursor=&limit=)"""
+    forbidden = admin_forbidden(request.user)
+    if forbidden:
+        return forbidden
+    
+    if not Event.objects.filter(pk=pk).exists():
+        return Response({
+            'success': False,
+            'message': 'Event not found'
+        }, status=status.HTTP_404_NOT_FOUND)
+    
+    registrations = EventRegistration.objects.filter(
+        event_id=pk
+    ).select_related('user').order_by('-registered_at', '-id')
+    return admin_page(request, registrations, 'registrations', serialize_event_registration)
+
+
+@api_view(['GET'])
+@permission_classes([IsAuthenticated])
+def admin_user_registrations(request, pk):
+    """Get a page of the registrations made by one user (?cursor=&limit=)"""
+    forbidden = admin_forbidden(request.user)
+    if forbidden:
+        return forbidden
+    
+    if not User.objects.filter(pk=pk).exists():
+        return Response({
+            'success': False,
+            'message': 'User not found'
+        }, status=status.HTTP_404_NOT_FOUND)
+    
+    registrations = EventRegistration.objects.filter(
+        user_id=pk
+    ).select_related('event').order_by('-registered_at', '-id')
+    return admin_page(request, registrations, 'registrations', serialize_user_registration)
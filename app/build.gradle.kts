@@ -17,7 +17,16 @@ android {
     }
 
     buildTypes {
+        // API traffic logging, see NetworkLogger: NONE, BASIC, HEADERS or BODY
+        debug {
+            buildConfigField("String", "HTTP_LOG_LEVEL", "\"BODY\"")
+            buildConfigField("double", "HTTP_LOG_BODY_SAMPLE_RATE", "0.25")
+            buildConfigField("long", "HTTP_LOG_MAX_BODY_BYTES", "4096L")
+        }
         release {
+            buildConfigField("String", "HTTP_LOG_LEVEL", "\"NONE\"")
+            buildConfigField("double", "HTTP_LOG_BODY_SAMPLE_RATE", "0.0")
+            buildConfigField("long", "HTTP_LOG_MAX_BODY_BYTES", "0L")
             isMinifyEnabled = false
             proguardFiles(
                 getDefaultProguardFile("proguard-android-optimize.txt"),
@@ -25,9 +34,23 @@ android {
             )
         }
     }
+    buildFeatures {
+        buildConfig = true
+    }
+    testOptions {
+        // android.util.Log in the api classes is a no-op on the JVM
+        unitTests.isReturnDefaultValues = true
+        // JVM microbenchmarks only run on request: ./gradlew testDebugUnitTest -Pbenchmark
+        unitTests.all {
+            it.systemProperty("benchmark", project.hasProperty("benchmark"))
+            it.systemProperty("benchmark.dir", layout.buildDirectory.dir("reports/benchmarks").get().asFile.path)
+        }
+    }
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
+        // java.time below API 26
+        isCoreLibraryDesugaringEnabled = true
     }
 }
 
@@ -47,9 +70,11 @@ dependencies {
     implementation(libs.retrofit)
     implementation(libs.retrofit.gson)
     implementation(libs.okhttp)
-    implementation(libs.okhttp.logging)
+    
+    coreLibraryDesugaring(libs.desugar.jdk.libs)
     
     testImplementation(libs.junit)
+    testImplementation(libs.mockwebserver)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
\ No newline at end of file
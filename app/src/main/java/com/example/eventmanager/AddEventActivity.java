@@ -13,25 +13,21 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
-import com.example.eventmanager.api.ApiConfig;
-import com.example.eventmanager.api.ApiService;
 import com.example.eventmanager.api.request.CreateEventRequest;
-import com.example.eventmanager.api.response.EventDetailResponse;
+import com.example.eventmanager.api.response.EventData;
 import com.example.eventmanager.api.response.UserData;
+import com.example.eventmanager.data.EventRepository;
+import com.example.eventmanager.data.Outbox;
 import com.example.eventmanager.utils.SessionManager;
 
 import java.util.Calendar;
 import java.util.Locale;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class AddEventActivity extends AppCompatActivity {
 
     private EditText etTitle, etDescription, etDate, etTime, etLocation, etCategory;
     private Button btnAddEvent;
-    private ApiService apiService;
+    private Outbox outbox;
     private SessionManager sessionManager;
     private UserData currentUser;
     private ProgressDialog progressDialog;
@@ -48,8 +44,8 @@ public class AddEventActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_add_event);
 
-        // Initialize API and session
-        apiService = ApiConfig.getApiService(this);
+        // Initialize outbox and session
+        outbox = Outbox.getInstance(this);
         sessionManager = new SessionManager(this);
         currentUser = sessionManager.getCurrentUser();
 
@@ -73,9 +69,12 @@ public class AddEventActivity extends AppCompatActivity {
         setupDateTimePickers();
         setupCategoryDropdown();
         
-        // Load event data if in update mode
+        // Load event data if in update mode; after a restore the fields keep their own state
         if (isUpdateMode) {
-            loadEventData();
+            btnAddEvent.setText("Update Event");
+            if (savedInstanceState == null) {
+                loadEventData();
+            }
         }
         
         setupButton();
@@ -146,23 +145,27 @@ public class AddEventActivity extends AppCompatActivity {
     }
 
     private void loadEventData() {
-        // Load event data from intent extras
-        String title = getIntent().getStringExtra("event_title");
-        String description = getIntent().getStringExtra("event_description");
-        String date = getIntent().getStringExtra("event_date");
-        String time = getIntent().getStringExtra("event_time");
-        String location = getIntent().getStringExtra("event_location");
-        String category = getIntent().getStringExtra("event_category");
-        
-        if (title != null) etTitle.setText(title);
-        if (description != null) etDescription.setText(description);
-        if (date != null) etDate.setText(date);
-        if (time != null) etTime.setText(time);
-        if (location != null) etLocation.setText(location);
-        if (category != null) etCategory.setText(category);
-        
-        // Update button text
-        btnAddEvent.setText("Update Event");
+        // Only the id is passed; the event comes from the repository
+        EventRepository eventRepository = EventRepository.getInstance(this);
+        EventData event = eventRepository.peekEvent(eventId);
+        if (event != null) {
+            fillFields(event);
+        } else {
+            eventRepository.getEvent(eventId, stored -> {
+                if (stored != null) {
+                    fillFields(stored);
+                }
+            });
+        }
+    }
+
+    private void fillFields(EventData event) {
+        if (event.getTitle() != null) etTitle.setText(event.getTitle());
+        if (event.getDescription() != null) etDescription.setText(event.getDescription());
+        if (event.getDate() != null) etDate.setText(event.getDate());
+        if (event.getTime() != null) etTime.setText(event.getTime());
+        if (event.getLocation() != null) etLocation.setText(event.getLocation());
+        if (event.getCategory() != null) etCategory.setText(event.getCategory());
     }
 
     private void setupButton() {
@@ -242,37 +245,27 @@ public class AddEventActivity extends AppCompatActivity {
                 title, description, date, time, location, category, 100
         );
 
-        // Make API call
-        apiService.createEvent(request).enqueue(new Callback<EventDetailResponse>() {
+        // Kept on disk until the server has it, so it survives going offline
+        outbox.createEvent(request, new Outbox.ActionCallback() {
             @Override
-            public void onResponse(Call<EventDetailResponse> call, Response<EventDetailResponse> response) {
+            public void onApplied(String message) {
                 progressDialog.dismiss();
+                Toast.makeText(AddEventActivity.this, 
+                    "Event created successfully!", Toast.LENGTH_SHORT).show();
+                finish();
+            }
 
-                if (response.isSuccessful() && response.body() != null) {
-                    EventDetailResponse eventResponse = response.body();
-
-                    if (eventResponse.isSuccess()) {
-                        Toast.makeText(AddEventActivity.this, 
-                            "Event created successfully!", Toast.LENGTH_SHORT).show();
-                        finish();
-                    } else {
-                        Toast.makeText(AddEventActivity.this, 
-                            eventResponse.getMessage(), Toast.LENGTH_SHORT).show();
-                    }
-                } else {
-                    String errorMsg = "Failed to create event";
-                    if (response.code() == 403) {
-                        errorMsg = "You don't have permission to create events";
-                    }
-                    Toast.makeText(AddEventActivity.this, errorMsg, Toast.LENGTH_SHORT).show();
-                }
+            @Override
+            public void onRejected(String message) {
+                progressDialog.dismiss();
+                Toast.makeText(AddEventActivity.this, message, Toast.LENGTH_SHORT).show();
             }
 
             @Override
-            public void onFailure(Call<EventDetailResponse> call, Throwable t) {
+            public void onQueued(String message) {
                 progressDialog.dismiss();
-                Toast.makeText(AddEventActivity.this, 
-                    "Network error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+                Toast.makeText(AddEventActivity.this, message, Toast.LENGTH_LONG).show();
+                finish();
             }
         });
     }
@@ -345,37 +338,27 @@ public class AddEventActivity extends AppCompatActivity {
                 title, description, date, time, location, category, 100
         );
 
-        // Make API call
-        apiService.updateEvent(eventId, request).enqueue(new Callback<EventDetailResponse>() {
+        // The stored event shows the new details right away; the server gets them when it can be reached
+        outbox.updateEvent(eventId, request, new Outbox.ActionCallback() {
             @Override
-            public void onResponse(Call<EventDetailResponse> call, Response<EventDetailResponse> response) {
+            public void onApplied(String message) {
                 progressDialog.dismiss();
+                Toast.makeText(AddEventActivity.this, 
+                    "Event updated successfully!", Toast.LENGTH_SHORT).show();
+                finish();
+            }
 
-                if (response.isSuccessful() && response.body() != null) {
-                    EventDetailResponse eventResponse = response.body();
-
-                    if (eventResponse.isSuccess()) {
-                        Toast.makeText(AddEventActivity.this, 
-                            "Event updated successfully!", Toast.LENGTH_SHORT).show();
-                        finish();
-                    } else {
-                        Toast.makeText(AddEventActivity.this, 
-                            eventResponse.getMessage(), Toast.LENGTH_SHORT).show();
-                    }
-                } else {
-                    String errorMsg = "Failed to update event";
-                    if (response.code() == 403) {
-                        errorMsg = "You don't have permission to update events";
-                    }
-                    Toast.makeText(AddEventActivity.this, errorMsg, Toast.LENGTH_SHORT).show();
-                }
+            @Override
+            public void onRejected(String message) {
+                progressDialog.dismiss();
+                Toast.makeText(AddEventActivity.this, message, Toast.LENGTH_SHORT).show();
             }
 
             @Override
-            public void onFailure(Call<EventDetailResponse> call, Throwable t) {
+            public void onQueued(String message) {
                 progressDialog.dismiss();
-                Toast.makeText(AddEventActivity.this, 
-                    "Network error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+                Toast.makeText(AddEventActivity.this, message, Toast.LENGTH_LONG).show();
+                finish();
             }
         });
     }
@@ -2,44 +2,46 @@ package com.example.eventmanager;
 
 import android.app.ProgressDialog;
 import android.os.Bundle;
-import android.text.TextUtils;
-import android.view.LayoutInflater;
 import android.view.Menu;
 import android.view.MenuItem;
-import android.view.View;
-import android.widget.Button;
-import android.widget.LinearLayout;
-import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.eventmanager.adapters.AdminDashboardAdapter;
 import com.example.eventmanager.api.ApiConfig;
 import com.example.eventmanager.api.ApiService;
 import com.example.eventmanager.api.response.AdminDashboardResponse;
+import com.example.eventmanager.api.response.AdminStatsResponse;
+import com.example.eventmanager.api.response.BaseResponse;
+import com.example.eventmanager.api.response.PageResponse;
 import com.example.eventmanager.utils.SessionManager;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
 
-public class AdminDashboardActivity extends AppCompatActivity {
+public class AdminDashboardActivity extends AppCompatActivity implements AdminDashboardAdapter.PageLoader {
+
+    // Summaries per page; registrations per expanded page
+    private static final int SUMMARY_PAGE_SIZE = 20;
+    private static final int REGISTRATION_PAGE_SIZE = 20;
 
     private ApiService apiService;
     private ProgressDialog progressDialog;
+    // Requests still running, cancelled on refresh and when leaving
+    private final Set<Call<?>> pendingCalls = new HashSet<>();
     
-    // Statistics views
-    private TextView tvTotalUsers, tvTotalStudents, tvTotalEvents, tvActiveEvents;
-    private TextView tvTotalRegistrations, tvRecentRegistrations;
-    
-    // Containers
-    private LinearLayout llEventsContainer, llUsersContainer;
+    // Statistics, events and users in one recycled list
+    private AdminDashboardAdapter adapter;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -92,36 +94,36 @@ public class AdminDashboardActivity extends AppCompatActivity {
     }
 
     private void initViews() {
-        tvTotalUsers = findViewById(R.id.tvTotalUsers);
-        tvTotalStudents = findViewById(R.id.tvTotalStudents);
-        tvTotalEvents = findViewById(R.id.tvTotalEvents);
-        tvActiveEvents = findViewById(R.id.tvActiveEvents);
-        tvTotalRegistrations = findViewById(R.id.tvTotalRegistrations);
-        tvRecentRegistrations = findViewById(R.id.tvRecentRegistrations);
-        
-        llEventsContainer = findViewById(R.id.llEventsContainer);
-        llUsersContainer = findViewById(R.id.llUsersContainer);
+        RecyclerView recyclerView = findViewById(R.id.recyclerViewDashboard);
+        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        adapter = new AdminDashboardAdapter(this);
+        recyclerView.setAdapter(adapter);
     }
 
     private void loadDashboardData() {
+        cancelPendingCalls();
         progressDialog.setMessage("Loading dashboard...");
         progressDialog.show();
 
-        apiService.getAdminDashboard().enqueue(new Callback<AdminDashboardResponse>() {
+        // Only the counts are fetched up front; the sections fetch their first pages
+        // as they come on screen and registrations when a card is expanded
+        adapter.reset();
+
+        Call<AdminStatsResponse> call = apiService.getAdminStats();
+        pendingCalls.add(call);
+        call.enqueue(new Callback<AdminStatsResponse>() {
             @Override
-            public void onResponse(Call<AdminDashboardResponse> call, Response<AdminDashboardResponse> response) {
+            public void onResponse(Call<AdminStatsResponse> call, Response<AdminStatsResponse> response) {
+                pendingCalls.remove(call);
                 progressDialog.dismiss();
 
                 if (response.isSuccessful() && response.body() != null) {
-                    AdminDashboardResponse dashboardResponse = response.body();
-                    
-                    if (dashboardResponse.isSuccess()) {
-                        displayStatistics(dashboardResponse);
-                        displayEventRegistrations(dashboardResponse);
-                        displayUserRegistrations(dashboardResponse);
+                    AdminStatsResponse statsResponse = response.body();
+                    if (statsResponse.isSuccess()) {
+                        adapter.setStats(statsResponse.getStats());
                     } else {
                         Toast.makeText(AdminDashboardActivity.this, 
-                            dashboardResponse.getMessage(), Toast.LENGTH_SHORT).show();
+                            statsResponse.getMessage(), Toast.LENGTH_SHORT).show();
                     }
                 } else {
                     Toast.makeText(AdminDashboardActivity.this, 
@@ -130,7 +132,11 @@ public class AdminDashboardActivity extends AppCompatActivity {
             }
 
             @Override
-            public void onFailure(Call<AdminDashboardResponse> call, Throwable t) {
+            public void onFailure(Call<AdminStatsResponse> call, Throwable t) {
+                pendingCalls.remove(call);
+                if (call.isCanceled()) {
+                    return;
+                }
                 progressDialog.dismiss();
                 Toast.makeText(AdminDashboardActivity.this, 
                     "Network error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
@@ -138,265 +144,72 @@ public class AdminDashboardActivity extends AppCompatActivity {
         });
     }
 
-    private void displayStatistics(AdminDashboardResponse response) {
-        AdminDashboardResponse.DashboardStats stats = response.getStats();
-        
-        if (stats != null) {
-            tvTotalUsers.setText(String.valueOf(stats.getTotalUsers()));
-            tvTotalStudents.setText(String.valueOf(stats.getTotalStudents()));
-            tvTotalEvents.setText(String.valueOf(stats.getTotalEvents()));
-            tvActiveEvents.setText(String.valueOf(stats.getActiveEvents()));
-            tvTotalRegistrations.setText(String.valueOf(stats.getTotalRegistrations()));
-            tvRecentRegistrations.setText(String.valueOf(stats.getRecentRegistrations()));
-        }
+    @Override
+    public void loadEvents(String cursor,
+                           AdminDashboardAdapter.PageCallback<AdminDashboardResponse.EventRegistrationDetail> callback) {
+        enqueuePage(apiService.getAdminEvents(cursor, SUMMARY_PAGE_SIZE), callback);
     }
 
-    private void displayEventRegistrations(AdminDashboardResponse response) {
-        llEventsContainer.removeAllViews();
-        
-        if (response.getEventRegistrationDetails() == null || response.getEventRegistrationDetails().isEmpty()) {
-            TextView emptyView = new TextView(this);
-            emptyView.setText("No events found");
-            emptyView.setPadding(16, 16, 16, 16);
-            emptyView.setTextColor(0xFF999999);
-            llEventsContainer.addView(emptyView);
-            return;
-        }
+    @Override
+    public void loadUsers(String cursor,
+                          AdminDashboardAdapter.PageCallback<AdminDashboardResponse.UserRegistrationDetail> callback) {
+        enqueuePage(apiService.getAdminUsers(cursor, SUMMARY_PAGE_SIZE), callback);
+    }
 
-        for (AdminDashboardResponse.EventRegistrationDetail eventDetail : response.getEventRegistrationDetails()) {
-            View eventView = LayoutInflater.from(this).inflate(R.layout.item_event_registration, llEventsContainer, false);
-            
-            TextView tvEventTitle = eventView.findViewById(R.id.tvEventTitle);
-            TextView tvRegistrationCount = eventView.findViewById(R.id.tvRegistrationCount);
-            TextView tvEventDetails = eventView.findViewById(R.id.tvEventDetails);
-            LinearLayout llRegistrationsContainer = eventView.findViewById(R.id.llRegistrationsContainer);
-            Button btnToggle = eventView.findViewById(R.id.btnToggleRegistrations);
-            
-            // Set event title
-            tvEventTitle.setText(eventDetail.getEventTitle());
-            
-            // Set registration count
-            int count = eventDetail.getRegistrationCount();
-            tvRegistrationCount.setText(String.valueOf(count));
-            
-            // Change color based on count
-            if (eventDetail.isFull()) {
-                tvRegistrationCount.setBackgroundColor(0xFFdc3545); // Red for full
-            } else if (count < 5) {
-                tvRegistrationCount.setBackgroundColor(0xFFffc107); // Yellow for low
-            } else {
-                tvRegistrationCount.setBackgroundColor(0xFF417690); // Blue for normal
-            }
-            
-            // Set event details
-            String dateStr = formatDate(eventDetail.getEventDate());
-            String timeStr = formatTime(eventDetail.getEventTime());
-            String details = "📍 " + eventDetail.getEventLocation() + " | " +
-                           "📅 " + dateStr + " at " + timeStr;
-            tvEventDetails.setText(details);
-            
-            // Add registrations
-            if (eventDetail.getRegistrations() != null && !eventDetail.getRegistrations().isEmpty()) {
-                for (AdminDashboardResponse.RegistrationData registration : eventDetail.getRegistrations()) {
-                    View regView = LayoutInflater.from(this).inflate(R.layout.item_registration_detail, llRegistrationsContainer, false);
-                    
-                    TextView tvUserName = regView.findViewById(R.id.tvUserName);
-                    TextView tvUserEmail = regView.findViewById(R.id.tvUserEmail);
-                    TextView tvRegistrationName = regView.findViewById(R.id.tvRegistrationName);
-                    TextView tvRegistrationEmail = regView.findViewById(R.id.tvRegistrationEmail);
-                    TextView tvRegistrationPhone = regView.findViewById(R.id.tvRegistrationPhone);
-                    TextView tvStudentId = regView.findViewById(R.id.tvStudentId);
-                    TextView tvRegisteredAt = regView.findViewById(R.id.tvRegisteredAt);
-                    LinearLayout llDetails = regView.findViewById(R.id.llRegistrationDetails);
-                    
-                    tvUserName.setText(registration.getUserName());
-                    tvUserEmail.setText(registration.getUserEmail());
-                    
-                    // Show registration details if available
-                    boolean hasDetails = false;
-                    if (!TextUtils.isEmpty(registration.getName())) {
-                        tvRegistrationName.setText("Name: " + registration.getName());
-                        tvRegistrationName.setVisibility(View.VISIBLE);
-                        hasDetails = true;
-                    }
-                    if (!TextUtils.isEmpty(registration.getEmail())) {
-                        tvRegistrationEmail.setText("Email: " + registration.getEmail());
-                        tvRegistrationEmail.setVisibility(View.VISIBLE);
-                        hasDetails = true;
-                    }
-                    if (!TextUtils.isEmpty(registration.getPhone())) {
-                        tvRegistrationPhone.setText("Phone: " + registration.getPhone());
-                        tvRegistrationPhone.setVisibility(View.VISIBLE);
-                        hasDetails = true;
-                    }
-                    if (!TextUtils.isEmpty(registration.getStudentId())) {
-                        tvStudentId.setText("Student ID: " + registration.getStudentId());
-                        tvStudentId.setVisibility(View.VISIBLE);
-                        hasDetails = true;
-                    }
-                    
-                    if (hasDetails) {
-                        llDetails.setVisibility(View.VISIBLE);
-                    }
-                    
-                    if (!TextUtils.isEmpty(registration.getRegisteredAt())) {
-                        tvRegisteredAt.setText("Registered: " + formatDateTime(registration.getRegisteredAt()));
-                    }
-                    
-                    llRegistrationsContainer.addView(regView);
-                }
-            }
-            
-            // Toggle button
-            btnToggle.setOnClickListener(v -> {
-                if (llRegistrationsContainer.getVisibility() == View.GONE) {
-                    llRegistrationsContainer.setVisibility(View.VISIBLE);
-                    btnToggle.setText("Hide Registrations");
-                } else {
-                    llRegistrationsContainer.setVisibility(View.GONE);
-                    btnToggle.setText("Show Registrations (" + count + ")");
-                }
-            });
-            
-            btnToggle.setText("Show Registrations (" + count + ")");
-            
-            llEventsContainer.addView(eventView);
-        }
+    @Override
+    public void loadEventRegistrations(int eventId, String cursor,
+                                       AdminDashboardAdapter.PageCallback<AdminDashboardResponse.RegistrationData> callback) {
+        enqueuePage(apiService.getAdminEventRegistrations(eventId, cursor, REGISTRATION_PAGE_SIZE), callback);
     }
 
-    private void displayUserRegistrations(AdminDashboardResponse response) {
-        llUsersContainer.removeAllViews();
-        
-        if (response.getUserRegistrationDetails() == null || response.getUserRegistrationDetails().isEmpty()) {
-            TextView emptyView = new TextView(this);
-            emptyView.setText("No user registrations found");
-            emptyView.setPadding(16, 16, 16, 16);
-            emptyView.setTextColor(0xFF999999);
-            llUsersContainer.addView(emptyView);
-            return;
-        }
+    @Override
+    public void loadUserRegistrations(int userId, String cursor,
+                                      AdminDashboardAdapter.PageCallback<AdminDashboardResponse.RegistrationData> callback) {
+        enqueuePage(apiService.getAdminUserRegistrations(userId, cursor, REGISTRATION_PAGE_SIZE), callback);
+    }
 
-        for (AdminDashboardResponse.UserRegistrationDetail userDetail : response.getUserRegistrationDetails()) {
-            View userView = LayoutInflater.from(this).inflate(R.layout.item_user_registration, llUsersContainer, false);
-            
-            TextView tvUserName = userView.findViewById(R.id.tvUserName);
-            TextView tvUserEmail = userView.findViewById(R.id.tvUserEmail);
-            TextView tvRegistrationCount = userView.findViewById(R.id.tvRegistrationCount);
-            LinearLayout llRegistrationsContainer = userView.findViewById(R.id.llRegistrationsContainer);
-            Button btnToggle = userView.findViewById(R.id.btnToggleRegistrations);
-            
-            tvUserName.setText(userDetail.getUserName());
-            tvUserEmail.setText(userDetail.getUserEmail());
-            
-            int count = userDetail.getRegistrationCount();
-            tvRegistrationCount.setText(String.valueOf(count));
-            
-            // Add event registrations
-            if (userDetail.getRegistrations() != null && !userDetail.getRegistrations().isEmpty()) {
-                for (AdminDashboardResponse.RegistrationData registration : userDetail.getRegistrations()) {
-                    View regView = LayoutInflater.from(this).inflate(R.layout.item_registration_detail, llRegistrationsContainer, false);
-                    
-                    TextView tvEventName = regView.findViewById(R.id.tvUserName);
-                    TextView tvEventDetails = regView.findViewById(R.id.tvUserEmail);
-                    TextView tvRegistrationName = regView.findViewById(R.id.tvRegistrationName);
-                    TextView tvRegistrationEmail = regView.findViewById(R.id.tvRegistrationEmail);
-                    TextView tvRegistrationPhone = regView.findViewById(R.id.tvRegistrationPhone);
-                    TextView tvStudentId = regView.findViewById(R.id.tvStudentId);
-                    TextView tvRegisteredAt = regView.findViewById(R.id.tvRegisteredAt);
-                    LinearLayout llDetails = regView.findViewById(R.id.llRegistrationDetails);
-                    
-                    tvEventName.setText("🎯 " + registration.getEventTitle());
-                    String dateStr = formatDate(registration.getEventDate());
-                    String timeStr = formatTime(registration.getEventTime());
-                    tvEventDetails.setText("📍 " + registration.getEventLocation() + " | " +
-                                          "📅 " + dateStr + " at " + timeStr);
-                    
-                    // Show registration details if available
-                    boolean hasDetails = false;
-                    if (!TextUtils.isEmpty(registration.getName())) {
-                        tvRegistrationName.setText("Name: " + registration.getName());
-                        tvRegistrationName.setVisibility(View.VISIBLE);
-                        hasDetails = true;
-                    }
-                    if (!TextUtils.isEmpty(registration.getEmail())) {
-                        tvRegistrationEmail.setText("Email: " + registration.getEmail());
-                        tvRegistrationEmail.setVisibility(View.VISIBLE);
-                        hasDetails = true;
-                    }
-                    if (!TextUtils.isEmpty(registration.getPhone())) {
-                        tvRegistrationPhone.setText("Phone: " + registration.getPhone());
-                        tvRegistrationPhone.setVisibility(View.VISIBLE);
-                        hasDetails = true;
-                    }
-                    if (!TextUtils.isEmpty(registration.getStudentId())) {
-                        tvStudentId.setText("Student ID: " + registration.getStudentId());
-                        tvStudentId.setVisibility(View.VISIBLE);
-                        hasDetails = true;
-                    }
-                    
-                    if (hasDetails) {
-                        llDetails.setVisibility(View.VISIBLE);
-                    }
-                    
-                    if (!TextUtils.isEmpty(registration.getRegisteredAt())) {
-                        tvRegisteredAt.setText("Registered: " + formatDateTime(registration.getRegisteredAt()));
-                    }
-                    
-                    llRegistrationsContainer.addView(regView);
-                }
-            }
-            
-            // Toggle button
-            btnToggle.setOnClickListener(v -> {
-                if (llRegistrationsContainer.getVisibility() == View.GONE) {
-                    llRegistrationsContainer.setVisibility(View.VISIBLE);
-                    btnToggle.setText("Hide Events");
+    // Run a page request and hand its items to the adapter
+    private <T, R extends BaseResponse & PageResponse<T>> void enqueuePage(
+            Call<R> call, AdminDashboardAdapter.PageCallback<T> callback) {
+        pendingCalls.add(call);
+        call.enqueue(new Callback<R>() {
+            @Override
+            public void onResponse(Call<R> call, Response<R> response) {
+                pendingCalls.remove(call);
+
+                if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
+                    List<T> items = response.body().getItems();
+                    callback.onPage(items != null ? items : new ArrayList<>(), response.body().getNextCursor());
                 } else {
-                    llRegistrationsContainer.setVisibility(View.GONE);
-                    btnToggle.setText("Show Events (" + count + ")");
+                    callback.onFailed();
+                    String message = response.body() != null ? response.body().getMessage() : "Failed to load dashboard";
+                    Toast.makeText(AdminDashboardActivity.this, message, Toast.LENGTH_SHORT).show();
                 }
-            });
-            
-            btnToggle.setText("Show Events (" + count + ")");
-            
-            llUsersContainer.addView(userView);
-        }
-    }
+            }
 
-    private String formatDate(String dateStr) {
-        if (dateStr == null || dateStr.isEmpty()) return "";
-        try {
-            SimpleDateFormat inputFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-            SimpleDateFormat outputFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
-            Date date = inputFormat.parse(dateStr);
-            return date != null ? outputFormat.format(date) : dateStr;
-        } catch (ParseException e) {
-            return dateStr;
-        }
+            @Override
+            public void onFailure(Call<R> call, Throwable t) {
+                pendingCalls.remove(call);
+                if (call.isCanceled()) {
+                    return;
+                }
+                callback.onFailed();
+                Toast.makeText(AdminDashboardActivity.this, 
+                    "Network error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+            }
+        });
     }
 
-    private String formatTime(String timeStr) {
-        if (timeStr == null || timeStr.isEmpty()) return "";
-        try {
-            SimpleDateFormat inputFormat = new SimpleDateFormat("HH:mm:ss", Locale.getDefault());
-            SimpleDateFormat outputFormat = new SimpleDateFormat("h:mm a", Locale.getDefault());
-            Date time = inputFormat.parse(timeStr);
-            return time != null ? outputFormat.format(time) : timeStr;
-        } catch (ParseException e) {
-            return timeStr;
+    private void cancelPendingCalls() {
+        for (Call<?> call : new ArrayList<>(pendingCalls)) {
+            call.cancel();
         }
+        pendingCalls.clear();
     }
 
-    private String formatDateTime(String dateTimeStr) {
-        if (dateTimeStr == null || dateTimeStr.isEmpty()) return "";
-        try {
-            SimpleDateFormat inputFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.getDefault());
-            SimpleDateFormat outputFormat = new SimpleDateFormat("MMM dd, yyyy h:mm a", Locale.getDefault());
-            Date dateTime = inputFormat.parse(dateTimeStr);
-            return dateTime != null ? outputFormat.format(dateTime) : dateTimeStr;
-        } catch (ParseException e) {
-            return dateTimeStr;
-        }
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        cancelPendingCalls();
     }
 }
-
@@ -3,6 +3,7 @@ package com.example.eventmanager;
 import android.app.ProgressDialog;
 import android.content.Intent;
 import android.os.Bundle;
+import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.widget.Button;
@@ -16,32 +17,36 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.eventmanager.api.ApiConfig;
 import com.example.eventmanager.api.ApiService;
-import com.example.eventmanager.api.request.SetReminderRequest;
 import com.example.eventmanager.api.response.BaseResponse;
 import com.example.eventmanager.api.response.EventData;
 import com.example.eventmanager.api.response.EventDetailResponse;
-import com.example.eventmanager.api.response.RegistrationResponse;
-import com.example.eventmanager.api.response.ReminderResponse;
 import com.example.eventmanager.api.response.UserData;
+import com.example.eventmanager.data.EventRepository;
+import com.example.eventmanager.data.Outbox;
+import com.example.eventmanager.utils.DateTimeFormatCache;
 import com.example.eventmanager.utils.SessionManager;
 
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
 
-public class EventDetailActivity extends AppCompatActivity {
+public class EventDetailActivity extends AppCompatActivity implements EventRepository.EventsListener {
+
+    private static final String TAG = "EventDetailActivity";
+    private static final String STATE_EVENT = "event";
 
     private TextView tvTitle, tvDescription, tvDate, tvTime, tvLocation, tvCategory;
     private Button btnRegister, btnSetReminder, btnUpdateEvent, btnDeleteEvent;
     private int eventId;
     private ApiService apiService;
+    private EventRepository eventRepository;
     private SessionManager sessionManager;
     private UserData currentUser;
     private ProgressDialog progressDialog;
     
-    // Event data from intent
-    private String eventTitle, eventDescription, eventDate, eventTime, eventLocation, eventCategory;
-    private boolean isRegistered, hasReminder;
+    // Event on screen, the repository's current copy; null until it has been resolved.
+    // Registration and reminder state are read from it, so queued actions show at once
+    private EventData event;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -50,6 +55,7 @@ public class EventDetailActivity extends AppCompatActivity {
 
         // Initialize API and session
         apiService = ApiConfig.getApiService(this);
+        eventRepository = EventRepository.getInstance(this);
         sessionManager = new SessionManager(this);
         currentUser = sessionManager.getCurrentUser();
 
@@ -58,16 +64,8 @@ public class EventDetailActivity extends AppCompatActivity {
             return;
         }
 
-        // Get event data from intent
+        // Only the id is passed; the event itself comes from the repository
         eventId = getIntent().getIntExtra("event_id", -1);
-        eventTitle = getIntent().getStringExtra("event_title");
-        eventDescription = getIntent().getStringExtra("event_description");
-        eventDate = getIntent().getStringExtra("event_date");
-        eventTime = getIntent().getStringExtra("event_time");
-        eventLocation = getIntent().getStringExtra("event_location");
-        eventCategory = getIntent().getStringExtra("event_category");
-        isRegistered = getIntent().getBooleanExtra("event_is_registered", false);
-        hasReminder = getIntent().getBooleanExtra("event_has_reminder", false);
 
         if (eventId == -1) {
             finish();
@@ -79,10 +77,107 @@ public class EventDetailActivity extends AppCompatActivity {
         progressDialog.setCancelable(false);
 
         initViews();
+
+        // Saved state survives process death, when the in-memory copy is gone
+        EventData saved = savedInstanceState != null ? savedInstanceState.getParcelable(STATE_EVENT) : null;
+        if (saved != null && eventRepository.peekEvent(eventId) == null) {
+            eventRepository.cacheEvent(saved);
+        }
+        EventData cached = eventRepository.peekEvent(eventId);
+        if (cached != null) {
+            showEvent(cached);
+        } else {
+            displayEventDetails();
+            setupButtons();
+            eventRepository.getEvent(eventId, stored -> {
+                if (stored != null && event == null) {
+                    showEvent(stored);
+                }
+            });
+        }
+
+        // Ask the server only if the list did not prefetch it recently
+        if (!eventRepository.isDetailFresh(eventId)) {
+            loadEventDetail();
+        }
+    }
+
+    private void loadEventDetail() {
+        final int fetchGeneration = eventRepository.getGeneration();
+        apiService.getEventDetail(eventId).enqueue(new Callback<EventDetailResponse>() {
+            @Override
+            public void onResponse(Call<EventDetailResponse> call, Response<EventDetailResponse> response) {
+                EventDetailResponse body = response.body();
+                if (response.isSuccessful() && body != null && body.isSuccess() && body.getEvent() != null) {
+                    eventRepository.storeEventDetail(body.getEvent(), fetchGeneration);
+                    showEvent(body.getEvent());
+                }
+            }
+
+            @Override
+            public void onFailure(Call<EventDetailResponse> call, Throwable t) {
+                // The stored copy, if any, is already on screen
+                Log.w(TAG, "Event detail refresh failed", t);
+            }
+        });
+    }
+
+    private void showEvent(EventData event) {
+        this.event = event;
         displayEventDetails();
         setupButtons();
     }
 
+    // Pick up the repository's latest copy, e.g. after a local change or its rollback
+    private void refreshEvent() {
+        EventData current = eventRepository.peekEvent(eventId);
+        if (current != null) {
+            if (current != event) {
+                showEvent(current);
+            }
+            return;
+        }
+        eventRepository.getEvent(eventId, stored -> {
+            if (stored != null) {
+                showEvent(stored);
+            }
+        });
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        eventRepository.addListener(this);
+        // Changes made while another screen was on top
+        if (event != null) {
+            refreshEvent();
+        }
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        eventRepository.removeListener(this);
+    }
+
+    @Override
+    public void onEventsChanged(boolean fromServer) {
+        refreshEvent();
+    }
+
+    @Override
+    public void onSyncFailed(int code, String message) {
+        // The stored copy stays on screen
+    }
+
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        if (event != null) {
+            outState.putParcelable(STATE_EVENT, event);
+        }
+    }
+
     private void initViews() {
         tvTitle = findViewById(R.id.tvTitle);
         tvDescription = findViewById(R.id.tvDescription);
@@ -97,12 +192,21 @@ public class EventDetailActivity extends AppCompatActivity {
     }
 
     private void displayEventDetails() {
-        tvTitle.setText(eventTitle != null ? eventTitle : "");
-        tvDescription.setText(eventDescription != null ? eventDescription : "");
-        tvDate.setText("Date: " + formatDate(eventDate));
-        tvTime.setText("Time: " + formatTime(eventTime));
-        tvLocation.setText("Location: " + (eventLocation != null ? eventLocation : ""));
-        tvCategory.setText("Category: " + capitalizeFirst(eventCategory));
+        if (event == null) {
+            tvTitle.setText("");
+            tvDescription.setText("");
+            tvDate.setText("Date: ");
+            tvTime.setText("Time: ");
+            tvLocation.setText("Location: ");
+            tvCategory.setText("Category: ");
+            return;
+        }
+        tvTitle.setText(event.getTitle() != null ? event.getTitle() : "");
+        tvDescription.setText(event.getDescription() != null ? event.getDescription() : "");
+        tvDate.setText("Date: " + DateTimeFormatCache.formatDate(event.getDate()));
+        tvTime.setText("Time: " + DateTimeFormatCache.formatTime(event.getTime()));
+        tvLocation.setText("Location: " + (event.getLocation() != null ? event.getLocation() : ""));
+        tvCategory.setText("Category: " + capitalizeFirst(event.getCategory()));
     }
 
     private void setupButtons() {
@@ -138,10 +242,12 @@ public class EventDetailActivity extends AppCompatActivity {
     }
 
     private void updateRegisterButton() {
-        if (isRegistered) {
+        if (event != null && event.isRegistered()) {
+            // Still tappable, to cancel
             btnRegister.setText("✓ Registered");
-            btnRegister.setEnabled(false);
+            btnRegister.setEnabled(true);
             btnRegister.setAlpha(0.6f);
+            btnRegister.setOnClickListener(v -> confirmCancelRegistration());
         } else {
             btnRegister.setText("Register for Event");
             btnRegister.setEnabled(true);
@@ -151,7 +257,7 @@ public class EventDetailActivity extends AppCompatActivity {
     }
 
     private void updateReminderButton() {
-        if (hasReminder) {
+        if (event != null && event.hasReminder()) {
             btnSetReminder.setText("✓ Reminder Set");
             btnSetReminder.setEnabled(false);
             btnSetReminder.setAlpha(0.6f);
@@ -169,7 +275,6 @@ public class EventDetailActivity extends AppCompatActivity {
         // Open registration form
         Intent intent = new Intent(EventDetailActivity.this, RegisterEventActivity.class);
         intent.putExtra("event_id", eventId);
-        intent.putExtra("event_title", eventTitle);
         startActivityForResult(intent, REQUEST_REGISTRATION);
     }
 
@@ -178,12 +283,27 @@ public class EventDetailActivity extends AppCompatActivity {
         super.onActivityResult(requestCode, resultCode, data);
         
         if (requestCode == REQUEST_REGISTRATION && resultCode == RESULT_OK) {
-            // Registration was successful
-            isRegistered = true;
-            updateRegisterButton();
+            // The registration is queued and already applied to the repository's copy
+            refreshEvent();
         }
     }
 
+    private void confirmCancelRegistration() {
+        new AlertDialog.Builder(this)
+                .setTitle("Cancel Registration")
+                .setMessage("Do you want to cancel your registration for this event?")
+                .setPositiveButton("Cancel Registration", (dialog, which) -> cancelRegistration())
+                .setNegativeButton("Keep", null)
+                .show();
+    }
+
+    private void cancelRegistration() {
+        // Shown as cancelled right away; the outbox sends it and undoes it if the server refuses
+        Outbox.getInstance(this).cancelRegistration(eventId, null);
+        refreshEvent();
+        Toast.makeText(this, "Registration cancelled", Toast.LENGTH_SHORT).show();
+    }
+
     private void setReminder() {
         // Show dialog for reminder timing selection
         showReminderTimingDialog();
@@ -244,54 +364,15 @@ public class EventDetailActivity extends AppCompatActivity {
     }
     
     private void sendReminderRequest(String timing) {
-        progressDialog.setMessage("Setting reminder...");
-        progressDialog.show();
-
-        SetReminderRequest request = new SetReminderRequest(timing);
-        
-        apiService.setReminder(eventId, request).enqueue(new Callback<ReminderResponse>() {
-            @Override
-            public void onResponse(Call<ReminderResponse> call, Response<ReminderResponse> response) {
-                progressDialog.dismiss();
-
-                if (response.isSuccessful() && response.body() != null) {
-                    ReminderResponse reminderResponse = response.body();
-                    
-                    if (reminderResponse.isSuccess()) {
-                        hasReminder = true;
-                        updateReminderButton();
-                        Toast.makeText(EventDetailActivity.this, 
-                            reminderResponse.getMessage() != null ? 
-                                reminderResponse.getMessage() : "Reminder set successfully!", 
-                            Toast.LENGTH_SHORT).show();
-                    } else {
-                        Toast.makeText(EventDetailActivity.this, 
-                            reminderResponse.getMessage(), Toast.LENGTH_SHORT).show();
-                    }
-                } else {
-                    Toast.makeText(EventDetailActivity.this, 
-                        "Failed to set reminder", Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(Call<ReminderResponse> call, Throwable t) {
-                progressDialog.dismiss();
-                Toast.makeText(EventDetailActivity.this, 
-                    "Network error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
-            }
-        });
+        // Shown as set right away; sent with any other reminders set in the same moment
+        Outbox.getInstance(this).setReminder(eventId, timing, null);
+        refreshEvent();
+        Toast.makeText(this, "Reminder set", Toast.LENGTH_SHORT).show();
     }
 
     private void updateEvent() {
         Intent intent = new Intent(EventDetailActivity.this, AddEventActivity.class);
         intent.putExtra("event_id", eventId);
-        intent.putExtra("event_title", eventTitle);
-        intent.putExtra("event_description", eventDescription);
-        intent.putExtra("event_date", eventDate);
-        intent.putExtra("event_time", eventTime);
-        intent.putExtra("event_location", eventLocation);
-        intent.putExtra("event_category", eventCategory);
         startActivity(intent);
     }
 
@@ -339,42 +420,6 @@ public class EventDetailActivity extends AppCompatActivity {
         });
     }
 
-    // Format date from "2025-12-15" to "Dec 15, 2025"
-    private String formatDate(String date) {
-        if (date == null || date.isEmpty()) return "";
-        try {
-            String[] parts = date.split("-");
-            if (parts.length == 3) {
-                String[] months = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", 
-                                   "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
-                int monthIndex = Integer.parseInt(parts[1]) - 1;
-                return months[monthIndex] + " " + Integer.parseInt(parts[2]) + ", " + parts[0];
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return date;
-    }
-
-    // Format time from "14:00:00" to "2:00 PM"
-    private String formatTime(String time) {
-        if (time == null || time.isEmpty()) return "";
-        try {
-            String[] parts = time.split(":");
-            if (parts.length >= 2) {
-                int hour = Integer.parseInt(parts[0]);
-                int minute = Integer.parseInt(parts[1]);
-                String amPm = hour >= 12 ? "PM" : "AM";
-                if (hour > 12) hour -= 12;
-                if (hour == 0) hour = 12;
-                return hour + ":" + String.format("%02d", minute) + " " + amPm;
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return time;
-    }
-
     // Capitalize first letter
     private String capitalizeFirst(String text) {
         if (text == null || text.isEmpty()) return "";
@@ -1,14 +1,17 @@
 package com.example.eventmanager;
 
-import android.app.ProgressDialog;
+import android.content.ClipData;
+import android.content.ClipboardManager;
 import android.content.Intent;
 import android.os.Bundle;
+import android.util.Log;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import androidx.recyclerview.widget.LinearLayoutManager;
@@ -16,31 +19,36 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.eventmanager.adapters.EventAdapter;
 import com.example.eventmanager.api.ApiConfig;
-import com.example.eventmanager.api.ApiService;
+import com.example.eventmanager.api.HttpCacheStats;
+import com.example.eventmanager.api.NetworkMetrics;
 import com.example.eventmanager.api.response.EventData;
-import com.example.eventmanager.api.response.EventListResponse;
 import com.example.eventmanager.api.response.UserData;
+import com.example.eventmanager.data.EventDetailPrefetcher;
+import com.example.eventmanager.data.EventPagingSource;
+import com.example.eventmanager.data.EventRepository;
+import com.example.eventmanager.data.Outbox;
 import com.example.eventmanager.utils.SessionManager;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+public class MainActivity extends AppCompatActivity implements EventAdapter.OnEventClickListener,
+        EventPagingSource.Callback {
 
-public class MainActivity extends AppCompatActivity implements EventAdapter.OnEventClickListener {
+    private static final String TAG = "MainActivity";
+    // Rows below the last visible one whose details are fetched ahead
+    private static final int DETAIL_PREFETCH_AHEAD = 2;
 
     private RecyclerView recyclerView;
     private EventAdapter adapter;
-    private List<EventData> events = new ArrayList<>();
     private SessionManager sessionManager;
-    private ApiService apiService;
+    private EventRepository eventRepository;
+    private EventPagingSource pagingSource;
+    private EventDetailPrefetcher detailPrefetcher;
     private Toolbar toolbar;
     private FloatingActionButton fabAddEvent;
     private UserData currentUser;
-    private ProgressDialog progressDialog;
     private TextView tvTitle, tvSubtitle;
 
     @Override
@@ -48,9 +56,9 @@ public class MainActivity extends AppCompatActivity implements EventAdapter.OnEv
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
 
-        // Initialize session manager and API service
+        // Initialize session manager and local event store
         sessionManager = new SessionManager(this);
-        apiService = ApiConfig.getApiService(this);
+        eventRepository = EventRepository.getInstance(this);
 
         // Check if user is logged in
         if (!sessionManager.isLoggedIn()) {
@@ -67,11 +75,6 @@ public class MainActivity extends AppCompatActivity implements EventAdapter.OnEv
             return;
         }
 
-        // Initialize progress dialog
-        progressDialog = new ProgressDialog(this);
-        progressDialog.setMessage("Loading events...");
-        progressDialog.setCancelable(false);
-
         // Setup toolbar
         toolbar = findViewById(R.id.toolbar);
         setSupportActionBar(toolbar);
@@ -94,9 +97,20 @@ public class MainActivity extends AppCompatActivity implements EventAdapter.OnEv
         // Setup RecyclerView
         recyclerView = findViewById(R.id.recyclerViewEvents);
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
-        adapter = new EventAdapter(events, this);
+        adapter = new EventAdapter(new ArrayList<>(), this);
         recyclerView.setAdapter(adapter);
 
+        // Fetch details of the rows the user stops on, so opening one needs no network
+        detailPrefetcher = new EventDetailPrefetcher(this, eventRepository);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+                if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                    prefetchVisibleDetails();
+                }
+            }
+        });
+
         // Setup FAB - Only show for admin users
         fabAddEvent = findViewById(R.id.fabAddEvent);
         if (currentUser.isAdmin()) {
@@ -108,76 +122,80 @@ public class MainActivity extends AppCompatActivity implements EventAdapter.OnEv
             fabAddEvent.setVisibility(View.GONE);
         }
 
-        // Load events from backend
-        loadEvents();
+        // Send anything left queued from an earlier run
+        Outbox.getInstance(this);
+
+        // Show stored events a page at a time right away; onResume syncs with the backend
+        pagingSource = new EventPagingSource(eventRepository, this);
+        adapter.setOnLoadMoreListener(pagingSource::loadMore);
+        pagingSource.start();
     }
 
-    private void loadEvents() {
-        progressDialog.show();
+    @Override
+    public void onPageAppended(List<EventData> page) {
+        adapter.appendEvents(page);
+    }
 
-        apiService.getEvents().enqueue(new Callback<EventListResponse>() {
-            @Override
-            public void onResponse(Call<EventListResponse> call, Response<EventListResponse> response) {
-                progressDialog.dismiss();
-
-                if (response.isSuccessful() && response.body() != null) {
-                    EventListResponse eventListResponse = response.body();
-
-                    if (eventListResponse.isSuccess()) {
-                        events.clear();
-                        if (eventListResponse.getEvents() != null) {
-                            events.addAll(eventListResponse.getEvents());
-                        }
-                        adapter.notifyDataSetChanged();
-
-                        if (events.isEmpty()) {
-                            Toast.makeText(MainActivity.this, 
-                                "No events available", Toast.LENGTH_SHORT).show();
-                        }
-                    } else {
-                        Toast.makeText(MainActivity.this, 
-                            eventListResponse.getMessage(), Toast.LENGTH_SHORT).show();
-                    }
-                } else {
-                    // Handle 401 - Unauthorized (token expired)
-                    if (response.code() == 401) {
-                        Toast.makeText(MainActivity.this, 
-                            "Session expired. Please login again.", Toast.LENGTH_SHORT).show();
-                        sessionManager.logout();
-                        ApiConfig.clearTokens(MainActivity.this);
-                        startActivity(new Intent(MainActivity.this, LoginActivity.class));
-                        finish();
-                    } else {
-                        Toast.makeText(MainActivity.this, 
-                            "Failed to load events", Toast.LENGTH_SHORT).show();
-                    }
-                }
-            }
+    @Override
+    public void onEventsReset(List<EventData> storedEvents, boolean fromServer) {
+        adapter.updateEvents(storedEvents);
+        // Rows are laid out after the diff lands
+        recyclerView.post(this::prefetchVisibleDetails);
 
-            @Override
-            public void onFailure(Call<EventListResponse> call, Throwable t) {
-                progressDialog.dismiss();
-                Toast.makeText(MainActivity.this, 
-                    "Network error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
-            }
-        });
+        if (fromServer && storedEvents.isEmpty()) {
+            Toast.makeText(MainActivity.this, 
+                "No events available", Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    @Override
+    public void onLoadFailed(int code, String message) {
+        // Handle 401 - Unauthorized (the refresh token was rejected too)
+        if (code == 401) {
+            Toast.makeText(MainActivity.this, 
+                "Session expired. Please login again.", Toast.LENGTH_SHORT).show();
+            sessionManager.logout();
+            ApiConfig.clearTokens(MainActivity.this);
+            startActivity(new Intent(MainActivity.this, LoginActivity.class));
+            finish();
+            return;
+        }
+
+        // Stored events stay on screen, only complain when there is nothing to show
+        if (adapter.getItemCount() == 0) {
+            Toast.makeText(MainActivity.this, message, Toast.LENGTH_SHORT).show();
+        } else {
+            Log.w(TAG, "Showing stored events, sync failed: " + message);
+        }
     }
 
     @Override
     public void onEventClick(EventData event) {
         Intent intent = new Intent(MainActivity.this, EventDetailActivity.class);
+        // The detail screen resolves the event from the repository by id
+        eventRepository.cacheEvent(event);
         intent.putExtra("event_id", event.getId());
-        intent.putExtra("event_title", event.getTitle());
-        intent.putExtra("event_description", event.getDescription());
-        intent.putExtra("event_date", event.getDate());
-        intent.putExtra("event_time", event.getTime());
-        intent.putExtra("event_location", event.getLocation());
-        intent.putExtra("event_category", event.getCategory());
-        intent.putExtra("event_is_registered", event.isRegistered());
-        intent.putExtra("event_has_reminder", event.hasReminder());
         startActivity(intent);
     }
 
+    // Queue the visible rows and a few after them; the top row is queued last and fetched first
+    private void prefetchVisibleDetails() {
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        int first = layoutManager.findFirstVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION) {
+            return;
+        }
+        int last = Math.min(layoutManager.findLastVisibleItemPosition() + DETAIL_PREFETCH_AHEAD,
+                adapter.getItemCount() - 1);
+
+        // Stable ids are event ids
+        List<Integer> eventIds = new ArrayList<>();
+        for (int position = last; position >= first; position--) {
+            eventIds.add((int) adapter.getItemId(position));
+        }
+        detailPrefetcher.prefetch(eventIds);
+    }
+
     @Override
     public boolean onCreateOptionsMenu(Menu menu) {
         getMenuInflater().inflate(R.menu.menu_main, menu);
@@ -206,6 +224,11 @@ public class MainActivity extends AppCompatActivity implements EventAdapter.OnEv
                 }
             }
         }
+        
+        MenuItem networkStatsItem = menu.findItem(R.id.action_network_stats);
+        if (networkStatsItem != null) {
+            networkStatsItem.setVisible(BuildConfig.DEBUG);
+        }
         return true;
     }
 
@@ -219,6 +242,10 @@ public class MainActivity extends AppCompatActivity implements EventAdapter.OnEv
             startActivity(new Intent(MainActivity.this, MyEventsActivity.class));
             return true;
         }
+        if (item.getItemId() == R.id.action_network_stats) {
+            showNetworkStats();
+            return true;
+        }
         if (item.getItemId() == R.id.action_logout) {
             logout();
             return true;
@@ -226,6 +253,26 @@ public class MainActivity extends AppCompatActivity implements EventAdapter.OnEv
         return super.onOptionsItemSelected(item);
     }
 
+    // Debug only: request timing percentiles per endpoint and HTTP cache counters
+    private void showNetworkStats() {
+        new AlertDialog.Builder(this)
+                .setTitle("Network Stats")
+                .setMessage(NetworkMetrics.summary() + "\n\n" + HttpCacheStats.summary())
+                .setPositiveButton("Copy JSON", (dialog, which) -> {
+                    String json = NetworkMetrics.toJson();
+                    Log.d(TAG, json);
+                    ClipboardManager clipboard = (ClipboardManager) getSystemService(CLIPBOARD_SERVICE);
+                    clipboard.setPrimaryClip(ClipData.newPlainText("Network stats", json));
+                    Toast.makeText(this, "Copied to clipboard", Toast.LENGTH_SHORT).show();
+                })
+                .setNeutralButton("Reset", (dialog, which) -> {
+                    NetworkMetrics.reset();
+                    HttpCacheStats.reset();
+                })
+                .setNegativeButton("Close", null)
+                .show();
+    }
+
     private void logout() {
         sessionManager.logout();
         ApiConfig.clearTokens(this);
@@ -237,9 +284,20 @@ public class MainActivity extends AppCompatActivity implements EventAdapter.OnEv
     @Override
     protected void onResume() {
         super.onResume();
-        // Refresh the list when returning from other activities
-        if (sessionManager.isLoggedIn()) {
-            loadEvents();
+        // Reconcile with the backend in the background when returning from other activities
+        if (sessionManager.isLoggedIn() && pagingSource != null) {
+            pagingSource.refresh();
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (pagingSource != null) {
+            pagingSource.stop();
+        }
+        if (detailPrefetcher != null) {
+            detailPrefetcher.cancel();
         }
     }
 }
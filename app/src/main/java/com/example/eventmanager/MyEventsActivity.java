@@ -16,19 +16,16 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.eventmanager.api.ApiConfig;
 import com.example.eventmanager.api.ApiService;
+import com.example.eventmanager.api.StreamingJsonParser;
 import com.example.eventmanager.api.response.EventData;
-import com.example.eventmanager.api.response.MyRegistrationsResponse;
 import com.example.eventmanager.api.response.RegistrationData;
 import com.example.eventmanager.api.response.UserData;
+import com.example.eventmanager.utils.DateTimeFormatCache;
 import com.example.eventmanager.utils.SessionManager;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class MyEventsActivity extends AppCompatActivity {
 
     private RecyclerView recyclerView;
@@ -39,6 +36,8 @@ public class MyEventsActivity extends AppCompatActivity {
     private UserData currentUser;
     private Toolbar toolbar;
     private ProgressDialog progressDialog;
+    private StreamingJsonParser registrationStream;
+    private boolean rowsReplaced;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -78,46 +77,61 @@ public class MyEventsActivity extends AppCompatActivity {
     }
 
     private void loadMyRegistrations() {
+        if (registrationStream != null) {
+            registrationStream.cancel();
+        }
         progressDialog.show();
+        rowsReplaced = false;
+
+        // Rows are appended batch by batch while the rest of the body is still being parsed
+        registrationStream = new StreamingJsonParser()
+                .onArray("registrations", RegistrationData.class, this::appendRegistrations);
 
-        apiService.getMyRegistrations().enqueue(new Callback<MyRegistrationsResponse>() {
+        registrationStream.enqueue(apiService.streamMyRegistrations(), new StreamingJsonParser.CompletionListener() {
             @Override
-            public void onResponse(Call<MyRegistrationsResponse> call, Response<MyRegistrationsResponse> response) {
+            public void onComplete(StreamingJsonParser.Envelope envelope) {
                 progressDialog.dismiss();
 
-                if (response.isSuccessful() && response.body() != null) {
-                    MyRegistrationsResponse regResponse = response.body();
-
-                    if (regResponse.isSuccess()) {
+                if (envelope.isSuccess()) {
+                    if (!rowsReplaced) {
                         myRegistrations.clear();
-                        if (regResponse.getRegistrations() != null) {
-                            myRegistrations.addAll(regResponse.getRegistrations());
-                        }
                         adapter.notifyDataSetChanged();
+                    }
 
-                        if (myRegistrations.isEmpty()) {
-                            Toast.makeText(MyEventsActivity.this, 
-                                "You haven't registered for any events yet", Toast.LENGTH_SHORT).show();
-                        }
-                    } else {
+                    if (myRegistrations.isEmpty()) {
                         Toast.makeText(MyEventsActivity.this, 
-                            regResponse.getMessage(), Toast.LENGTH_SHORT).show();
+                            "You haven't registered for any events yet", Toast.LENGTH_SHORT).show();
                     }
                 } else {
                     Toast.makeText(MyEventsActivity.this, 
-                        "Failed to load registrations", Toast.LENGTH_SHORT).show();
+                        envelope.getMessage(), Toast.LENGTH_SHORT).show();
                 }
             }
 
             @Override
-            public void onFailure(Call<MyRegistrationsResponse> call, Throwable t) {
+            public void onError(int code, String message) {
                 progressDialog.dismiss();
                 Toast.makeText(MyEventsActivity.this, 
-                    "Network error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+                    code == -1 ? message : "Failed to load registrations", Toast.LENGTH_SHORT).show();
             }
         });
     }
 
+    private void appendRegistrations(List<RegistrationData> batch) {
+        if (!rowsReplaced) {
+            // First batch of a reload: swap out the old rows and let the user scroll
+            rowsReplaced = true;
+            progressDialog.dismiss();
+            myRegistrations.clear();
+            myRegistrations.addAll(batch);
+            adapter.notifyDataSetChanged();
+            return;
+        }
+        int start = myRegistrations.size();
+        myRegistrations.addAll(batch);
+        adapter.notifyItemRangeInserted(start, batch.size());
+    }
+
     @Override
     public boolean onCreateOptionsMenu(Menu menu) {
         getMenuInflater().inflate(R.menu.menu_main, menu);
@@ -152,6 +166,14 @@ public class MyEventsActivity extends AppCompatActivity {
         loadMyRegistrations();
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (registrationStream != null) {
+            registrationStream.cancel();
+        }
+    }
+
     // Inner adapter class for registrations
     private class RegistrationAdapter extends RecyclerView.Adapter<RegistrationAdapter.ViewHolder> {
         
@@ -171,8 +193,8 @@ public class MyEventsActivity extends AppCompatActivity {
         public void onBindViewHolder(ViewHolder holder, int position) {
             RegistrationData reg = registrations.get(position);
             holder.tvTitle.setText(reg.getEventTitle() != null ? reg.getEventTitle() : "");
-            holder.tvDate.setText(formatDate(reg.getEventDate()));
-            holder.tvTime.setText(formatTime(reg.getEventTime()));
+            holder.tvDate.setText(DateTimeFormatCache.formatDate(reg.getEventDate()));
+            holder.tvTime.setText(DateTimeFormatCache.formatTime(reg.getEventTime()));
             holder.tvLocation.setText(reg.getEventLocation() != null ? reg.getEventLocation() : "");
             holder.tvCategory.setText("Registered ✓");
         }
@@ -195,40 +217,5 @@ public class MyEventsActivity extends AppCompatActivity {
             }
         }
 
-        // Format date from "2025-12-15" to "Dec 15, 2025"
-        private String formatDate(String date) {
-            if (date == null || date.isEmpty()) return "";
-            try {
-                String[] parts = date.split("-");
-                if (parts.length == 3) {
-                    String[] months = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", 
-                                       "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
-                    int monthIndex = Integer.parseInt(parts[1]) - 1;
-                    return months[monthIndex] + " " + Integer.parseInt(parts[2]) + ", " + parts[0];
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-            return date;
-        }
-
-        // Format time from "14:00:00" to "2:00 PM"
-        private String formatTime(String time) {
-            if (time == null || time.isEmpty()) return "";
-            try {
-                String[] parts = time.split(":");
-                if (parts.length >= 2) {
-                    int hour = Integer.parseInt(parts[0]);
-                    int minute = Integer.parseInt(parts[1]);
-                    String amPm = hour >= 12 ? "PM" : "AM";
-                    if (hour > 12) hour -= 12;
-                    if (hour == 0) hour = 12;
-                    return hour + ":" + String.format("%02d", minute) + " " + amPm;
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-            return time;
-        }
     }
 }
@@ -1,6 +1,5 @@
 package com.example.eventmanager;
 
-import android.app.ProgressDialog;
 import android.os.Bundle;
 import android.text.TextUtils;
 import android.widget.Button;
@@ -10,17 +9,13 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
-import com.example.eventmanager.api.ApiConfig;
-import com.example.eventmanager.api.ApiService;
 import com.example.eventmanager.api.request.EventRegistrationRequest;
-import com.example.eventmanager.api.response.RegistrationResponse;
+import com.example.eventmanager.api.response.EventData;
 import com.example.eventmanager.api.response.UserData;
+import com.example.eventmanager.data.EventRepository;
+import com.example.eventmanager.data.Outbox;
 import com.example.eventmanager.utils.SessionManager;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class RegisterEventActivity extends AppCompatActivity {
 
     private TextView tvEventTitle;
@@ -28,20 +23,16 @@ public class RegisterEventActivity extends AppCompatActivity {
     private Button btnSubmitRegistration;
     
     private int eventId;
-    private String eventTitle;
     
-    private ApiService apiService;
     private SessionManager sessionManager;
     private UserData currentUser;
-    private ProgressDialog progressDialog;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_register_event);
 
-        // Initialize API and session
-        apiService = ApiConfig.getApiService(this);
+        // Initialize session
         sessionManager = new SessionManager(this);
         currentUser = sessionManager.getCurrentUser();
 
@@ -51,9 +42,8 @@ public class RegisterEventActivity extends AppCompatActivity {
             return;
         }
 
-        // Get event data from intent
+        // Only the id is passed; the title comes from the repository
         eventId = getIntent().getIntExtra("event_id", -1);
-        eventTitle = getIntent().getStringExtra("event_title");
         
         if (eventId == -1) {
             Toast.makeText(this, "Event not found", Toast.LENGTH_SHORT).show();
@@ -61,11 +51,6 @@ public class RegisterEventActivity extends AppCompatActivity {
             return;
         }
 
-        // Initialize progress dialog
-        progressDialog = new ProgressDialog(this);
-        progressDialog.setMessage("Submitting registration...");
-        progressDialog.setCancelable(false);
-
         initViews();
         setupViews();
         setupButton();
@@ -82,8 +67,16 @@ public class RegisterEventActivity extends AppCompatActivity {
 
     private void setupViews() {
         // Set event title
-        if (eventTitle != null) {
-            tvEventTitle.setText(eventTitle);
+        EventRepository eventRepository = EventRepository.getInstance(this);
+        EventData event = eventRepository.peekEvent(eventId);
+        if (event != null) {
+            tvEventTitle.setText(event.getTitle());
+        } else {
+            eventRepository.getEvent(eventId, stored -> {
+                if (stored != null) {
+                    tvEventTitle.setText(stored.getTitle());
+                }
+            });
         }
         
         // Pre-fill with current user data
@@ -134,49 +127,20 @@ public class RegisterEventActivity extends AppCompatActivity {
             return;
         }
 
-        // Show progress dialog
-        progressDialog.show();
-
         // Create registration request
         EventRegistrationRequest request = new EventRegistrationRequest(name, email, phone, studentId);
 
-        // Make API call
-        apiService.registerForEvent(eventId, request).enqueue(new Callback<RegistrationResponse>() {
-            @Override
-            public void onResponse(Call<RegistrationResponse> call, Response<RegistrationResponse> response) {
-                progressDialog.dismiss();
-
-                if (response.isSuccessful() && response.body() != null) {
-                    RegistrationResponse regResponse = response.body();
-
-                    if (regResponse.isSuccess()) {
-                        Toast.makeText(RegisterEventActivity.this, 
-                            "Registration successful! You are now registered for this event.", 
-                            Toast.LENGTH_LONG).show();
-                        
-                        // Set result to notify previous activity
-                        setResult(RESULT_OK);
-                        finish();
-                    } else {
-                        Toast.makeText(RegisterEventActivity.this, 
-                            regResponse.getMessage(), Toast.LENGTH_SHORT).show();
-                    }
-                } else {
-                    String errorMsg = "Registration failed";
-                    if (response.code() == 400) {
-                        errorMsg = "You are already registered or event is full";
-                    }
-                    Toast.makeText(RegisterEventActivity.this, errorMsg, Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(Call<RegistrationResponse> call, Throwable t) {
-                progressDialog.dismiss();
-                Toast.makeText(RegisterEventActivity.this, 
-                    "Network error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
-            }
-        });
+        // Shown as registered right away if the event is on screen; the outbox sends it and
+        // undoes it if the server refuses. Otherwise the outbox reports the server's answer
+        if (Outbox.getInstance(this).register(eventId, request, null)) {
+            Toast.makeText(this, "You are now registered for this event.", Toast.LENGTH_SHORT).show();
+        } else {
+            Toast.makeText(this, "Sending your registration...", Toast.LENGTH_SHORT).show();
+        }
+
+        // Set result to notify previous activity
+        setResult(RESULT_OK);
+        finish();
     }
 
     private boolean isValidEmail(String email) {
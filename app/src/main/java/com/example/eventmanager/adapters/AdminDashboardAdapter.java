@@ -0,0 +1,586 @@
+package com.example.eventmanager.adapters;
+
+import android.text.TextUtils;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.eventmanager.R;
+import com.example.eventmanager.api.response.AdminDashboardResponse;
+import com.example.eventmanager.utils.DateTimeFormatCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The whole admin dashboard as one flat list: the statistics header, then an events
+ * section and a users section. Sections are fetched a page at a time through a
+ * PageLoader when their footer row is bound, and a card's registrations only when the
+ * card is expanded, so opening the dashboard costs the same however many registrations
+ * there are. Expanded registrations are list rows of their own and get recycled like
+ * any other row.
+ */
+public class AdminDashboardAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+    private static final int TYPE_STATS = 0;
+    private static final int TYPE_SECTION = 1;
+    private static final int TYPE_EMPTY = 2;
+    private static final int TYPE_EVENT = 3;
+    private static final int TYPE_USER = 4;
+    private static final int TYPE_EVENT_REGISTRATION = 5;
+    private static final int TYPE_USER_REGISTRATION = 6;
+    private static final int TYPE_FOOTER = 7;
+
+    public interface PageLoader {
+        void loadEvents(String cursor, PageCallback<AdminDashboardResponse.EventRegistrationDetail> callback);
+
+        void loadUsers(String cursor, PageCallback<AdminDashboardResponse.UserRegistrationDetail> callback);
+
+        void loadEventRegistrations(int eventId, String cursor,
+                                    PageCallback<AdminDashboardResponse.RegistrationData> callback);
+
+        void loadUserRegistrations(int userId, String cursor,
+                                   PageCallback<AdminDashboardResponse.RegistrationData> callback);
+    }
+
+    public interface PageCallback<T> {
+        // nextCursor is null on the last page
+        void onPage(List<T> items, String nextCursor);
+
+        void onFailed();
+    }
+
+    // Paging progress of a section, or of one card's registrations
+    private static class PageState {
+        String nextCursor;
+        boolean complete;
+        boolean loading;
+        boolean failed;
+    }
+
+    // One list row. Registration and footer rows under a card point back at it through owner
+    private static class Row {
+        final int type;
+        final Object item;
+        final Row owner;
+        boolean expanded;
+        // Card rows only: the registrations fetched so far
+        List<AdminDashboardResponse.RegistrationData> registrations;
+        PageState pages;
+
+        Row(int type, Object item, Row owner) {
+            this.type = type;
+            this.item = item;
+            this.owner = owner;
+        }
+    }
+
+    // A titled section, its rows, then an empty message or a footer while pages remain
+    private static class Section {
+        final String title;
+        final String emptyText;
+        final List<Row> rows = new ArrayList<>();
+        PageState pages = new PageState();
+
+        Section(String title, String emptyText) {
+            this.title = title;
+            this.emptyText = emptyText;
+        }
+
+        boolean showsEmpty() {
+            return pages.complete && rows.isEmpty();
+        }
+
+        int size() {
+            return 1 + (showsEmpty() ? 1 : rows.size()) + (pages.complete ? 0 : 1);
+        }
+    }
+
+    private final Section eventsSection = new Section("📅 Events & Registration Counts", "No events found");
+    private final Section usersSection = new Section("👤 Users & Their Registrations", "No user registrations found");
+    private final PageLoader loader;
+    private AdminDashboardResponse.DashboardStats stats;
+    // Bumped on reset() so pages requested before it are dropped
+    private int generation;
+
+    public AdminDashboardAdapter(PageLoader loader) {
+        this.loader = loader;
+    }
+
+    public void setStats(AdminDashboardResponse.DashboardStats stats) {
+        this.stats = stats;
+        notifyItemChanged(0);
+    }
+
+    // Forget every loaded page; sections load again from the first page as they are bound
+    public void reset() {
+        generation++;
+        eventsSection.rows.clear();
+        eventsSection.pages = new PageState();
+        usersSection.rows.clear();
+        usersSection.pages = new PageState();
+        notifyDataSetChanged();
+    }
+
+    private int sectionStart(Section section) {
+        return section == eventsSection ? 1 : 1 + eventsSection.size();
+    }
+
+    private Section sectionAt(int position) {
+        return position < sectionStart(usersSection) ? eventsSection : usersSection;
+    }
+
+    private Section sectionOf(Row card) {
+        return card.type == TYPE_EVENT ? eventsSection : usersSection;
+    }
+
+    // Adapter position of a card, or NO_POSITION once it has been reset away
+    private int positionOf(Row card) {
+        Section section = sectionOf(card);
+        int index = section.rows.indexOf(card);
+        return index < 0 ? RecyclerView.NO_POSITION : sectionStart(section) + 1 + index;
+    }
+
+    // ==================== Section pages ====================
+
+    private void loadSection(Section section) {
+        section.pages.loading = true;
+        section.pages.failed = false;
+        if (section == eventsSection) {
+            loader.loadEvents(section.pages.nextCursor, sectionCallback(section, TYPE_EVENT));
+        } else {
+            loader.loadUsers(section.pages.nextCursor, sectionCallback(section, TYPE_USER));
+        }
+    }
+
+    private <T> PageCallback<T> sectionCallback(Section section, int rowType) {
+        final int startGeneration = generation;
+        return new PageCallback<T>() {
+            @Override
+            public void onPage(List<T> items, String nextCursor) {
+                if (startGeneration != generation) {
+                    return;
+                }
+                List<Row> rows = new ArrayList<>(items.size());
+                for (T item : items) {
+                    Row card = new Row(rowType, item, null);
+                    card.pages = new PageState();
+                    card.registrations = new ArrayList<>();
+                    rows.add(card);
+                }
+                appendToSection(section, rows, nextCursor);
+            }
+
+            @Override
+            public void onFailed() {
+                if (startGeneration != generation) {
+                    return;
+                }
+                section.pages.loading = false;
+                section.pages.failed = true;
+                notifyItemChanged(sectionStart(section) + section.size() - 1);
+            }
+        };
+    }
+
+    private void appendToSection(Section section, List<Row> rows, String nextCursor) {
+        // The footer is the last row of a section that is still loading
+        int footer = sectionStart(section) + section.size() - 1;
+        section.pages.loading = false;
+        section.pages.nextCursor = nextCursor;
+        section.pages.complete = nextCursor == null;
+        section.rows.addAll(rows);
+        notifyItemRangeInserted(footer, rows.size());
+
+        int last = footer + rows.size();
+        if (section.showsEmpty()) {
+            notifyItemChanged(last);
+        } else if (section.pages.complete) {
+            notifyItemRemoved(last);
+        } else {
+            // Rebinding the footer asks for the next page if it is still on screen
+            notifyItemChanged(last);
+        }
+    }
+
+    // ==================== Registration pages ====================
+
+    // Insert or remove the registration rows below a card
+    private void toggle(int position) {
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+        Section section = sectionAt(position);
+        int index = position - sectionStart(section) - 1;
+        Row card = section.rows.get(index);
+
+        if (card.expanded) {
+            int count = 0;
+            while (index + 1 < section.rows.size() && section.rows.get(index + 1).owner == card) {
+                section.rows.remove(index + 1);
+                count++;
+            }
+            card.expanded = false;
+            notifyItemChanged(position);
+            notifyItemRangeRemoved(position + 1, count);
+        } else {
+            List<Row> children = registrationRows(card, card.registrations);
+            if (!card.pages.complete) {
+                // Loads the first or next page of registrations once bound
+                children.add(new Row(TYPE_FOOTER, null, card));
+            }
+            section.rows.addAll(index + 1, children);
+            card.expanded = true;
+            notifyItemChanged(position);
+            notifyItemRangeInserted(position + 1, children.size());
+        }
+    }
+
+    private List<Row> registrationRows(Row card, List<AdminDashboardResponse.RegistrationData> registrations) {
+        int childType = card.type == TYPE_EVENT ? TYPE_EVENT_REGISTRATION : TYPE_USER_REGISTRATION;
+        List<Row> rows = new ArrayList<>(registrations.size() + 1);
+        for (AdminDashboardResponse.RegistrationData registration : registrations) {
+            rows.add(new Row(childType, registration, card));
+        }
+        return rows;
+    }
+
+    private void loadRegistrations(Row card) {
+        card.pages.loading = true;
+        card.pages.failed = false;
+        PageCallback<AdminDashboardResponse.RegistrationData> callback = registrationsCallback(card);
+        if (card.type == TYPE_EVENT) {
+            int eventId = ((AdminDashboardResponse.EventRegistrationDetail) card.item).getEventId();
+            loader.loadEventRegistrations(eventId, card.pages.nextCursor, callback);
+        } else {
+            int userId = ((AdminDashboardResponse.UserRegistrationDetail) card.item).getUserId();
+            loader.loadUserRegistrations(userId, card.pages.nextCursor, callback);
+        }
+    }
+
+    private PageCallback<AdminDashboardResponse.RegistrationData> registrationsCallback(Row card) {
+        final int startGeneration = generation;
+        return new PageCallback<AdminDashboardResponse.RegistrationData>() {
+            @Override
+            public void onPage(List<AdminDashboardResponse.RegistrationData> items, String nextCursor) {
+                if (startGeneration != generation) {
+                    return;
+                }
+                // Footer position is only meaningful while the card is expanded
+                int footer = positionOf(card) + 1 + card.registrations.size();
+                card.pages.loading = false;
+                card.pages.nextCursor = nextCursor;
+                card.pages.complete = nextCursor == null;
+                card.registrations.addAll(items);
+                if (!card.expanded) {
+                    return;
+                }
+
+                Section section = sectionOf(card);
+                int footerIndex = footer - sectionStart(section) - 1;
+                section.rows.addAll(footerIndex, registrationRows(card, items));
+                notifyItemRangeInserted(footer, items.size());
+
+                int last = footer + items.size();
+                if (card.pages.complete) {
+                    section.rows.remove(footerIndex + items.size());
+                    notifyItemRemoved(last);
+                } else {
+                    notifyItemChanged(last);
+                }
+            }
+
+            @Override
+            public void onFailed() {
+                if (startGeneration != generation) {
+                    return;
+                }
+                card.pages.loading = false;
+                card.pages.failed = true;
+                if (card.expanded) {
+                    notifyItemChanged(positionOf(card) + 1 + card.registrations.size());
+                }
+            }
+        };
+    }
+
+    // ==================== Binding ====================
+
+    @Override
+    public int getItemCount() {
+        return 1 + eventsSection.size() + usersSection.size();
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        if (position == 0) {
+            return TYPE_STATS;
+        }
+        Section section = sectionAt(position);
+        int index = position - sectionStart(section);
+        if (index == 0) {
+            return TYPE_SECTION;
+        }
+        if (section.showsEmpty()) {
+            return TYPE_EMPTY;
+        }
+        return index - 1 < section.rows.size() ? section.rows.get(index - 1).type : TYPE_FOOTER;
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        switch (viewType) {
+            case TYPE_STATS:
+                return new StatsViewHolder(inflater.inflate(R.layout.item_dashboard_stats, parent, false));
+            case TYPE_SECTION:
+                return new TextViewHolder(inflater.inflate(R.layout.item_dashboard_section, parent, false));
+            case TYPE_EMPTY:
+            case TYPE_FOOTER:
+                TextView textView = new TextView(parent.getContext());
+                textView.setLayoutParams(new RecyclerView.LayoutParams(
+                        ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+                textView.setPadding(16, 16, 16, 16);
+                textView.setTextColor(0xFF999999);
+                return new TextViewHolder(textView);
+            case TYPE_EVENT:
+                return new EventViewHolder(inflater.inflate(R.layout.item_event_registration, parent, false));
+            case TYPE_USER:
+                return new UserViewHolder(inflater.inflate(R.layout.item_user_registration, parent, false));
+            default:
+                return new RegistrationViewHolder(inflater.inflate(R.layout.item_registration_detail, parent, false));
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        if (position == 0) {
+            bindStats((StatsViewHolder) holder);
+            return;
+        }
+        Section section = sectionAt(position);
+        int index = position - sectionStart(section);
+        if (index == 0) {
+            ((TextViewHolder) holder).textView.setText(section.title);
+            return;
+        }
+        if (section.showsEmpty()) {
+            ((TextViewHolder) holder).textView.setText(section.emptyText);
+            ((TextViewHolder) holder).textView.setOnClickListener(null);
+            return;
+        }
+        if (index - 1 == section.rows.size()) {
+            bindFooter((TextViewHolder) holder, section.pages, () -> loadSection(section));
+            return;
+        }
+
+        Row row = section.rows.get(index - 1);
+        switch (row.type) {
+            case TYPE_EVENT:
+                bindEvent((EventViewHolder) holder, row);
+                break;
+            case TYPE_USER:
+                bindUser((UserViewHolder) holder, row);
+                break;
+            case TYPE_EVENT_REGISTRATION:
+                bindEventRegistration((RegistrationViewHolder) holder,
+                        (AdminDashboardResponse.RegistrationData) row.item);
+                break;
+            case TYPE_USER_REGISTRATION:
+                bindUserRegistration((RegistrationViewHolder) holder,
+                        (AdminDashboardResponse.RegistrationData) row.item);
+                break;
+            default:
+                bindFooter((TextViewHolder) holder, row.owner.pages, () -> loadRegistrations(row.owner));
+                break;
+        }
+    }
+
+    // A footer starts loading its page the first time it is bound, and offers a retry if that failed
+    private void bindFooter(TextViewHolder holder, PageState pages, Runnable load) {
+        if (pages.failed) {
+            holder.textView.setText("Couldn't load. Tap to retry");
+            holder.textView.setOnClickListener(v -> {
+                load.run();
+                int position = holder.getBindingAdapterPosition();
+                if (position != RecyclerView.NO_POSITION) {
+                    notifyItemChanged(position);
+                }
+            });
+            return;
+        }
+        holder.textView.setText("Loading...");
+        holder.textView.setOnClickListener(null);
+        if (!pages.loading) {
+            load.run();
+        }
+    }
+
+    private void bindStats(StatsViewHolder holder) {
+        if (stats != null) {
+            holder.tvTotalUsers.setText(String.valueOf(stats.getTotalUsers()));
+            holder.tvTotalStudents.setText(String.valueOf(stats.getTotalStudents()));
+            holder.tvTotalEvents.setText(String.valueOf(stats.getTotalEvents()));
+            holder.tvActiveEvents.setText(String.valueOf(stats.getActiveEvents()));
+            holder.tvTotalRegistrations.setText(String.valueOf(stats.getTotalRegistrations()));
+            holder.tvRecentRegistrations.setText(String.valueOf(stats.getRecentRegistrations()));
+        }
+    }
+
+    private void bindEvent(EventViewHolder holder, Row row) {
+        AdminDashboardResponse.EventRegistrationDetail eventDetail =
+                (AdminDashboardResponse.EventRegistrationDetail) row.item;
+
+        holder.tvEventTitle.setText(eventDetail.getEventTitle());
+
+        int count = eventDetail.getRegistrationCount();
+        holder.tvRegistrationCount.setText(String.valueOf(count));
+
+        // Change color based on count
+        if (eventDetail.isFull()) {
+            holder.tvRegistrationCount.setBackgroundColor(0xFFdc3545); // Red for full
+        } else if (count < 5) {
+            holder.tvRegistrationCount.setBackgroundColor(0xFFffc107); // Yellow for low
+        } else {
+            holder.tvRegistrationCount.setBackgroundColor(0xFF417690); // Blue for normal
+        }
+
+        String dateStr = DateTimeFormatCache.formatDate(eventDetail.getEventDate());
+        String timeStr = DateTimeFormatCache.formatTime(eventDetail.getEventTime());
+        holder.tvEventDetails.setText("📍 " + eventDetail.getEventLocation() + " | " +
+                "📅 " + dateStr + " at " + timeStr);
+
+        holder.btnToggle.setText(row.expanded ? "Hide Registrations" : "Show Registrations (" + count + ")");
+        holder.btnToggle.setOnClickListener(v -> toggle(holder.getBindingAdapterPosition()));
+    }
+
+    private void bindUser(UserViewHolder holder, Row row) {
+        AdminDashboardResponse.UserRegistrationDetail userDetail =
+                (AdminDashboardResponse.UserRegistrationDetail) row.item;
+
+        holder.tvUserName.setText(userDetail.getUserName());
+        holder.tvUserEmail.setText(userDetail.getUserEmail());
+
+        int count = userDetail.getRegistrationCount();
+        holder.tvRegistrationCount.setText(String.valueOf(count));
+
+        holder.btnToggle.setText(row.expanded ? "Hide Events" : "Show Events (" + count + ")");
+        holder.btnToggle.setOnClickListener(v -> toggle(holder.getBindingAdapterPosition()));
+    }
+
+    // A registration under an event shows who registered
+    private void bindEventRegistration(RegistrationViewHolder holder,
+                                       AdminDashboardResponse.RegistrationData registration) {
+        holder.tvTitle.setText(registration.getUserName());
+        holder.tvSubtitle.setText(registration.getUserEmail());
+        bindRegistrationDetails(holder, registration);
+    }
+
+    // A registration under a user shows which event it is for
+    private void bindUserRegistration(RegistrationViewHolder holder,
+                                      AdminDashboardResponse.RegistrationData registration) {
+        holder.tvTitle.setText("🎯 " + registration.getEventTitle());
+        String dateStr = DateTimeFormatCache.formatDate(registration.getEventDate());
+        String timeStr = DateTimeFormatCache.formatTime(registration.getEventTime());
+        holder.tvSubtitle.setText("📍 " + registration.getEventLocation() + " | " +
+                "📅 " + dateStr + " at " + timeStr);
+        bindRegistrationDetails(holder, registration);
+    }
+
+    private void bindRegistrationDetails(RegistrationViewHolder holder,
+                                         AdminDashboardResponse.RegistrationData registration) {
+        // Every field is reset, the holder may still show another registration
+        boolean hasDetails = bindDetail(holder.tvRegistrationName, "Name: ", registration.getName());
+        hasDetails |= bindDetail(holder.tvRegistrationEmail, "Email: ", registration.getEmail());
+        hasDetails |= bindDetail(holder.tvRegistrationPhone, "Phone: ", registration.getPhone());
+        hasDetails |= bindDetail(holder.tvStudentId, "Student ID: ", registration.getStudentId());
+        holder.llDetails.setVisibility(hasDetails ? View.VISIBLE : View.GONE);
+
+        if (!TextUtils.isEmpty(registration.getRegisteredAt())) {
+            holder.tvRegisteredAt.setText("Registered: " + DateTimeFormatCache.formatDateTime(registration.getRegisteredAt()));
+        } else {
+            holder.tvRegisteredAt.setText("Registered: -");
+        }
+    }
+
+    private static boolean bindDetail(TextView textView, String label, String value) {
+        boolean present = !TextUtils.isEmpty(value);
+        textView.setText(label + (present ? value : "-"));
+        return present;
+    }
+
+    static class StatsViewHolder extends RecyclerView.ViewHolder {
+        TextView tvTotalUsers, tvTotalStudents, tvTotalEvents, tvActiveEvents;
+        TextView tvTotalRegistrations, tvRecentRegistrations;
+
+        StatsViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvTotalUsers = itemView.findViewById(R.id.tvTotalUsers);
+            tvTotalStudents = itemView.findViewById(R.id.tvTotalStudents);
+            tvTotalEvents = itemView.findViewById(R.id.tvTotalEvents);
+            tvActiveEvents = itemView.findViewById(R.id.tvActiveEvents);
+            tvTotalRegistrations = itemView.findViewById(R.id.tvTotalRegistrations);
+            tvRecentRegistrations = itemView.findViewById(R.id.tvRecentRegistrations);
+        }
+    }
+
+    static class TextViewHolder extends RecyclerView.ViewHolder {
+        TextView textView;
+
+        TextViewHolder(@NonNull View itemView) {
+            super(itemView);
+            textView = (TextView) itemView;
+        }
+    }
+
+    static class EventViewHolder extends RecyclerView.ViewHolder {
+        TextView tvEventTitle, tvRegistrationCount, tvEventDetails;
+        Button btnToggle;
+
+        EventViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvEventTitle = itemView.findViewById(R.id.tvEventTitle);
+            tvRegistrationCount = itemView.findViewById(R.id.tvRegistrationCount);
+            tvEventDetails = itemView.findViewById(R.id.tvEventDetails);
+            btnToggle = itemView.findViewById(R.id.btnToggleRegistrations);
+        }
+    }
+
+    static class UserViewHolder extends RecyclerView.ViewHolder {
+        TextView tvUserName, tvUserEmail, tvRegistrationCount;
+        Button btnToggle;
+
+        UserViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvUserName = itemView.findViewById(R.id.tvUserName);
+            tvUserEmail = itemView.findViewById(R.id.tvUserEmail);
+            tvRegistrationCount = itemView.findViewById(R.id.tvRegistrationCount);
+            btnToggle = itemView.findViewById(R.id.btnToggleRegistrations);
+        }
+    }
+
+    static class RegistrationViewHolder extends RecyclerView.ViewHolder {
+        TextView tvTitle, tvSubtitle;
+        TextView tvRegistrationName, tvRegistrationEmail, tvRegistrationPhone, tvStudentId, tvRegisteredAt;
+        LinearLayout llDetails;
+
+        RegistrationViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvTitle = itemView.findViewById(R.id.tvUserName);
+            tvSubtitle = itemView.findViewById(R.id.tvUserEmail);
+            tvRegistrationName = itemView.findViewById(R.id.tvRegistrationName);
+            tvRegistrationEmail = itemView.findViewById(R.id.tvRegistrationEmail);
+            tvRegistrationPhone = itemView.findViewById(R.id.tvRegistrationPhone);
+            tvStudentId = itemView.findViewById(R.id.tvStudentId);
+            tvRegisteredAt = itemView.findViewById(R.id.tvRegisteredAt);
+            llDetails = itemView.findViewById(R.id.llRegistrationDetails);
+        }
+    }
+}
@@ -7,25 +7,61 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.cardview.widget.CardView;
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.eventmanager.R;
 import com.example.eventmanager.api.response.EventData;
+import com.example.eventmanager.utils.DateTimeFormatCache;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHolder> {
 
-    private List<EventData> events;
+    // Ask for the next page when a row this close to the end is bound
+    private static final int PREFETCH_DISTANCE = 10;
+
+    // Same event when the id matches; rebind only when some field changed
+    private static final DiffUtil.ItemCallback<EventData> DIFF_CALLBACK = new DiffUtil.ItemCallback<EventData>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull EventData oldItem, @NonNull EventData newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull EventData oldItem, @NonNull EventData newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
+
+    // Diffs are computed on a background thread and only changed rows are dispatched
+    private final AsyncListDiffer<EventData> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
+    // Last list handed to the differ; its current list lags behind while a diff runs
+    private List<EventData> submitted = new ArrayList<>();
     private OnEventClickListener listener;
+    private OnLoadMoreListener loadMoreListener;
 
     public interface OnEventClickListener {
         void onEventClick(EventData event);
     }
 
+    public interface OnLoadMoreListener {
+        void onLoadMore();
+    }
+
     public EventAdapter(List<EventData> events, OnEventClickListener listener) {
-        this.events = events;
         this.listener = listener;
+        setHasStableIds(true);
+        if (events != null && !events.isEmpty()) {
+            submit(new ArrayList<>(events));
+        }
+    }
+
+    public void setOnLoadMoreListener(OnLoadMoreListener loadMoreListener) {
+        this.loadMoreListener = loadMoreListener;
     }
 
     @NonNull
@@ -38,59 +74,58 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHol
 
     @Override
     public void onBindViewHolder(@NonNull EventViewHolder holder, int position) {
-        EventData event = events.get(position);
+        EventData event = differ.getCurrentList().get(position);
         holder.tvTitle.setText(event.getTitle());
-        holder.tvDate.setText(formatDate(event.getDate()));
-        holder.tvTime.setText(formatTime(event.getTime()));
+        holder.tvDate.setText(DateTimeFormatCache.formatDate(event.getDate()));
+        holder.tvTime.setText(DateTimeFormatCache.formatTime(event.getTime()));
         holder.tvLocation.setText(event.getLocation());
         holder.tvCategory.setText(capitalizeFirst(event.getCategory()));
+        bindRegistration(holder, event);
 
         holder.cardView.setOnClickListener(v -> {
             if (listener != null) {
                 listener.onEventClick(event);
             }
         });
+
+        // Binding also runs for RecyclerView's prefetch, so pages load before the user gets there
+        if (loadMoreListener != null && position >= getItemCount() - PREFETCH_DISTANCE) {
+            loadMoreListener.onLoadMore();
+        }
     }
 
     @Override
     public int getItemCount() {
-        return events != null ? events.size() : 0;
+        return differ.getCurrentList().size();
     }
 
-    // Format date from "2025-12-15" to "Dec 15, 2025"
-    private String formatDate(String date) {
-        if (date == null || date.isEmpty()) return "";
-        try {
-            String[] parts = date.split("-");
-            if (parts.length == 3) {
-                String[] months = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", 
-                                   "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
-                int monthIndex = Integer.parseInt(parts[1]) - 1;
-                return months[monthIndex] + " " + Integer.parseInt(parts[2]) + ", " + parts[0];
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return date;
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getId();
     }
 
-    // Format time from "14:00:00" to "2:00 PM"
-    private String formatTime(String time) {
-        if (time == null || time.isEmpty()) return "";
-        try {
-            String[] parts = time.split(":");
-            if (parts.length >= 2) {
-                int hour = Integer.parseInt(parts[0]);
-                int minute = Integer.parseInt(parts[1]);
-                String amPm = hour >= 12 ? "PM" : "AM";
-                if (hour > 12) hour -= 12;
-                if (hour == 0) hour = 12;
-                return hour + ":" + String.format("%02d", minute) + " " + amPm;
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+    // Seats taken and the user's own state. The view is gone in item_event, so screens that
+    // reuse the layout without this adapter do not show it.
+    // Rebinds when a queued registration or reminder changes the counts or the user's state
+    private void bindRegistration(EventViewHolder holder, EventData event) {
+        StringBuilder text = new StringBuilder();
+        if (event.getMaxParticipants() > 0) {
+            text.append(event.getRegisteredCount()).append(" / ").append(event.getMaxParticipants()).append(" registered");
+        } else {
+            text.append(event.getRegisteredCount()).append(" registered");
+        }
+        if (event.isRegistered()) {
+            text.append("  ·  ✓ You're registered");
+        } else if (event.isFull()) {
+            text.append("  ·  Full");
         }
-        return time;
+        if (event.hasReminder()) {
+            text.append("  ·  Reminder set");
+        }
+        holder.tvRegistration.setText(text);
+        holder.tvRegistration.setVisibility(View.VISIBLE);
+        holder.tvRegistration.setTextColor(ContextCompat.getColor(holder.itemView.getContext(),
+                event.isRegistered() ? R.color.success : R.color.text_medium));
     }
 
     // Capitalize first letter
@@ -100,13 +135,24 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHol
     }
 
     public void updateEvents(List<EventData> newEvents) {
-        this.events = newEvents;
-        notifyDataSetChanged();
+        submit(newEvents != null ? new ArrayList<>(newEvents) : new ArrayList<>());
+    }
+
+    // Add a page of events after the current ones
+    public void appendEvents(List<EventData> page) {
+        List<EventData> grown = new ArrayList<>(submitted);
+        grown.addAll(page);
+        submit(grown);
+    }
+
+    private void submit(List<EventData> list) {
+        submitted = list;
+        differ.submitList(list);
     }
 
     static class EventViewHolder extends RecyclerView.ViewHolder {
         CardView cardView;
-        TextView tvTitle, tvDate, tvTime, tvLocation, tvCategory;
+        TextView tvTitle, tvDate, tvTime, tvLocation, tvCategory, tvRegistration;
 
         EventViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -116,6 +162,7 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHol
             tvTime = itemView.findViewById(R.id.tvTime);
             tvLocation = itemView.findViewById(R.id.tvLocation);
             tvCategory = itemView.findViewById(R.id.tvCategory);
+            tvRegistration = itemView.findViewById(R.id.tvRegistration);
         }
     }
 }
@@ -5,13 +5,24 @@ import android.content.SharedPreferences;
 import android.os.Build;
 import android.util.Log;
 
+import com.example.eventmanager.BuildConfig;
+import com.example.eventmanager.utils.JsonCodec;
+import com.example.eventmanager.utils.SessionManager;
+import com.google.gson.Gson;
+
+import okhttp3.Cache;
+import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
-import okhttp3.logging.HttpLoggingInterceptor;
+import okhttp3.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 public class ApiConfig {
@@ -23,14 +34,28 @@ public class ApiConfig {
     
     // Default configuration
     private static final String DEFAULT_PORT = "8000";
+    private static final long HTTP_CACHE_SIZE = 10 * 1024 * 1024; // 10 MB
     
     // Connection methods:
     // 1. For Android Emulator: Use "10.0.2.2" (maps to host machine's localhost)
     // 2. For Real Device (USB): Use "127.0.0.1" + run: adb reverse tcp:8000 tcp:8000
     // 3. For Real Device (WiFi): Use your computer's IP address (e.g., "192.168.1.100")
     
+    // Retrofit needs a base URL up front; requests are pointed at the real server on the way out
+    private static final HttpUrl PLACEHOLDER_BASE_URL = HttpUrl.get("http://localhost/api/");
+    
+    // Built once per process; guarded by ApiConfig.class
     private static Retrofit retrofit = null;
-    private static ApiService apiService = null;
+    private static volatile ApiService apiService = null;
+    // Server every request goes to; swapped when the IP or port changes
+    private static volatile HttpUrl baseUrl = null;
+    
+    // One cache per directory for the whole process, it outlives Retrofit rebuilds
+    private static Cache httpCache = null;
+    private static final ExecutorService cacheExecutor = Executors.newSingleThreadExecutor();
+    
+    // Process-wide Gson; response models are bound by hand-written adapters instead of reflection
+    private static final Gson gson = JsonCodec.getInstance().gson();
     
     /**
      * Get the server IP address based on device type and saved preferences
@@ -78,6 +103,29 @@ public class ApiConfig {
         return baseUrl;
     }
     
+    /**
+     * Server requests currently go to, read from preferences the first time
+     */
+    private static HttpUrl currentBaseUrl(Context context) {
+        HttpUrl url = baseUrl;
+        if (url == null) {
+            synchronized (ApiConfig.class) {
+                if (baseUrl == null) {
+                    baseUrl = HttpUrl.get(getBaseUrl(context));
+                }
+                url = baseUrl;
+            }
+        }
+        return url;
+    }
+    
+    /**
+     * Point all requests, including ones from services already handed out, at the saved server
+     */
+    private static void updateBaseUrl(Context context) {
+        baseUrl = HttpUrl.get(getBaseUrl(context));
+    }
+    
     /**
      * Check if running on Android Emulator
      */
@@ -92,49 +140,104 @@ public class ApiConfig {
                 || "google_sdk".equals(Build.PRODUCT);
     }
     
-    public static Retrofit getRetrofit(Context context) {
+    /**
+     * Gson used for API bodies, with the response model adapters registered
+     */
+    public static Gson getGson() {
+        return gson;
+    }
+    
+    /**
+     * Disk-backed HTTP cache shared by every client instance
+     */
+    private static synchronized Cache getHttpCache(Context context) {
+        if (httpCache == null) {
+            File cacheDir = new File(context.getApplicationContext().getCacheDir(), "http");
+            httpCache = new Cache(cacheDir, HTTP_CACHE_SIZE);
+        }
+        return httpCache;
+    }
+    
+    /**
+     * Process-wide Retrofit. Its client, connection pool and dispatcher are built once and
+     * kept across logins and server changes; only the base URL is swapped.
+     */
+    public static synchronized Retrofit getRetrofit(Context context) {
         if (retrofit == null) {
-            String baseUrl = getBaseUrl(context);
-            Log.d(TAG, "Initializing Retrofit with URL: " + baseUrl);
+            // The client lives as long as the process; do not hold on to an activity
+            Context appContext = context.getApplicationContext();
+            Log.d(TAG, "Initializing Retrofit with URL: " + currentBaseUrl(appContext));
             
-            // Logging interceptor for debugging
-            HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor(message -> {
-                Log.d(TAG, message);
-            });
-            loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
+            // Send each request to the current server; services are built against a placeholder
+            Interceptor baseUrlInterceptor = chain -> {
+                Request request = chain.request();
+                HttpUrl server = currentBaseUrl(appContext);
+                HttpUrl url = request.url().newBuilder()
+                        .scheme(server.scheme())
+                        .host(server.host())
+                        .port(server.port())
+                        .build();
+                return chain.proceed(request.newBuilder().url(url).build());
+            };
             
-            // Auth interceptor to add token to requests
-            Interceptor authInterceptor = chain -> {
-                Request original = chain.request();
-                
-                // Get token from SharedPreferences
-                SharedPreferences prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-                String token = prefs.getString("access_token", null);
-                
-                Request.Builder requestBuilder = original.newBuilder();
-                
-                if (token != null && !token.isEmpty()) {
-                    requestBuilder.addHeader("Authorization", "Bearer " + token);
-                }
-                
-                requestBuilder.addHeader("Content-Type", "application/json");
-                
-                return chain.proceed(requestBuilder.build());
+            // Traffic logging at the build type's level; release builds log nothing
+            NetworkLogger.Level logLevel = NetworkLogger.Level.parse(BuildConfig.HTTP_LOG_LEVEL);
+            
+            // Auth interceptor to add token to requests; the header is prebuilt by the session
+            SessionManager session = new SessionManager(context);
+            Interceptor authInterceptor = new AuthInterceptor(session::getAuthHeader);
+            
+            // Count cache hits, 304 revalidations and misses on the final response
+            Interceptor cacheStatsInterceptor = chain -> {
+                Response response = chain.proceed(chain.request());
+                HttpCacheStats.record(response);
+                return response;
             };
             
-            OkHttpClient client = new OkHttpClient.Builder()
-                    .addInterceptor(loggingInterceptor)
-                    .addInterceptor(authInterceptor)
-                    .connectTimeout(30, TimeUnit.SECONDS)  // Increased timeout for USB connection
-                    .readTimeout(30, TimeUnit.SECONDS)
-                    .writeTimeout(30, TimeUnit.SECONDS)
-                    .retryOnConnectionFailure(true)  // Retry on connection failure
+            Cache cache = getHttpCache(context);
+            
+            // Bare client for token refreshes; the API client below shares its connections
+            OkHttpClient baseClient = new OkHttpClient.Builder()
+                    // Defaults for endpoints without an EndpointPolicy
+                    .connectTimeout(10, TimeUnit.SECONDS)
+                    .readTimeout(20, TimeUnit.SECONDS)
+                    .writeTimeout(20, TimeUnit.SECONDS)
+                    // EndpointPolicyInterceptor decides what may be retried
+                    .retryOnConnectionFailure(false)
                     .build();
             
-            retrofit = new Retrofit.Builder()
-                    .baseUrl(baseUrl)
+            OkHttpClient.Builder clientBuilder = baseClient.newBuilder()
+                    .cache(cache)
+                    .addInterceptor(baseUrlInterceptor)
+                    // Per-endpoint timeouts, retries and circuit breaker, keyed by the real server
+                    .addInterceptor(new EndpointPolicyInterceptor())
+                    .addInterceptor(cacheStatsInterceptor);
+            if (logLevel != NetworkLogger.Level.NONE) {
+                clientBuilder.addInterceptor(new NetworkLogger(logLevel,
+                        BuildConfig.HTTP_LOG_BODY_SAMPLE_RATE, BuildConfig.HTTP_LOG_MAX_BODY_BYTES));
+            }
+            clientBuilder
+                    .addInterceptor(authInterceptor)
+                    .addNetworkInterceptor(new HttpCachePolicy(cache))
+                    // Expired access tokens are refreshed and the request replayed
+                    .authenticator(new TokenAuthenticator(session, baseClient, () -> currentBaseUrl(appContext), gson));
+            if (BuildConfig.DEBUG) {
+                // Per-endpoint DNS, connect, TTFB and body timings
+                clientBuilder.eventListenerFactory(NetworkMetrics.eventListenerFactory());
+            }
+            OkHttpClient client = clientBuilder.build();
+            
+            Retrofit.Builder retrofitBuilder = new Retrofit.Builder()
+                    .baseUrl(PLACEHOLDER_BASE_URL)
                     .client(client)
-                    .addConverterFactory(GsonConverterFactory.create())
+                    .addCallAdapterFactory(new CoalescingCallAdapterFactory(
+                            () -> currentBaseUrl(appContext), session::getAuthHeader));
+            if (BuildConfig.DEBUG) {
+                // Before Gson, so parse time is measured apart from the network read
+                retrofitBuilder.addConverterFactory(new TimingConverterFactory());
+            }
+            retrofit = retrofitBuilder
+                    .addConverterFactory(GsonConverterFactory.create(gson))
                     .build();
         }
         return retrofit;
@@ -150,9 +253,8 @@ public class ApiConfig {
         editor.putString(PREF_SERVER_IP, ip);
         editor.apply();
         
-        // Reset retrofit to use new IP
-        retrofit = null;
-        apiService = null;
+        // Existing services and connections are kept, only the target changes
+        updateBaseUrl(context);
         
         Log.d(TAG, "Server IP updated to: " + ip);
     }
@@ -166,9 +268,8 @@ public class ApiConfig {
         editor.putString(PREF_SERVER_PORT, port);
         editor.apply();
         
-        // Reset retrofit to use new port
-        retrofit = null;
-        apiService = null;
+        // Existing services and connections are kept, only the target changes
+        updateBaseUrl(context);
         
         Log.d(TAG, "Server port updated to: " + port);
     }
@@ -197,46 +298,51 @@ public class ApiConfig {
         editor.remove(PREF_SERVER_PORT);
         editor.apply();
         
-        // Reset retrofit
-        retrofit = null;
-        apiService = null;
+        // Back to the auto-detected server
+        updateBaseUrl(context);
         
         Log.d(TAG, "Reset to default configuration");
     }
     
+    // The same instance for the life of the process, safe to keep in a field
     public static ApiService getApiService(Context context) {
-        if (apiService == null) {
-            apiService = getRetrofit(context).create(ApiService.class);
+        ApiService service = apiService;
+        if (service == null) {
+            synchronized (ApiConfig.class) {
+                if (apiService == null) {
+                    apiService = getRetrofit(context).create(ApiService.class);
+                }
+                service = apiService;
+            }
         }
-        return apiService;
+        return service;
     }
     
-    // Save tokens to SharedPreferences
+    // Save tokens through the session so requests see them immediately
     public static void saveTokens(Context context, String accessToken, String refreshToken) {
-        SharedPreferences prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = prefs.edit();
-        editor.putString("access_token", accessToken);
-        editor.putString("refresh_token", refreshToken);
-        editor.apply();
+        new SessionManager(context).saveTokens(accessToken, refreshToken);
     }
     
     // Get access token
     public static String getAccessToken(Context context) {
-        SharedPreferences prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-        return prefs.getString("access_token", null);
+        return new SessionManager(context).getAccessToken();
     }
     
     // Clear tokens (logout)
     public static void clearTokens(Context context) {
-        SharedPreferences prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = prefs.edit();
-        editor.remove("access_token");
-        editor.remove("refresh_token");
-        editor.apply();
+        new SessionManager(context).clearTokens();
+        
+        // Cached responses belong to the user who just logged out
+        Cache cache = getHttpCache(context);
+        cacheExecutor.execute(() -> {
+            try {
+                cache.evictAll();
+            } catch (IOException e) {
+                Log.w(TAG, "Failed to clear HTTP cache", e);
+            }
+        });
         
-        // Reset retrofit to force new instance
-        retrofit = null;
-        apiService = null;
+        // The client stays: the next user gets their token from the session
     }
     
     // Check if user is logged in
@@ -246,6 +352,6 @@ public class ApiConfig {
     
     // Get current base URL (for debugging)
     public static String getBaseUrlString(Context context) {
-        return getBaseUrl(context);
+        return currentBaseUrl(context).toString();
     }
 }
@@ -3,6 +3,7 @@ package com.example.eventmanager.api;
 import com.example.eventmanager.api.request.*;
 import com.example.eventmanager.api.response.*;
 
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.*;
 
@@ -10,57 +11,98 @@ public interface ApiService {
     
     // ==================== Authentication ====================
     
+    @EndpointPolicy(connectTimeoutMs = 5000, readTimeoutMs = 10000)
     @POST("auth/register/")
     Call<AuthResponse> register(@Body RegisterRequest request);
     
+    @EndpointPolicy(connectTimeoutMs = 5000, readTimeoutMs = 10000)
     @POST("auth/login/")
     Call<AuthResponse> login(@Body LoginRequest request);
     
+    @EndpointPolicy(connectTimeoutMs = 5000, readTimeoutMs = 10000)
     @POST("auth/forgot-password/")
     Call<ForgotPasswordResponse> forgotPassword(@Body ForgotPasswordRequest request);
     
+    @EndpointPolicy(connectTimeoutMs = 5000, readTimeoutMs = 10000)
     @POST("auth/verify-otp/")
     Call<BaseResponse> verifyOtp(@Body VerifyOtpRequest request);
     
+    @EndpointPolicy(connectTimeoutMs = 5000, readTimeoutMs = 10000)
     @POST("auth/reset-password/")
     Call<BaseResponse> resetPassword(@Body ResetPasswordRequest request);
     
+    @EndpointPolicy(connectTimeoutMs = 5000, readTimeoutMs = 10000)
     @GET("auth/profile/")
     Call<ProfileResponse> getProfile();
     
+    @EndpointPolicy(connectTimeoutMs = 5000, readTimeoutMs = 10000)
     @POST("auth/change-password/")
     Call<BaseResponse> changePassword(@Body ChangePasswordRequest request);
     
     // ==================== Events ====================
     
+    @EndpointPolicy(connectTimeoutMs = 5000, readTimeoutMs = 15000)
     @GET("events/")
     Call<EventListResponse> getEvents();
     
+    // Only events changed since a previous synced_at; a null watermark returns the full list
+    @EndpointPolicy(connectTimeoutMs = 5000, readTimeoutMs = 15000)
+    @GET("events/")
+    Call<EventListResponse> getEventChanges(@Query("since") String since);
+    
+    // One page of the event list in (date, time, id) order; a null cursor starts from the top
+    @EndpointPolicy(connectTimeoutMs = 5000, readTimeoutMs = 15000)
+    @GET("events/")
+    Call<EventListResponse> getEventsPage(@Query("cursor") String cursor, @Query("limit") int limit);
+    
+    @EndpointPolicy(connectTimeoutMs = 5000, readTimeoutMs = 10000)
     @GET("events/{id}/")
     Call<EventDetailResponse> getEventDetail(@Path("id") int eventId);
     
+    // Same event, revalidated with the server instead of served from the HTTP cache
+    @EndpointPolicy(connectTimeoutMs = 5000, readTimeoutMs = 10000)
+    @Headers("Cache-Control: no-cache")
+    @GET("events/{id}/")
+    Call<EventDetailResponse> refreshEventDetail(@Path("id") int eventId);
+    
+    // The server replays its first answer to a repeated Idempotency-Key, so retrying is safe
+    @EndpointPolicy(idempotent = true)
     @POST("events/create/")
-    Call<EventDetailResponse> createEvent(@Body CreateEventRequest request);
+    Call<EventDetailResponse> createEvent(@Header("Idempotency-Key") String idempotencyKey,
+            @Body CreateEventRequest request);
     
+    // Replaces the whole event, so repeating it is harmless
+    @EndpointPolicy(idempotent = true)
     @PUT("events/{id}/update/")
-    Call<EventDetailResponse> updateEvent(@Path("id") int eventId, @Body CreateEventRequest request);
+    Call<EventDetailResponse> updateEvent(@Header("Idempotency-Key") String idempotencyKey,
+            @Path("id") int eventId, @Body CreateEventRequest request);
     
     @DELETE("events/{id}/delete/")
     Call<BaseResponse> deleteEvent(@Path("id") int eventId);
     
     // ==================== Registrations ====================
     
+    @EndpointPolicy(connectTimeoutMs = 5000, readTimeoutMs = 15000)
     @POST("events/{id}/register/")
     Call<RegistrationResponse> registerForEvent(@Path("id") int eventId, @Body EventRegistrationRequest request);
     
+    @EndpointPolicy(idempotent = true)
     @DELETE("events/{id}/cancel-registration/")
-    Call<BaseResponse> cancelRegistration(@Path("id") int eventId);
+    Call<BaseResponse> cancelRegistration(@Header("Idempotency-Key") String idempotencyKey,
+            @Path("id") int eventId);
     
     @GET("registrations/")
     Call<MyRegistrationsResponse> getMyRegistrations();
     
+    // Raw body of my registrations for StreamingJsonParser
+    @EndpointPolicy(readTimeoutMs = 30000)
+    @Streaming
+    @GET("registrations/")
+    Call<ResponseBody> streamMyRegistrations();
+    
     // ==================== Reminders ====================
     
+    @EndpointPolicy(connectTimeoutMs = 5000, readTimeoutMs = 15000)
     @POST("events/{id}/set-reminder/")
     Call<ReminderResponse> setReminder(@Path("id") int eventId, @Body com.example.eventmanager.api.request.SetReminderRequest request);
     
@@ -70,12 +112,44 @@ public interface ApiService {
     @GET("reminders/")
     Call<MyRemindersResponse> getMyReminders();
     
+    // ==================== Batch ====================
+    
+    // Several registrations in one call; per-item results come back in request order.
+    // Items carry idempotency keys, so a resent batch is not applied twice
+    @EndpointPolicy(connectTimeoutMs = 5000, readTimeoutMs = 15000, idempotent = true)
+    @POST("events/batch/register/")
+    Call<BatchResponse> batchRegister(@Body BatchRegistrationRequest request);
+    
+    @EndpointPolicy(connectTimeoutMs = 5000, readTimeoutMs = 15000, idempotent = true)
+    @POST("events/batch/set-reminder/")
+    Call<BatchResponse> batchSetReminder(@Body BatchReminderRequest request);
+    
     // ==================== Dashboard ====================
     
     @GET("dashboard/")
     Call<DashboardResponse> getDashboard();
     
+    // Whole dashboard in one response; give the server time
+    @EndpointPolicy(readTimeoutMs = 30000)
     @GET("admin/dashboard/")
     Call<com.example.eventmanager.api.response.AdminDashboardResponse> getAdminDashboard();
+    
+    // Split admin dashboard: counts first, then summaries and registrations a page at a time
+    @GET("admin/dashboard/stats/")
+    Call<AdminStatsResponse> getAdminStats();
+    
+    @GET("admin/dashboard/events/")
+    Call<AdminEventsPageResponse> getAdminEvents(@Query("cursor") String cursor, @Query("limit") int limit);
+    
+    @GET("admin/dashboard/users/")
+    Call<AdminUsersPageResponse> getAdminUsers(@Query("cursor") String cursor, @Query("limit") int limit);
+    
+    @GET("admin/dashboard/events/{id}/registrations/")
+    Call<AdminRegistrationsPageResponse> getAdminEventRegistrations(@Path("id") int eventId,
+            @Query("cursor") String cursor, @Query("limit") int limit);
+    
+    @GET("admin/dashboard/users/{id}/registrations/")
+    Call<AdminRegistrationsPageResponse> getAdminUserRegistrations(@Path("id") int userId,
+            @Query("cursor") String cursor, @Query("limit") int limit);
 }
 
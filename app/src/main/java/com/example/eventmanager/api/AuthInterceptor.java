@@ -0,0 +1,39 @@
+package com.example.eventmanager.api;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Adds the Authorization and Content-Type headers to every request.
+ * The header value is built when the token changes (see SessionManager.getAuthHeader),
+ * so a request costs one volatile read here: no preference lookup and no string building.
+ */
+public class AuthInterceptor implements Interceptor {
+
+    private static final String CONTENT_TYPE_JSON = "application/json";
+
+    // Current "Bearer <token>" value, or null when logged out
+    private final Supplier<String> authHeader;
+
+    public AuthInterceptor(Supplier<String> authHeader) {
+        this.authHeader = authHeader;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request.Builder requestBuilder = chain.request().newBuilder();
+
+        String header = authHeader.get();
+        if (header != null) {
+            requestBuilder.addHeader("Authorization", header);
+        }
+
+        requestBuilder.addHeader("Content-Type", CONTENT_TYPE_JSON);
+
+        return chain.proceed(requestBuilder.build());
+    }
+}
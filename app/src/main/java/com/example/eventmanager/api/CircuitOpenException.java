@@ -0,0 +1,14 @@
+package com.example.eventmanager.api;
+
+import java.io.IOException;
+
+/**
+ * A request was refused without being sent because recent ones to the same server
+ * kept failing. The message is ready to show to the user.
+ */
+public class CircuitOpenException extends IOException {
+
+    public CircuitOpenException(long retryInMs) {
+        super("Server unavailable, try again in " + Math.max(1, (retryInMs + 999) / 1000) + "s");
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.eventmanager.api;
+
+import android.util.Log;
+
+import com.example.eventmanager.BuildConfig;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.Streaming;
+
+/**
+ * Lets identical GET calls that are enqueued while one is already in flight share its
+ * network request and parsed response. Calls are identical when they go to the same
+ * server and URL with the same response type, Cache-Control and Authorization. Services
+ * are built against a placeholder URL and the token is added by an interceptor, so the
+ * current server and auth header are read from suppliers. Each caller still gets its own
+ * Call and callback, and cancelling one only cancels the request when nobody else is
+ * waiting on it.
+ * Streaming and synchronous calls are passed through unchanged.
+ */
+public final class CoalescingCallAdapterFactory extends CallAdapter.Factory {
+
+    private static final String TAG = "CoalescingCalls";
+
+    // Requests in flight by key; guarded by itself
+    private final Map<String, InFlight<?>> inFlight = new HashMap<>();
+    private final Supplier<HttpUrl> baseUrl;
+    private final Supplier<String> authHeader;
+
+    public CoalescingCallAdapterFactory(Supplier<HttpUrl> baseUrl, Supplier<String> authHeader) {
+        this.baseUrl = baseUrl;
+        this.authHeader = authHeader;
+    }
+
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class || !isCoalescable(annotations)) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        CallAdapter<Object, Call<Object>> next =
+                (CallAdapter<Object, Call<Object>>) retrofit.nextCallAdapter(this, returnType, annotations);
+        Executor callbackExecutor = retrofit.callbackExecutor();
+        return new CallAdapter<Object, Call<Object>>() {
+            @Override
+            public Type responseType() {
+                return next.responseType();
+            }
+
+            @Override
+            public Call<Object> adapt(Call<Object> call) {
+                return new CoalescingCall<>(next.adapt(call), next.responseType(), callbackExecutor);
+            }
+        };
+    }
+
+    // Plain GETs only; a streamed body can be read by one caller
+    private static boolean isCoalescable(Annotation[] annotations) {
+        boolean get = false;
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Streaming) {
+                return false;
+            }
+            if (annotation instanceof GET) {
+                get = true;
+            }
+        }
+        return get;
+    }
+
+    // One caller's view of a possibly shared request
+    private final class CoalescingCall<T> implements Call<T> {
+        private final Call<T> delegate;
+        private final Type responseType;
+        // Where results are delivered when they do not come from the delegate; null for inline
+        private final Executor callbackExecutor;
+        private volatile boolean canceled;
+        private boolean executed;
+        // Set once enqueued
+        private Callback<T> callback;
+        private InFlight<T> flight;
+
+        CoalescingCall(Call<T> delegate, Type responseType, Executor callbackExecutor) {
+            this.delegate = delegate;
+            this.responseType = responseType;
+            this.callbackExecutor = callbackExecutor;
+        }
+
+        @Override
+        public void enqueue(Callback<T> callback) {
+            synchronized (this) {
+                if (executed) throw new IllegalStateException("Already executed");
+                executed = true;
+            }
+            this.callback = callback;
+            if (canceled) {
+                // Same thread as every other result, never the caller's
+                Runnable failure = () -> callback.onFailure(this, new IOException("Canceled"));
+                if (callbackExecutor != null) {
+                    callbackExecutor.execute(failure);
+                } else {
+                    failure.run();
+                }
+                return;
+            }
+
+            Request request = delegate.request();
+            String key = key(request);
+            boolean leader = false;
+            synchronized (inFlight) {
+                @SuppressWarnings("unchecked")
+                InFlight<T> existing = (InFlight<T>) inFlight.get(key);
+                if (existing == null) {
+                    existing = new InFlight<>(key, delegate);
+                    inFlight.put(key, existing);
+                    leader = true;
+                }
+                flight = existing;
+                existing.waiters.add(this);
+            }
+
+            if (leader) {
+                CoalescingStats.recordSent();
+                delegate.enqueue(flight);
+            } else {
+                CoalescingStats.recordSaved();
+                if (BuildConfig.DEBUG) {
+                    Log.d(TAG, "Joined " + request.url() + " - " + CoalescingStats.summary());
+                }
+            }
+        }
+
+        // A forced refresh, another server or another user must not join this request
+        private String key(Request request) {
+            String auth = request.header("Authorization");
+            if (auth == null) {
+                auth = authHeader.get();
+            }
+            return responseType + " " + baseUrl.get() + " " + request.url()
+                    + " " + request.header("Cache-Control") + " " + auth;
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            synchronized (this) {
+                if (executed) throw new IllegalStateException("Already executed");
+                executed = true;
+            }
+            return delegate.execute();
+        }
+
+        @Override
+        public synchronized boolean isExecuted() {
+            return executed;
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+            InFlight<T> joined;
+            boolean abandon = false;
+            synchronized (inFlight) {
+                joined = flight;
+                if (joined == null) {
+                    delegate.cancel();
+                    return;
+                }
+                // Stop sharing a request nobody wants; a new identical call starts afresh
+                if (joined.allCanceled() && inFlight.get(joined.key) == joined) {
+                    inFlight.remove(joined.key);
+                    abandon = true;
+                }
+            }
+            if (abandon) {
+                joined.delegate.cancel();
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public Call<T> clone() {
+            return new CoalescingCall<>(delegate.clone(), responseType, callbackExecutor);
+        }
+
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return delegate.timeout();
+        }
+    }
+
+    // A request on the network and the callers waiting for it
+    private final class InFlight<T> implements Callback<T> {
+        final String key;
+        final Call<T> delegate;
+        // Guarded by inFlight
+        final List<CoalescingCall<T>> waiters = new ArrayList<>();
+
+        InFlight(String key, Call<T> delegate) {
+            this.key = key;
+            this.delegate = delegate;
+        }
+
+        boolean allCanceled() {
+            for (CoalescingCall<T> waiter : waiters) {
+                if (!waiter.canceled) return false;
+            }
+            return true;
+        }
+
+        // Nobody can join once the result is in
+        private List<CoalescingCall<T>> finish() {
+            synchronized (inFlight) {
+                if (inFlight.get(key) == this) {
+                    inFlight.remove(key);
+                }
+                return new ArrayList<>(waiters);
+            }
+        }
+
+        @Override
+        public void onResponse(Call<T> call, Response<T> response) {
+            List<CoalescingCall<T>> done = finish();
+
+            // An error body can only be read once, so give every caller its own copy
+            byte[] errorBytes = null;
+            ResponseBody errorBody = response.errorBody();
+            if (errorBody != null && done.size() > 1) {
+                try {
+                    errorBytes = errorBody.bytes();
+                } catch (IOException e) {
+                    errorBytes = new byte[0];
+                }
+            }
+
+            for (CoalescingCall<T> waiter : done) {
+                if (waiter.canceled) {
+                    waiter.callback.onFailure(waiter, new IOException("Canceled"));
+                } else if (errorBytes != null) {
+                    ResponseBody copy = ResponseBody.create(errorBytes, errorBody.contentType());
+                    waiter.callback.onResponse(waiter, Response.<T>error(copy, response.raw()));
+                } else {
+                    waiter.callback.onResponse(waiter, response);
+                }
+            }
+        }
+
+        @Override
+        public void onFailure(Call<T> call, Throwable t) {
+            for (CoalescingCall<T> waiter : finish()) {
+                waiter.callback.onFailure(waiter, waiter.canceled ? new IOException("Canceled") : t);
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.eventmanager.api;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide counters for CoalescingCallAdapterFactory.
+ * sent: GET calls that went to the network
+ * saved: GET calls that joined an identical one already in flight instead
+ */
+public final class CoalescingStats {
+
+    private static final AtomicLong sent = new AtomicLong();
+    private static final AtomicLong saved = new AtomicLong();
+
+    private CoalescingStats() {
+    }
+
+    static void recordSent() {
+        sent.incrementAndGet();
+    }
+
+    static void recordSaved() {
+        saved.incrementAndGet();
+    }
+
+    public static long getSent() {
+        return sent.get();
+    }
+
+    public static long getSaved() {
+        return saved.get();
+    }
+
+    public static void reset() {
+        sent.set(0);
+        saved.set(0);
+    }
+
+    public static String summary() {
+        return "Coalescing: " + sent.get() + " sent, " + saved.get() + " saved";
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.eventmanager.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Timeouts and retries for one ApiService method, applied by EndpointPolicyInterceptor.
+ * Unset values fall back to the client's timeouts and to the interceptor's default
+ * retry count. Only GET requests and methods marked idempotent are retried once the
+ * request may have reached the server; failures to connect at all are retried for
+ * every method.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface EndpointPolicy {
+
+    // Use the client or interceptor default
+    int DEFAULT = -1;
+
+    int connectTimeoutMs() default DEFAULT;
+
+    int readTimeoutMs() default DEFAULT;
+
+    int writeTimeoutMs() default DEFAULT;
+
+    // Attempts after the first one
+    int maxRetries() default DEFAULT;
+
+    // Sending it twice has the same effect as once (GET always is)
+    boolean idempotent() default false;
+}
@@ -0,0 +1,266 @@
+package com.example.eventmanager.api;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Method;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * Applies each ApiService method's EndpointPolicy: its timeouts, retries with jittered
+ * exponential backoff, and a circuit breaker per server.
+ * After a few failures in a row the breaker refuses requests to that server for a short
+ * while, so screens fail at once instead of each waiting out its own timeouts; one
+ * probe request is then let through and its result closes or reopens the breaker.
+ * The client's own retryOnConnectionFailure is off, so this is the only retry layer.
+ */
+public class EndpointPolicyInterceptor implements Interceptor {
+
+    private static final String TAG = "EndpointPolicy";
+
+    private static final int DEFAULT_RETRIES = 2;
+    private static final long BACKOFF_BASE_MS = 250;
+    private static final long BACKOFF_MAX_MS = 2000;
+
+    // Consecutive failures that open a server's breaker
+    private static final int FAILURE_THRESHOLD = 3;
+    // How long an open breaker refuses requests; doubles while probes keep failing
+    private static final long OPEN_MS = 5 * 1000;
+    private static final long MAX_OPEN_MS = 30 * 1000;
+
+    // Resolved policy per service method; requests from elsewhere use NONE
+    private final Map<Method, Policy> policies = new ConcurrentHashMap<>();
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    public EndpointPolicyInterceptor() {
+        this(System::currentTimeMillis);
+    }
+
+    // Tests move the breakers' clock by hand
+    EndpointPolicyInterceptor(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Policy policy = policyFor(request);
+        CircuitBreaker breaker = breakerFor(request.url());
+
+        Chain timed = chain;
+        if (policy.connectTimeoutMs > 0) {
+            timed = timed.withConnectTimeout(policy.connectTimeoutMs, TimeUnit.MILLISECONDS);
+        }
+        if (policy.readTimeoutMs > 0) {
+            timed = timed.withReadTimeout(policy.readTimeoutMs, TimeUnit.MILLISECONDS);
+        }
+        if (policy.writeTimeoutMs > 0) {
+            timed = timed.withWriteTimeout(policy.writeTimeoutMs, TimeUnit.MILLISECONDS);
+        }
+
+        for (int attempt = 0; ; attempt++) {
+            boolean probe = breaker.acquire();
+
+            Response response;
+            // Whether the breaker heard how this attempt went
+            boolean settled = false;
+            try {
+                response = timed.proceed(request);
+                settled = true;
+            } catch (IOException e) {
+                if (chain.call().isCanceled()) {
+                    throw e;
+                }
+                settled = true;
+                breaker.recordFailure(probe);
+                // A request that never left the device is safe to repeat whatever its method
+                boolean retryable = policy.idempotent || !wasSent(e);
+                if (!retryable || attempt >= policy.maxRetries) {
+                    throw e;
+                }
+                Log.d(TAG, "Retrying " + request.method() + " " + request.url() + " after " + e);
+                backOff(attempt);
+                continue;
+            } finally {
+                // Cancelled, or a RuntimeException: says nothing about the server, but a
+                // probe left set would refuse every later request
+                if (!settled && probe) {
+                    breaker.release();
+                }
+            }
+
+            if (!isServerUnavailable(response.code())) {
+                breaker.recordSuccess(probe);
+                return response;
+            }
+            breaker.recordFailure(probe);
+            if (!policy.idempotent || attempt >= policy.maxRetries) {
+                return response;
+            }
+            Log.d(TAG, "Retrying " + request.method() + " " + request.url() + " after " + response.code());
+            response.close();
+            backOff(attempt);
+        }
+    }
+
+    // Gateway errors and overload: the server may be fine again in a moment
+    private static boolean isServerUnavailable(int code) {
+        return code == 502 || code == 503 || code == 504;
+    }
+
+    // False when the connection was never made, so the server cannot have seen the request
+    private static boolean wasSent(IOException e) {
+        return !(e instanceof UnknownHostException
+                || e instanceof ConnectException
+                || e instanceof NoRouteToHostException);
+    }
+
+    // Full jitter: anywhere up to the exponential step, so retrying clients spread out
+    private static void backOff(int attempt) throws InterruptedIOException {
+        long ceiling = Math.min(BACKOFF_MAX_MS, BACKOFF_BASE_MS << attempt);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+    }
+
+    private Policy policyFor(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null) {
+            return Policy.NONE;
+        }
+        Method method = invocation.method();
+        Policy policy = policies.get(method);
+        if (policy == null) {
+            policy = Policy.of(method, request.method());
+            policies.put(method, policy);
+        }
+        return policy;
+    }
+
+    private CircuitBreaker breakerFor(HttpUrl url) {
+        String server = url.host() + ":" + url.port();
+        CircuitBreaker breaker = breakers.get(server);
+        if (breaker == null) {
+            breaker = new CircuitBreaker(clock);
+            CircuitBreaker existing = breakers.putIfAbsent(server, breaker);
+            if (existing != null) {
+                breaker = existing;
+            }
+        }
+        return breaker;
+    }
+
+    // ==================== Policy ====================
+
+    private static final class Policy {
+        static final Policy NONE = new Policy(EndpointPolicy.DEFAULT, EndpointPolicy.DEFAULT,
+                EndpointPolicy.DEFAULT, 0, false);
+
+        final int connectTimeoutMs;
+        final int readTimeoutMs;
+        final int writeTimeoutMs;
+        final int maxRetries;
+        final boolean idempotent;
+
+        Policy(int connectTimeoutMs, int readTimeoutMs, int writeTimeoutMs, int maxRetries, boolean idempotent) {
+            this.connectTimeoutMs = connectTimeoutMs;
+            this.readTimeoutMs = readTimeoutMs;
+            this.writeTimeoutMs = writeTimeoutMs;
+            this.maxRetries = maxRetries;
+            this.idempotent = idempotent;
+        }
+
+        static Policy of(Method method, String httpMethod) {
+            EndpointPolicy annotation = method.getAnnotation(EndpointPolicy.class);
+            boolean idempotent = "GET".equals(httpMethod) || (annotation != null && annotation.idempotent());
+            if (annotation == null) {
+                return new Policy(EndpointPolicy.DEFAULT, EndpointPolicy.DEFAULT, EndpointPolicy.DEFAULT,
+                        DEFAULT_RETRIES, idempotent);
+            }
+            int maxRetries = annotation.maxRetries() != EndpointPolicy.DEFAULT
+                    ? annotation.maxRetries() : DEFAULT_RETRIES;
+            return new Policy(annotation.connectTimeoutMs(), annotation.readTimeoutMs(),
+                    annotation.writeTimeoutMs(), maxRetries, idempotent);
+        }
+    }
+
+    // ==================== Circuit breaker ====================
+
+    private static final class CircuitBreaker {
+        private final LongSupplier clock;
+        private int consecutiveFailures;
+        // 0 while closed
+        private long openUntil;
+        private long openMs = OPEN_MS;
+        private boolean probing;
+
+        CircuitBreaker(LongSupplier clock) {
+            this.clock = clock;
+        }
+
+        // Let a request through or refuse it with CircuitOpenException; true for the probe
+        synchronized boolean acquire() throws CircuitOpenException {
+            if (openUntil == 0) {
+                return false;
+            }
+            long now = clock.getAsLong();
+            if (now < openUntil) {
+                throw new CircuitOpenException(openUntil - now);
+            }
+            if (probing) {
+                // Someone else is finding out whether the server is back
+                throw new CircuitOpenException(0);
+            }
+            probing = true;
+            return true;
+        }
+
+        // While open only the probe's result counts; requests let through before the
+        // breaker opened can still be finishing and must not touch the probe's state
+        synchronized void recordSuccess(boolean probe) {
+            if (probe) {
+                probing = false;
+                openUntil = 0;
+                openMs = OPEN_MS;
+            }
+            if (openUntil == 0) {
+                consecutiveFailures = 0;
+            }
+        }
+
+        synchronized void recordFailure(boolean probe) {
+            if (probe) {
+                // The server is still down: stay open, for longer
+                probing = false;
+                openMs = Math.min(MAX_OPEN_MS, openMs * 2);
+                openUntil = clock.getAsLong() + openMs;
+            } else if (openUntil == 0 && ++consecutiveFailures >= FAILURE_THRESHOLD) {
+                openUntil = clock.getAsLong() + openMs;
+                Log.w(TAG, "Circuit opened for " + openMs + "ms after " + consecutiveFailures + " failures");
+            }
+        }
+
+        // The probe ended without an answer, e.g. cancelled; it says nothing about the server
+        synchronized void release() {
+            probing = false;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.eventmanager.api;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import okhttp3.Cache;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+
+/**
+ * Network interceptor that gives each cacheable endpoint its own freshness policy.
+ * The backend only emits validators (ETag / Last-Modified), so the policy lives here:
+ * lists are always revalidated and come back as cheap 304s when unchanged, while
+ * event details may be served from disk for a short while without a round trip.
+ */
+public class HttpCachePolicy implements Interceptor {
+
+    // Always revalidate: per-user flags and counts change often
+    private static final String REVALIDATE = "private, no-cache";
+    // Detail screens can live with data a few seconds old
+    private static final String SHORT_LIVED = "private, max-age=30";
+
+    private static final Pattern EVENT_LIST = Pattern.compile(".*/api/events/$");
+    private static final Pattern EVENT_DETAIL = Pattern.compile(".*/api/events/(\\d+)/$");
+    private static final Pattern MY_LISTS = Pattern.compile(".*/api/(registrations|reminders)/$");
+    // Any mutation below events/{id}/ (update, delete, register, reminders...)
+    private static final Pattern EVENT_MUTATION = Pattern.compile(".*/api/events/(\\d+)/.*");
+    // Batch registrations and reminders; the events are named by the items' event_id
+    private static final Pattern EVENT_BATCH = Pattern.compile(".*/api/events/batch/[^/]+/$");
+
+    private final Cache cache;
+
+    public HttpCachePolicy(Cache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        String path = request.url().encodedPath();
+
+        if ("GET".equals(request.method())) {
+            String cacheControl = cacheControlFor(path);
+            if (cacheControl != null && (response.isSuccessful() || response.code() == 304)) {
+                return response.newBuilder()
+                        .header("Cache-Control", cacheControl)
+                        .removeHeader("Pragma")
+                        .build();
+            }
+            return response;
+        }
+
+        if (!response.isSuccessful()) {
+            return response;
+        }
+        // OkHttp only invalidates the exact URL that was mutated, so drop the event's detail too
+        Matcher matcher = EVENT_MUTATION.matcher(path);
+        if (matcher.matches()) {
+            invalidateEventDetails(Collections.singleton(matcher.group(1)));
+        } else if (EVENT_BATCH.matcher(path).matches()) {
+            invalidateEventDetails(batchEventIds(request.body()));
+        }
+        return response;
+    }
+
+    private static String cacheControlFor(String path) {
+        if (EVENT_LIST.matcher(path).matches() || MY_LISTS.matcher(path).matches()) {
+            return REVALIDATE;
+        }
+        if (EVENT_DETAIL.matcher(path).matches()) {
+            return SHORT_LIVED;
+        }
+        return null;
+    }
+
+    // Every item's event, whether or not the server applied it; an extra miss is cheap
+    private static Set<String> batchEventIds(RequestBody body) throws IOException {
+        Set<String> ids = new HashSet<>();
+        if (body == null) {
+            return ids;
+        }
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        try {
+            JsonElement items = JsonParser.parseString(buffer.readUtf8()).getAsJsonObject().get("items");
+            if (items != null && items.isJsonArray()) {
+                for (JsonElement item : items.getAsJsonArray()) {
+                    JsonElement eventId = item.getAsJsonObject().get("event_id");
+                    if (eventId != null && eventId.isJsonPrimitive()) {
+                        ids.add(eventId.getAsString());
+                    }
+                }
+            }
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            // Not the batch body this app sends; nothing to invalidate
+        }
+        return ids;
+    }
+
+    private void invalidateEventDetails(Set<String> eventIds) throws IOException {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        Iterator<String> urls = cache.urls();
+        while (urls.hasNext()) {
+            String url = urls.next();
+            Matcher matcher = EVENT_DETAIL.matcher(url);
+            if (matcher.matches() && eventIds.contains(matcher.group(1))) {
+                urls.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.eventmanager.api;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Response;
+
+/**
+ * Process-wide counters for how GET requests were answered by the HTTP cache.
+ * hit: served from disk without a round trip
+ * revalidated: server answered 304 and the cached body was reused
+ * miss: full body downloaded (nothing cached, or the cached copy had changed)
+ */
+public final class HttpCacheStats {
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong revalidated = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+    private HttpCacheStats() {
+    }
+
+    // Classify a final (application-level) response
+    static void record(Response response) {
+        if (!"GET".equals(response.request().method())) {
+            return;
+        }
+        Response cacheResponse = response.cacheResponse();
+        Response networkResponse = response.networkResponse();
+
+        if (cacheResponse != null && networkResponse == null) {
+            hits.incrementAndGet();
+        } else if (cacheResponse != null && networkResponse.code() == 304) {
+            revalidated.incrementAndGet();
+        } else if (networkResponse != null) {
+            misses.incrementAndGet();
+        }
+    }
+
+    public static long getHits() {
+        return hits.get();
+    }
+
+    public static long getRevalidated() {
+        return revalidated.get();
+    }
+
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    public static void reset() {
+        hits.set(0);
+        revalidated.set(0);
+        misses.set(0);
+    }
+
+    public static String summary() {
+        return "HTTP cache: " + hits.get() + " hits, "
+                + revalidated.get() + " revalidated (304), "
+                + misses.get() + " misses";
+    }
+}
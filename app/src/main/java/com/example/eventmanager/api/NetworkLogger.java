@@ -0,0 +1,193 @@
+package com.example.eventmanager.api;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+/**
+ * Logs API traffic at a level chosen per build type (BuildConfig.HTTP_LOG_LEVEL).
+ * Bodies are captured only at BODY level, only for a sample of requests and only up
+ * to a size cap; the response body is peeked, never consumed. Lines are formatted and
+ * written on a background thread, and dropped rather than queued without limit when
+ * the app is busier than logcat.
+ * At NONE ApiConfig does not install it at all, so release builds copy no bodies.
+ */
+public class NetworkLogger implements Interceptor {
+
+    // Same tag the previous logging interceptor wrote under
+    private static final String TAG = "ApiConfig";
+    // Lines waiting for the log thread before new ones are dropped
+    private static final int MAX_PENDING = 256;
+
+    public enum Level {
+        // Nothing
+        NONE,
+        // Method, URL, status, time and size
+        BASIC,
+        // BASIC plus headers (Authorization redacted)
+        HEADERS,
+        // HEADERS plus a capped prefix of sampled bodies
+        BODY;
+
+        // Unknown names fall back to NONE
+        public static Level parse(String name) {
+            try {
+                return Level.valueOf(name.toUpperCase(Locale.US));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                return NONE;
+            }
+        }
+    }
+
+    private final Level level;
+    private final double bodySampleRate;
+    private final long maxBodyBytes;
+    private final ThreadPoolExecutor logExecutor = new ThreadPoolExecutor(
+            1, 1, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(MAX_PENDING),
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    /**
+     * @param bodySampleRate share of requests, 0 to 1, whose bodies are logged at BODY level
+     * @param maxBodyBytes   most bytes of a body that are copied for the log
+     */
+    public NetworkLogger(Level level, double bodySampleRate, long maxBodyBytes) {
+        this.level = level;
+        this.bodySampleRate = bodySampleRate;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (level == Level.NONE) {
+            return chain.proceed(request);
+        }
+
+        boolean logHeaders = level.compareTo(Level.HEADERS) >= 0;
+        boolean logBodies = level == Level.BODY
+                && ThreadLocalRandom.current().nextDouble() < bodySampleRate;
+        String requestBody = logBodies ? captureRequestBody(request.body()) : null;
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            emit(() -> "<-- HTTP FAILED " + request.method() + " " + request.url()
+                    + " (" + tookMs + "ms): " + e);
+            throw e;
+        }
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Peeked bytes are a copy; the caller still reads the whole body
+        ResponseBody peeked = null;
+        if (logBodies && response.body() != null) {
+            try {
+                peeked = response.peekBody(maxBodyBytes);
+            } catch (IOException e) {
+                // The caller will see the same error when it reads the body
+            }
+        }
+        long contentLength = response.body() != null ? response.body().contentLength() : -1;
+
+        Headers requestHeaders = logHeaders ? request.headers() : null;
+        Headers responseHeaders = logHeaders ? response.headers() : null;
+        int code = response.code();
+        boolean fromCache = response.networkResponse() == null;
+
+        ResponseBody bodyCopy = peeked;
+        emit(() -> {
+            StringBuilder line = new StringBuilder()
+                    .append("--> ").append(request.method()).append(' ').append(request.url());
+            appendHeaders(line, requestHeaders);
+            if (requestBody != null) {
+                line.append('\n').append(requestBody);
+            }
+            line.append("\n<-- ").append(code).append(' ').append(request.url())
+                    .append(" (").append(tookMs).append("ms, ")
+                    .append(contentLength >= 0 ? contentLength + "-byte body" : "unknown-length body")
+                    .append(fromCache ? ", cache" : "").append(')');
+            appendHeaders(line, responseHeaders);
+            if (bodyCopy != null) {
+                line.append('\n').append(describeBody(bodyCopy, contentLength));
+            }
+            return line.toString();
+        });
+        return response;
+    }
+
+    // Copy at most maxBodyBytes of a request body; bodies that can only be written once are skipped
+    private String captureRequestBody(RequestBody body) {
+        if (body == null) {
+            return null;
+        }
+        if (body.isOneShot() || body.isDuplex()) {
+            return "(one-shot body omitted)";
+        }
+        try {
+            long length = body.contentLength();
+            if (length < 0 || length > maxBodyBytes) {
+                return "(" + (length < 0 ? "unknown-length" : length + "-byte") + " body omitted)";
+            }
+            Buffer buffer = new Buffer();
+            body.writeTo(buffer);
+            return buffer.readString(charsetOf(body.contentType()));
+        } catch (IOException e) {
+            return "(body unreadable: " + e.getMessage() + ")";
+        }
+    }
+
+    private String describeBody(ResponseBody peeked, long contentLength) {
+        boolean truncated = contentLength > maxBodyBytes
+                || (contentLength < 0 && peeked.contentLength() >= maxBodyBytes);
+        try {
+            String text = peeked.string();
+            return truncated ? text + "... (truncated)" : text;
+        } catch (IOException e) {
+            return "(body unreadable: " + e.getMessage() + ")";
+        }
+    }
+
+    private static void appendHeaders(StringBuilder line, Headers headers) {
+        if (headers == null) {
+            return;
+        }
+        for (int i = 0; i < headers.size(); i++) {
+            String name = headers.name(i);
+            line.append('\n').append(name).append(": ")
+                    .append("Authorization".equalsIgnoreCase(name) ? "<redacted>" : headers.value(i));
+        }
+    }
+
+    private static Charset charsetOf(MediaType contentType) {
+        return contentType != null ? contentType.charset(StandardCharsets.UTF_8) : StandardCharsets.UTF_8;
+    }
+
+    // Format and write on the log thread
+    private void emit(Supplier<String> message) {
+        logExecutor.execute(() -> Log.d(TAG, message.get()));
+    }
+}
@@ -0,0 +1,357 @@
+package com.example.eventmanager.api;
+
+import com.example.eventmanager.utils.JsonCodec;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import retrofit2.Invocation;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.PATCH;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+
+/**
+ * Process-wide latency histograms per ApiService endpoint, to tell whether a slow
+ * screen is waiting on the network, the server or JSON parsing.
+ * An OkHttp EventListener records DNS, connect, time to first byte (request sent to
+ * response headers), body read and whole-call time; TimingConverterFactory adds the
+ * Gson parse time. Endpoints are named after their Retrofit annotation, e.g.
+ * "GET events/{event_id}/". Read with summary() or toJson(). Installed in debug
+ * builds only; release builds record nothing.
+ */
+public final class NetworkMetrics {
+
+    public enum Phase {
+        DNS("dns"),
+        CONNECT("connect"),
+        TTFB("ttfb"),
+        BODY("body"),
+        PARSE("parse"),
+        TOTAL("total");
+
+        final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    // Requests that did not come from ApiService, e.g. token refreshes
+    private static final String OTHER = "other";
+
+    private static final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private NetworkMetrics() {
+    }
+
+    // Install on the API client: new OkHttpClient.Builder().eventListenerFactory(...)
+    public static EventListener.Factory eventListenerFactory() {
+        return call -> new CallTimer(endpointOf(call.request()));
+    }
+
+    static void record(String endpoint, Phase phase, long nanos) {
+        endpoint(endpoint).histograms[phase.ordinal()].record(nanos);
+    }
+
+    // ==================== Endpoint names ====================
+
+    // "GET events/{event_id}/" from the ApiService method that made the request
+    static String endpointOf(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null) {
+            return OTHER;
+        }
+        String name = endpointOf(invocation.method().getAnnotations());
+        return name != null ? name : invocation.method().getName();
+    }
+
+    // Same name from a service method's annotations, as handed to converter factories
+    static String endpointOf(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof GET) return "GET " + ((GET) annotation).value();
+            if (annotation instanceof POST) return "POST " + ((POST) annotation).value();
+            if (annotation instanceof PUT) return "PUT " + ((PUT) annotation).value();
+            if (annotation instanceof PATCH) return "PATCH " + ((PATCH) annotation).value();
+            if (annotation instanceof DELETE) return "DELETE " + ((DELETE) annotation).value();
+        }
+        return null;
+    }
+
+    private static Endpoint endpoint(String name) {
+        Endpoint endpoint = endpoints.get(name);
+        if (endpoint == null) {
+            endpoint = new Endpoint();
+            Endpoint existing = endpoints.putIfAbsent(name, endpoint);
+            if (existing != null) {
+                endpoint = existing;
+            }
+        }
+        return endpoint;
+    }
+
+    // ==================== Export ====================
+
+    // Human-readable table for the debug dialog, endpoints in name order
+    public static String summary() {
+        Map<String, Endpoint> sorted = new TreeMap<>(endpoints);
+        if (sorted.isEmpty()) {
+            return "No requests recorded yet";
+        }
+        StringBuilder text = new StringBuilder("ms: p50 / p95 / p99 (count)");
+        for (Map.Entry<String, Endpoint> entry : sorted.entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            text.append("\n\n").append(entry.getKey())
+                    .append("\n  ").append(endpoint.calls()).append(" calls, ")
+                    .append(endpoint.failures()).append(" failed");
+            for (Phase phase : Phase.values()) {
+                Histogram histogram = endpoint.histograms[phase.ordinal()];
+                if (histogram.count() == 0) {
+                    continue;
+                }
+                text.append(String.format(Locale.US, "\n  %-7s %s / %s / %s (%d)", phase.label,
+                        millis(histogram.percentile(0.50)), millis(histogram.percentile(0.95)),
+                        millis(histogram.percentile(0.99)), histogram.count()));
+            }
+        }
+        return text.toString();
+    }
+
+    // Everything recorded, as JSON, for attaching to a bug report
+    public static String toJson() {
+        JsonObject root = new JsonObject();
+        JsonObject endpointsJson = new JsonObject();
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            JsonObject endpointJson = new JsonObject();
+            endpointJson.addProperty("calls", endpoint.calls());
+            endpointJson.addProperty("failures", endpoint.failures());
+            for (Phase phase : Phase.values()) {
+                Histogram histogram = endpoint.histograms[phase.ordinal()];
+                if (histogram.count() == 0) {
+                    continue;
+                }
+                JsonObject phaseJson = new JsonObject();
+                phaseJson.addProperty("count", histogram.count());
+                phaseJson.addProperty("p50_ms", toMillis(histogram.percentile(0.50)));
+                phaseJson.addProperty("p95_ms", toMillis(histogram.percentile(0.95)));
+                phaseJson.addProperty("p99_ms", toMillis(histogram.percentile(0.99)));
+                phaseJson.addProperty("max_ms", toMillis(histogram.max()));
+                phaseJson.addProperty("mean_ms", toMillis(histogram.mean()));
+                endpointJson.add(phase.label, phaseJson);
+            }
+            endpointsJson.add(entry.getKey(), endpointJson);
+        }
+        root.add("endpoints", endpointsJson);
+        return JsonCodec.getInstance().toJson(root);
+    }
+
+    public static void reset() {
+        endpoints.clear();
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.US, "%.1f", nanos / 1_000_000.0);
+    }
+
+    // ==================== Storage ====================
+
+    private static final class Endpoint {
+        final Histogram[] histograms = new Histogram[Phase.values().length];
+
+        Endpoint() {
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new Histogram();
+            }
+        }
+
+        // Every finished call records a total, failed ones included
+        long calls() {
+            return histograms[Phase.TOTAL.ordinal()].count();
+        }
+
+        long failures() {
+            return histograms[Phase.TOTAL.ordinal()].failures();
+        }
+    }
+
+    /**
+     * Fixed exponential buckets from 0.1 ms to about 2 minutes, each 25% wider than the
+     * last, so memory stays constant and percentiles are within a bucket of the truth.
+     */
+    static final class Histogram {
+        private static final long FIRST_BOUND_NANOS = 100_000;
+        private static final double GROWTH = 1.25;
+        private static final long[] BOUNDS;
+
+        static {
+            long[] bounds = new long[64];
+            double bound = FIRST_BOUND_NANOS;
+            for (int i = 0; i < bounds.length; i++) {
+                bounds[i] = (long) bound;
+                bound *= GROWTH;
+            }
+            BOUNDS = bounds;
+        }
+
+        // Last bucket catches everything above the highest bound
+        private final long[] counts = new long[BOUNDS.length + 1];
+        private long count;
+        private long sum;
+        private long max;
+        private long failures;
+
+        synchronized void record(long nanos) {
+            int bucket = 0;
+            while (bucket < BOUNDS.length && nanos > BOUNDS[bucket]) {
+                bucket++;
+            }
+            counts[bucket]++;
+            count++;
+            sum += nanos;
+            max = Math.max(max, nanos);
+        }
+
+        synchronized void recordFailure(long nanos) {
+            record(nanos);
+            failures++;
+        }
+
+        synchronized long failures() {
+            return failures;
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        synchronized long max() {
+            return max;
+        }
+
+        synchronized long mean() {
+            return count > 0 ? sum / count : 0;
+        }
+
+        // Upper bound of the bucket holding the given rank, never above the largest sample
+        synchronized long percentile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return i < BOUNDS.length ? Math.min(BOUNDS[i], max) : max;
+                }
+            }
+            return max;
+        }
+    }
+
+    // ==================== Listener ====================
+
+    // Timestamps of one call; OkHttp delivers a call's events one at a time
+    private static final class CallTimer extends EventListener {
+        private final String endpoint;
+        private long callStart;
+        private long dnsStart;
+        private long connectStart;
+        private long requestSent;
+        private long bodyStart;
+
+        CallTimer(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public void callStart(Call call) {
+            callStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+            record(endpoint, Phase.DNS, System.nanoTime() - dnsStart);
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            record(endpoint, Phase.CONNECT, System.nanoTime() - connectStart);
+        }
+
+        @Override
+        public void requestHeadersEnd(Call call, Request request) {
+            requestSent = System.nanoTime();
+        }
+
+        @Override
+        public void requestBodyEnd(Call call, long byteCount) {
+            requestSent = System.nanoTime();
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            if (requestSent != 0) {
+                record(endpoint, Phase.TTFB, System.nanoTime() - requestSent);
+                requestSent = 0;
+            }
+        }
+
+        @Override
+        public void responseBodyStart(Call call) {
+            bodyStart = System.nanoTime();
+        }
+
+        @Override
+        public void responseBodyEnd(Call call, long byteCount) {
+            if (bodyStart != 0) {
+                record(endpoint, Phase.BODY, System.nanoTime() - bodyStart);
+                bodyStart = 0;
+            }
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            record(endpoint, Phase.TOTAL, System.nanoTime() - callStart);
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            endpoint(endpoint).histograms[Phase.TOTAL.ordinal()].recordFailure(System.nanoTime() - callStart);
+        }
+
+        @Override
+        public void responseFailed(Call call, IOException ioe) {
+            bodyStart = 0;
+        }
+    }
+}
@@ -0,0 +1,1025 @@
+package com.example.eventmanager.api;
+
+import com.example.eventmanager.api.response.AdminDashboardResponse;
+import com.example.eventmanager.api.response.AdminEventsPageResponse;
+import com.example.eventmanager.api.response.AdminRegistrationsPageResponse;
+import com.example.eventmanager.api.response.AdminStatsResponse;
+import com.example.eventmanager.api.response.AdminUsersPageResponse;
+import com.example.eventmanager.api.response.AuthResponse;
+import com.example.eventmanager.api.response.BaseResponse;
+import com.example.eventmanager.api.response.BatchResponse;
+import com.example.eventmanager.api.response.DashboardResponse;
+import com.example.eventmanager.api.response.EventData;
+import com.example.eventmanager.api.response.EventDetailResponse;
+import com.example.eventmanager.api.response.EventListResponse;
+import com.example.eventmanager.api.response.ForgotPasswordResponse;
+import com.example.eventmanager.api.response.MyRegistrationsResponse;
+import com.example.eventmanager.api.response.MyRemindersResponse;
+import com.example.eventmanager.api.response.ProfileResponse;
+import com.example.eventmanager.api.response.RegistrationData;
+import com.example.eventmanager.api.response.RegistrationResponse;
+import com.example.eventmanager.api.response.ReminderData;
+import com.example.eventmanager.api.response.ReminderResponse;
+import com.example.eventmanager.api.response.TokenData;
+import com.example.eventmanager.api.response.UserData;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-written Gson adapters for every model in api.response.
+ *
+ * Gson's default binding reflects over each class the first time it is seen and
+ * boxes every primitive on the way through Field.set, which shows up as first-list
+ * latency on slow devices. These adapters read and write the same JSON names as the
+ * @SerializedName annotations, straight through the models' setters and getters.
+ * Keep them in step with the models when a field is added.
+ */
+public class ResponseTypeAdapterFactory implements TypeAdapterFactory {
+
+    private static final Map<Class<?>, TypeAdapter<?>> adapters = new HashMap<>();
+
+    static {
+        adapters.put(BaseResponse.class, BaseResponseAdapter.INSTANCE);
+        adapters.put(AuthResponse.class, AuthResponseAdapter.INSTANCE);
+        adapters.put(ProfileResponse.class, ProfileResponseAdapter.INSTANCE);
+        adapters.put(ForgotPasswordResponse.class, ForgotPasswordResponseAdapter.INSTANCE);
+        adapters.put(EventListResponse.class, EventListResponseAdapter.INSTANCE);
+        adapters.put(EventDetailResponse.class, EventDetailResponseAdapter.INSTANCE);
+        adapters.put(RegistrationResponse.class, RegistrationResponseAdapter.INSTANCE);
+        adapters.put(MyRegistrationsResponse.class, MyRegistrationsResponseAdapter.INSTANCE);
+        adapters.put(ReminderResponse.class, ReminderResponseAdapter.INSTANCE);
+        adapters.put(MyRemindersResponse.class, MyRemindersResponseAdapter.INSTANCE);
+        adapters.put(BatchResponse.class, BatchResponseAdapter.INSTANCE);
+        adapters.put(BatchResponse.ItemResult.class, BatchItemResultAdapter.INSTANCE);
+        adapters.put(DashboardResponse.class, DashboardResponseAdapter.INSTANCE);
+        adapters.put(DashboardResponse.DashboardStats.class, DashboardStatsAdapter.INSTANCE);
+        adapters.put(AdminDashboardResponse.class, AdminDashboardResponseAdapter.INSTANCE);
+        adapters.put(AdminDashboardResponse.DashboardStats.class, AdminStatsAdapter.INSTANCE);
+        adapters.put(AdminStatsResponse.class, AdminStatsResponseAdapter.INSTANCE);
+        adapters.put(AdminEventsPageResponse.class, AdminEventsPageResponseAdapter.INSTANCE);
+        adapters.put(AdminUsersPageResponse.class, AdminUsersPageResponseAdapter.INSTANCE);
+        adapters.put(AdminRegistrationsPageResponse.class, AdminRegistrationsPageResponseAdapter.INSTANCE);
+        adapters.put(AdminDashboardResponse.EventRegistrationDetail.class, EventRegistrationDetailAdapter.INSTANCE);
+        adapters.put(AdminDashboardResponse.UserRegistrationDetail.class, UserRegistrationDetailAdapter.INSTANCE);
+        adapters.put(AdminDashboardResponse.RegistrationData.class, AdminRegistrationAdapter.INSTANCE);
+        adapters.put(AdminDashboardResponse.TopEvent.class, TopEventAdapter.INSTANCE);
+        adapters.put(EventData.class, EventDataAdapter.INSTANCE);
+        adapters.put(RegistrationData.class, RegistrationDataAdapter.INSTANCE);
+        adapters.put(ReminderData.class, ReminderDataAdapter.INSTANCE);
+        adapters.put(UserData.class, UserDataAdapter.INSTANCE);
+        adapters.put(TokenData.class, TokenDataAdapter.INSTANCE);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        // Exact class match only, so subclasses the factory does not know about keep reflection
+        return (TypeAdapter<T>) adapters.get(type.getRawType());
+    }
+
+    // ==================== Base adapters ====================
+
+    /**
+     * Reads an object field by field; unknown names are skipped like Gson does.
+     */
+    abstract static class ModelAdapter<T> extends TypeAdapter<T> {
+
+        abstract T newInstance();
+
+        // Return false for names the model does not know
+        abstract boolean readField(JsonReader in, String name, T target) throws IOException;
+
+        abstract void writeFields(JsonWriter out, T value) throws IOException;
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            T target = newInstance();
+            in.beginObject();
+            while (in.hasNext()) {
+                if (!readField(in, in.nextName(), target)) {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return target;
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeFields(out, value);
+            out.endObject();
+        }
+    }
+
+    /**
+     * Adds the success / message envelope shared by every BaseResponse.
+     */
+    abstract static class EnvelopeAdapter<T extends BaseResponse> extends ModelAdapter<T> {
+
+        abstract boolean readPayload(JsonReader in, String name, T target) throws IOException;
+
+        abstract void writePayload(JsonWriter out, T value) throws IOException;
+
+        @Override
+        final boolean readField(JsonReader in, String name, T target) throws IOException {
+            switch (name) {
+                case "success": target.setSuccess(readBoolean(in)); return true;
+                case "message": target.setMessage(readString(in)); return true;
+                default: return readPayload(in, name, target);
+            }
+        }
+
+        @Override
+        final void writeFields(JsonWriter out, T value) throws IOException {
+            out.name("success").value(value.isSuccess());
+            out.name("message").value(value.getMessage());
+            writePayload(out, value);
+        }
+    }
+
+    // ==================== Envelopes ====================
+
+    static final class BaseResponseAdapter extends EnvelopeAdapter<BaseResponse> {
+        static final BaseResponseAdapter INSTANCE = new BaseResponseAdapter();
+
+        @Override BaseResponse newInstance() { return new BaseResponse(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, BaseResponse target) {
+            return false;
+        }
+
+        @Override
+        void writePayload(JsonWriter out, BaseResponse value) {
+        }
+    }
+
+    static final class AuthResponseAdapter extends EnvelopeAdapter<AuthResponse> {
+        static final AuthResponseAdapter INSTANCE = new AuthResponseAdapter();
+
+        @Override AuthResponse newInstance() { return new AuthResponse(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, AuthResponse target) throws IOException {
+            switch (name) {
+                case "user": target.setUser(UserDataAdapter.INSTANCE.read(in)); return true;
+                case "tokens": target.setTokens(TokenDataAdapter.INSTANCE.read(in)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writePayload(JsonWriter out, AuthResponse value) throws IOException {
+            UserDataAdapter.INSTANCE.write(out.name("user"), value.getUser());
+            TokenDataAdapter.INSTANCE.write(out.name("tokens"), value.getTokens());
+        }
+    }
+
+    static final class ProfileResponseAdapter extends EnvelopeAdapter<ProfileResponse> {
+        static final ProfileResponseAdapter INSTANCE = new ProfileResponseAdapter();
+
+        @Override ProfileResponse newInstance() { return new ProfileResponse(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, ProfileResponse target) throws IOException {
+            if ("user".equals(name)) {
+                target.setUser(UserDataAdapter.INSTANCE.read(in));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        void writePayload(JsonWriter out, ProfileResponse value) throws IOException {
+            UserDataAdapter.INSTANCE.write(out.name("user"), value.getUser());
+        }
+    }
+
+    static final class ForgotPasswordResponseAdapter extends EnvelopeAdapter<ForgotPasswordResponse> {
+        static final ForgotPasswordResponseAdapter INSTANCE = new ForgotPasswordResponseAdapter();
+
+        @Override ForgotPasswordResponse newInstance() { return new ForgotPasswordResponse(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, ForgotPasswordResponse target) throws IOException {
+            if ("otp".equals(name)) {
+                target.setOtp(readString(in));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        void writePayload(JsonWriter out, ForgotPasswordResponse value) throws IOException {
+            out.name("otp").value(value.getOtp());
+        }
+    }
+
+    static final class EventListResponseAdapter extends EnvelopeAdapter<EventListResponse> {
+        static final EventListResponseAdapter INSTANCE = new EventListResponseAdapter();
+
+        @Override EventListResponse newInstance() { return new EventListResponse(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, EventListResponse target) throws IOException {
+            switch (name) {
+                case "count": target.setCount(readInt(in)); return true;
+                case "events": target.setEvents(readList(in, EventDataAdapter.INSTANCE)); return true;
+                case "deleted": target.setDeleted(readIntList(in)); return true;
+                case "synced_at": target.setSyncedAt(readString(in)); return true;
+                case "next_cursor": target.setNextCursor(readString(in)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writePayload(JsonWriter out, EventListResponse value) throws IOException {
+            out.name("count").value(value.getCount());
+            writeList(out.name("events"), value.getEvents(), EventDataAdapter.INSTANCE);
+            writeIntList(out.name("deleted"), value.getDeleted());
+            out.name("synced_at").value(value.getSyncedAt());
+            out.name("next_cursor").value(value.getNextCursor());
+        }
+    }
+
+    static final class EventDetailResponseAdapter extends EnvelopeAdapter<EventDetailResponse> {
+        static final EventDetailResponseAdapter INSTANCE = new EventDetailResponseAdapter();
+
+        @Override EventDetailResponse newInstance() { return new EventDetailResponse(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, EventDetailResponse target) throws IOException {
+            if ("event".equals(name)) {
+                target.setEvent(EventDataAdapter.INSTANCE.read(in));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        void writePayload(JsonWriter out, EventDetailResponse value) throws IOException {
+            EventDataAdapter.INSTANCE.write(out.name("event"), value.getEvent());
+        }
+    }
+
+    static final class RegistrationResponseAdapter extends EnvelopeAdapter<RegistrationResponse> {
+        static final RegistrationResponseAdapter INSTANCE = new RegistrationResponseAdapter();
+
+        @Override RegistrationResponse newInstance() { return new RegistrationResponse(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, RegistrationResponse target) throws IOException {
+            if ("registration".equals(name)) {
+                target.setRegistration(RegistrationDataAdapter.INSTANCE.read(in));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        void writePayload(JsonWriter out, RegistrationResponse value) throws IOException {
+            RegistrationDataAdapter.INSTANCE.write(out.name("registration"), value.getRegistration());
+        }
+    }
+
+    static final class MyRegistrationsResponseAdapter extends EnvelopeAdapter<MyRegistrationsResponse> {
+        static final MyRegistrationsResponseAdapter INSTANCE = new MyRegistrationsResponseAdapter();
+
+        @Override MyRegistrationsResponse newInstance() { return new MyRegistrationsResponse(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, MyRegistrationsResponse target) throws IOException {
+            switch (name) {
+                case "count": target.setCount(readInt(in)); return true;
+                case "registrations": target.setRegistrations(readList(in, RegistrationDataAdapter.INSTANCE)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writePayload(JsonWriter out, MyRegistrationsResponse value) throws IOException {
+            out.name("count").value(value.getCount());
+            writeList(out.name("registrations"), value.getRegistrations(), RegistrationDataAdapter.INSTANCE);
+        }
+    }
+
+    static final class ReminderResponseAdapter extends EnvelopeAdapter<ReminderResponse> {
+        static final ReminderResponseAdapter INSTANCE = new ReminderResponseAdapter();
+
+        @Override ReminderResponse newInstance() { return new ReminderResponse(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, ReminderResponse target) throws IOException {
+            if ("reminder".equals(name)) {
+                target.setReminder(ReminderDataAdapter.INSTANCE.read(in));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        void writePayload(JsonWriter out, ReminderResponse value) throws IOException {
+            ReminderDataAdapter.INSTANCE.write(out.name("reminder"), value.getReminder());
+        }
+    }
+
+    static final class MyRemindersResponseAdapter extends EnvelopeAdapter<MyRemindersResponse> {
+        static final MyRemindersResponseAdapter INSTANCE = new MyRemindersResponseAdapter();
+
+        @Override MyRemindersResponse newInstance() { return new MyRemindersResponse(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, MyRemindersResponse target) throws IOException {
+            switch (name) {
+                case "count": target.setCount(readInt(in)); return true;
+                case "reminders": target.setReminders(readList(in, ReminderDataAdapter.INSTANCE)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writePayload(JsonWriter out, MyRemindersResponse value) throws IOException {
+            out.name("count").value(value.getCount());
+            writeList(out.name("reminders"), value.getReminders(), ReminderDataAdapter.INSTANCE);
+        }
+    }
+
+    static final class BatchResponseAdapter extends EnvelopeAdapter<BatchResponse> {
+        static final BatchResponseAdapter INSTANCE = new BatchResponseAdapter();
+
+        @Override BatchResponse newInstance() { return new BatchResponse(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, BatchResponse target) throws IOException {
+            if ("results".equals(name)) {
+                target.setResults(readList(in, BatchItemResultAdapter.INSTANCE));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        void writePayload(JsonWriter out, BatchResponse value) throws IOException {
+            writeList(out.name("results"), value.getResults(), BatchItemResultAdapter.INSTANCE);
+        }
+    }
+
+    static final class BatchItemResultAdapter extends EnvelopeAdapter<BatchResponse.ItemResult> {
+        static final BatchItemResultAdapter INSTANCE = new BatchItemResultAdapter();
+
+        @Override BatchResponse.ItemResult newInstance() { return new BatchResponse.ItemResult(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, BatchResponse.ItemResult target) throws IOException {
+            switch (name) {
+                case "event_id": target.setEventId(readInt(in)); return true;
+                case "status": target.setStatus(readInt(in)); return true;
+                case "registration": target.setRegistration(RegistrationDataAdapter.INSTANCE.read(in)); return true;
+                case "reminder": target.setReminder(ReminderDataAdapter.INSTANCE.read(in)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writePayload(JsonWriter out, BatchResponse.ItemResult value) throws IOException {
+            out.name("event_id").value(value.getEventId());
+            out.name("status").value(value.getStatus());
+            RegistrationDataAdapter.INSTANCE.write(out.name("registration"), value.getRegistration());
+            ReminderDataAdapter.INSTANCE.write(out.name("reminder"), value.getReminder());
+        }
+    }
+
+    static final class DashboardResponseAdapter extends EnvelopeAdapter<DashboardResponse> {
+        static final DashboardResponseAdapter INSTANCE = new DashboardResponseAdapter();
+
+        @Override DashboardResponse newInstance() { return new DashboardResponse(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, DashboardResponse target) throws IOException {
+            switch (name) {
+                case "stats": target.setStats(DashboardStatsAdapter.INSTANCE.read(in)); return true;
+                case "user": target.setUser(UserDataAdapter.INSTANCE.read(in)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writePayload(JsonWriter out, DashboardResponse value) throws IOException {
+            DashboardStatsAdapter.INSTANCE.write(out.name("stats"), value.getStats());
+            UserDataAdapter.INSTANCE.write(out.name("user"), value.getUser());
+        }
+    }
+
+    static final class AdminDashboardResponseAdapter extends EnvelopeAdapter<AdminDashboardResponse> {
+        static final AdminDashboardResponseAdapter INSTANCE = new AdminDashboardResponseAdapter();
+
+        @Override AdminDashboardResponse newInstance() { return new AdminDashboardResponse(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, AdminDashboardResponse target) throws IOException {
+            switch (name) {
+                case "stats":
+                    target.setStats(AdminStatsAdapter.INSTANCE.read(in));
+                    return true;
+                case "event_registration_details":
+                    target.setEventRegistrationDetails(readList(in, EventRegistrationDetailAdapter.INSTANCE));
+                    return true;
+                case "user_registration_details":
+                    target.setUserRegistrationDetails(readList(in, UserRegistrationDetailAdapter.INSTANCE));
+                    return true;
+                case "top_events":
+                    target.setTopEvents(readList(in, TopEventAdapter.INSTANCE));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writePayload(JsonWriter out, AdminDashboardResponse value) throws IOException {
+            AdminStatsAdapter.INSTANCE.write(out.name("stats"), value.getStats());
+            writeList(out.name("event_registration_details"), value.getEventRegistrationDetails(),
+                    EventRegistrationDetailAdapter.INSTANCE);
+            writeList(out.name("user_registration_details"), value.getUserRegistrationDetails(),
+                    UserRegistrationDetailAdapter.INSTANCE);
+            writeList(out.name("top_events"), value.getTopEvents(), TopEventAdapter.INSTANCE);
+        }
+    }
+
+    static final class AdminStatsResponseAdapter extends EnvelopeAdapter<AdminStatsResponse> {
+        static final AdminStatsResponseAdapter INSTANCE = new AdminStatsResponseAdapter();
+
+        @Override AdminStatsResponse newInstance() { return new AdminStatsResponse(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, AdminStatsResponse target) throws IOException {
+            if (name.equals("stats")) {
+                target.setStats(AdminStatsAdapter.INSTANCE.read(in));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        void writePayload(JsonWriter out, AdminStatsResponse value) throws IOException {
+            AdminStatsAdapter.INSTANCE.write(out.name("stats"), value.getStats());
+        }
+    }
+
+    static final class AdminEventsPageResponseAdapter extends EnvelopeAdapter<AdminEventsPageResponse> {
+        static final AdminEventsPageResponseAdapter INSTANCE = new AdminEventsPageResponseAdapter();
+
+        @Override AdminEventsPageResponse newInstance() { return new AdminEventsPageResponse(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, AdminEventsPageResponse target) throws IOException {
+            switch (name) {
+                case "events": target.setEvents(readList(in, EventRegistrationDetailAdapter.INSTANCE)); return true;
+                case "next_cursor": target.setNextCursor(readString(in)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writePayload(JsonWriter out, AdminEventsPageResponse value) throws IOException {
+            writeList(out.name("events"), value.getEvents(), EventRegistrationDetailAdapter.INSTANCE);
+            out.name("next_cursor").value(value.getNextCursor());
+        }
+    }
+
+    static final class AdminUsersPageResponseAdapter extends EnvelopeAdapter<AdminUsersPageResponse> {
+        static final AdminUsersPageResponseAdapter INSTANCE = new AdminUsersPageResponseAdapter();
+
+        @Override AdminUsersPageResponse newInstance() { return new AdminUsersPageResponse(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, AdminUsersPageResponse target) throws IOException {
+            switch (name) {
+                case "users": target.setUsers(readList(in, UserRegistrationDetailAdapter.INSTANCE)); return true;
+                case "next_cursor": target.setNextCursor(readString(in)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writePayload(JsonWriter out, AdminUsersPageResponse value) throws IOException {
+            writeList(out.name("users"), value.getUsers(), UserRegistrationDetailAdapter.INSTANCE);
+            out.name("next_cursor").value(value.getNextCursor());
+        }
+    }
+
+    static final class AdminRegistrationsPageResponseAdapter extends EnvelopeAdapter<AdminRegistrationsPageResponse> {
+        static final AdminRegistrationsPageResponseAdapter INSTANCE = new AdminRegistrationsPageResponseAdapter();
+
+        @Override AdminRegistrationsPageResponse newInstance() { return new AdminRegistrationsPageResponse(); }
+
+        @Override
+        boolean readPayload(JsonReader in, String name, AdminRegistrationsPageResponse target) throws IOException {
+            switch (name) {
+                case "registrations": target.setRegistrations(readList(in, AdminRegistrationAdapter.INSTANCE)); return true;
+                case "next_cursor": target.setNextCursor(readString(in)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writePayload(JsonWriter out, AdminRegistrationsPageResponse value) throws IOException {
+            writeList(out.name("registrations"), value.getRegistrations(), AdminRegistrationAdapter.INSTANCE);
+            out.name("next_cursor").value(value.getNextCursor());
+        }
+    }
+
+    // ==================== Models ====================
+
+    static final class EventDataAdapter extends ModelAdapter<EventData> {
+        static final EventDataAdapter INSTANCE = new EventDataAdapter();
+
+        @Override EventData newInstance() { return new EventData(); }
+
+        @Override
+        boolean readField(JsonReader in, String name, EventData target) throws IOException {
+            switch (name) {
+                case "id": target.setId(readInt(in)); return true;
+                case "title": target.setTitle(readString(in)); return true;
+                case "description": target.setDescription(readString(in)); return true;
+                case "date": target.setDate(readString(in)); return true;
+                case "time": target.setTime(readString(in)); return true;
+                case "location": target.setLocation(readString(in)); return true;
+                case "category": target.setCategory(readString(in)); return true;
+                case "created_by": target.setCreatedBy(readInt(in)); return true;
+                case "created_by_name": target.setCreatedByName(readString(in)); return true;
+                case "max_participants": target.setMaxParticipants(readInt(in)); return true;
+                case "registered_count": target.setRegisteredCount(readInt(in)); return true;
+                case "is_full": target.setFull(readBoolean(in)); return true;
+                case "is_active": target.setActive(readBoolean(in)); return true;
+                case "is_registered": target.setRegistered(readBoolean(in)); return true;
+                case "has_reminder": target.setHasReminder(readBoolean(in)); return true;
+                case "created_at": target.setCreatedAt(readString(in)); return true;
+                case "updated_at": target.setUpdatedAt(readString(in)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, EventData value) throws IOException {
+            out.name("id").value(value.getId());
+            out.name("title").value(value.getTitle());
+            out.name("description").value(value.getDescription());
+            out.name("date").value(value.getDate());
+            out.name("time").value(value.getTime());
+            out.name("location").value(value.getLocation());
+            out.name("category").value(value.getCategory());
+            out.name("created_by").value(value.getCreatedBy());
+            out.name("created_by_name").value(value.getCreatedByName());
+            out.name("max_participants").value(value.getMaxParticipants());
+            out.name("registered_count").value(value.getRegisteredCount());
+            out.name("is_full").value(value.isFull());
+            out.name("is_active").value(value.isActive());
+            out.name("is_registered").value(value.isRegistered());
+            out.name("has_reminder").value(value.hasReminder());
+            out.name("created_at").value(value.getCreatedAt());
+            out.name("updated_at").value(value.getUpdatedAt());
+        }
+    }
+
+    static final class RegistrationDataAdapter extends ModelAdapter<RegistrationData> {
+        static final RegistrationDataAdapter INSTANCE = new RegistrationDataAdapter();
+
+        @Override RegistrationData newInstance() { return new RegistrationData(); }
+
+        @Override
+        boolean readField(JsonReader in, String name, RegistrationData target) throws IOException {
+            switch (name) {
+                case "id": target.setId(readInt(in)); return true;
+                case "user": target.setUser(readInt(in)); return true;
+                case "event": target.setEvent(readInt(in)); return true;
+                case "event_title": target.setEventTitle(readString(in)); return true;
+                case "event_date": target.setEventDate(readString(in)); return true;
+                case "event_time": target.setEventTime(readString(in)); return true;
+                case "event_location": target.setEventLocation(readString(in)); return true;
+                case "user_name": target.setUserName(readString(in)); return true;
+                case "registered_at": target.setRegisteredAt(readString(in)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, RegistrationData value) throws IOException {
+            out.name("id").value(value.getId());
+            out.name("user").value(value.getUser());
+            out.name("event").value(value.getEvent());
+            out.name("event_title").value(value.getEventTitle());
+            out.name("event_date").value(value.getEventDate());
+            out.name("event_time").value(value.getEventTime());
+            out.name("event_location").value(value.getEventLocation());
+            out.name("user_name").value(value.getUserName());
+            out.name("registered_at").value(value.getRegisteredAt());
+        }
+    }
+
+    static final class ReminderDataAdapter extends ModelAdapter<ReminderData> {
+        static final ReminderDataAdapter INSTANCE = new ReminderDataAdapter();
+
+        @Override ReminderData newInstance() { return new ReminderData(); }
+
+        @Override
+        boolean readField(JsonReader in, String name, ReminderData target) throws IOException {
+            switch (name) {
+                case "id": target.setId(readInt(in)); return true;
+                case "user": target.setUser(readInt(in)); return true;
+                case "event": target.setEvent(readInt(in)); return true;
+                case "event_title": target.setEventTitle(readString(in)); return true;
+                case "event_date": target.setEventDate(readString(in)); return true;
+                case "event_time": target.setEventTime(readString(in)); return true;
+                case "remind_at": target.setRemindAt(readString(in)); return true;
+                case "is_sent": target.setSent(readBoolean(in)); return true;
+                case "created_at": target.setCreatedAt(readString(in)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, ReminderData value) throws IOException {
+            out.name("id").value(value.getId());
+            out.name("user").value(value.getUser());
+            out.name("event").value(value.getEvent());
+            out.name("event_title").value(value.getEventTitle());
+            out.name("event_date").value(value.getEventDate());
+            out.name("event_time").value(value.getEventTime());
+            out.name("remind_at").value(value.getRemindAt());
+            out.name("is_sent").value(value.isSent());
+            out.name("created_at").value(value.getCreatedAt());
+        }
+    }
+
+    static final class UserDataAdapter extends ModelAdapter<UserData> {
+        static final UserDataAdapter INSTANCE = new UserDataAdapter();
+
+        @Override UserData newInstance() { return new UserData(); }
+
+        @Override
+        boolean readField(JsonReader in, String name, UserData target) throws IOException {
+            switch (name) {
+                case "id": target.setId(readInt(in)); return true;
+                case "email": target.setEmail(readString(in)); return true;
+                case "name": target.setName(readString(in)); return true;
+                case "role": target.setRole(readString(in)); return true;
+                case "created_at": target.setCreatedAt(readString(in)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, UserData value) throws IOException {
+            out.name("id").value(value.getId());
+            out.name("email").value(value.getEmail());
+            out.name("name").value(value.getName());
+            out.name("role").value(value.getRole());
+            out.name("created_at").value(value.getCreatedAt());
+        }
+    }
+
+    static final class TokenDataAdapter extends ModelAdapter<TokenData> {
+        static final TokenDataAdapter INSTANCE = new TokenDataAdapter();
+
+        @Override TokenData newInstance() { return new TokenData(); }
+
+        @Override
+        boolean readField(JsonReader in, String name, TokenData target) throws IOException {
+            switch (name) {
+                case "access": target.setAccess(readString(in)); return true;
+                case "refresh": target.setRefresh(readString(in)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, TokenData value) throws IOException {
+            out.name("access").value(value.getAccess());
+            out.name("refresh").value(value.getRefresh());
+        }
+    }
+
+    static final class DashboardStatsAdapter extends ModelAdapter<DashboardResponse.DashboardStats> {
+        static final DashboardStatsAdapter INSTANCE = new DashboardStatsAdapter();
+
+        @Override DashboardResponse.DashboardStats newInstance() { return new DashboardResponse.DashboardStats(); }
+
+        @Override
+        boolean readField(JsonReader in, String name, DashboardResponse.DashboardStats target) throws IOException {
+            switch (name) {
+                case "total_events": target.setTotalEvents(readInt(in)); return true;
+                case "my_registrations": target.setMyRegistrations(readInt(in)); return true;
+                case "my_reminders": target.setMyReminders(readInt(in)); return true;
+                case "events_created": target.setEventsCreated(readInt(in)); return true;
+                case "total_users": target.setTotalUsers(readInt(in)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, DashboardResponse.DashboardStats value) throws IOException {
+            out.name("total_events").value(value.getTotalEvents());
+            out.name("my_registrations").value(value.getMyRegistrations());
+            out.name("my_reminders").value(value.getMyReminders());
+            out.name("events_created").value(value.getEventsCreated());
+            out.name("total_users").value(value.getTotalUsers());
+        }
+    }
+
+    static final class AdminStatsAdapter extends ModelAdapter<AdminDashboardResponse.DashboardStats> {
+        static final AdminStatsAdapter INSTANCE = new AdminStatsAdapter();
+
+        @Override AdminDashboardResponse.DashboardStats newInstance() { return new AdminDashboardResponse.DashboardStats(); }
+
+        @Override
+        boolean readField(JsonReader in, String name, AdminDashboardResponse.DashboardStats target) throws IOException {
+            switch (name) {
+                case "total_users": target.setTotalUsers(readInt(in)); return true;
+                case "total_students": target.setTotalStudents(readInt(in)); return true;
+                case "total_admins": target.setTotalAdmins(readInt(in)); return true;
+                case "total_events": target.setTotalEvents(readInt(in)); return true;
+                case "active_events": target.setActiveEvents(readInt(in)); return true;
+                case "total_registrations": target.setTotalRegistrations(readInt(in)); return true;
+                case "recent_registrations": target.setRecentRegistrations(readInt(in)); return true;
+                case "recent_events": target.setRecentEvents(readInt(in)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, AdminDashboardResponse.DashboardStats value) throws IOException {
+            out.name("total_users").value(value.getTotalUsers());
+            out.name("total_students").value(value.getTotalStudents());
+            out.name("total_admins").value(value.getTotalAdmins());
+            out.name("total_events").value(value.getTotalEvents());
+            out.name("active_events").value(value.getActiveEvents());
+            out.name("total_registrations").value(value.getTotalRegistrations());
+            out.name("recent_registrations").value(value.getRecentRegistrations());
+            out.name("recent_events").value(value.getRecentEvents());
+        }
+    }
+
+    static final class EventRegistrationDetailAdapter extends ModelAdapter<AdminDashboardResponse.EventRegistrationDetail> {
+        static final EventRegistrationDetailAdapter INSTANCE = new EventRegistrationDetailAdapter();
+
+        @Override
+        AdminDashboardResponse.EventRegistrationDetail newInstance() {
+            return new AdminDashboardResponse.EventRegistrationDetail();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, AdminDashboardResponse.EventRegistrationDetail target)
+                throws IOException {
+            switch (name) {
+                case "event_id": target.setEventId(readInt(in)); return true;
+                case "event_title": target.setEventTitle(readString(in)); return true;
+                case "event_date": target.setEventDate(readString(in)); return true;
+                case "event_time": target.setEventTime(readString(in)); return true;
+                case "event_location": target.setEventLocation(readString(in)); return true;
+                case "event_category": target.setEventCategory(readString(in)); return true;
+                case "registration_count": target.setRegistrationCount(readInt(in)); return true;
+                case "max_participants": target.setMaxParticipants(readInt(in)); return true;
+                case "is_full": target.setFull(readBoolean(in)); return true;
+                case "is_active": target.setActive(readBoolean(in)); return true;
+                case "registrations": target.setRegistrations(readList(in, AdminRegistrationAdapter.INSTANCE)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, AdminDashboardResponse.EventRegistrationDetail value) throws IOException {
+            out.name("event_id").value(value.getEventId());
+            out.name("event_title").value(value.getEventTitle());
+            out.name("event_date").value(value.getEventDate());
+            out.name("event_time").value(value.getEventTime());
+            out.name("event_location").value(value.getEventLocation());
+            out.name("event_category").value(value.getEventCategory());
+            out.name("registration_count").value(value.getRegistrationCount());
+            out.name("max_participants").value(value.getMaxParticipants());
+            out.name("is_full").value(value.isFull());
+            out.name("is_active").value(value.isActive());
+            writeList(out.name("registrations"), value.getRegistrations(), AdminRegistrationAdapter.INSTANCE);
+        }
+    }
+
+    static final class UserRegistrationDetailAdapter extends ModelAdapter<AdminDashboardResponse.UserRegistrationDetail> {
+        static final UserRegistrationDetailAdapter INSTANCE = new UserRegistrationDetailAdapter();
+
+        @Override
+        AdminDashboardResponse.UserRegistrationDetail newInstance() {
+            return new AdminDashboardResponse.UserRegistrationDetail();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, AdminDashboardResponse.UserRegistrationDetail target)
+                throws IOException {
+            switch (name) {
+                case "user_id": target.setUserId(readInt(in)); return true;
+                case "user_name": target.setUserName(readString(in)); return true;
+                case "user_email": target.setUserEmail(readString(in)); return true;
+                case "user_role": target.setUserRole(readString(in)); return true;
+                case "registration_count": target.setRegistrationCount(readInt(in)); return true;
+                case "registrations": target.setRegistrations(readList(in, AdminRegistrationAdapter.INSTANCE)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, AdminDashboardResponse.UserRegistrationDetail value) throws IOException {
+            out.name("user_id").value(value.getUserId());
+            out.name("user_name").value(value.getUserName());
+            out.name("user_email").value(value.getUserEmail());
+            out.name("user_role").value(value.getUserRole());
+            out.name("registration_count").value(value.getRegistrationCount());
+            writeList(out.name("registrations"), value.getRegistrations(), AdminRegistrationAdapter.INSTANCE);
+        }
+    }
+
+    static final class AdminRegistrationAdapter extends ModelAdapter<AdminDashboardResponse.RegistrationData> {
+        static final AdminRegistrationAdapter INSTANCE = new AdminRegistrationAdapter();
+
+        @Override
+        AdminDashboardResponse.RegistrationData newInstance() {
+            return new AdminDashboardResponse.RegistrationData();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, AdminDashboardResponse.RegistrationData target)
+                throws IOException {
+            switch (name) {
+                case "id": target.setId(readInt(in)); return true;
+                case "user_id": target.setUserId(readInt(in)); return true;
+                case "user_name": target.setUserName(readString(in)); return true;
+                case "user_email": target.setUserEmail(readString(in)); return true;
+                case "event_id": target.setEventId(readInt(in)); return true;
+                case "event_title": target.setEventTitle(readString(in)); return true;
+                case "event_date": target.setEventDate(readString(in)); return true;
+                case "event_time": target.setEventTime(readString(in)); return true;
+                case "event_location": target.setEventLocation(readString(in)); return true;
+                case "name": target.setName(readString(in)); return true;
+                case "email": target.setEmail(readString(in)); return true;
+                case "phone": target.setPhone(readString(in)); return true;
+                case "student_id": target.setStudentId(readString(in)); return true;
+                case "registered_at": target.setRegisteredAt(readString(in)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, AdminDashboardResponse.RegistrationData value) throws IOException {
+            out.name("id").value(value.getId());
+            out.name("user_id").value(value.getUserId());
+            out.name("user_name").value(value.getUserName());
+            out.name("user_email").value(value.getUserEmail());
+            out.name("event_id").value(value.getEventId());
+            out.name("event_title").value(value.getEventTitle());
+            out.name("event_date").value(value.getEventDate());
+            out.name("event_time").value(value.getEventTime());
+            out.name("event_location").value(value.getEventLocation());
+            out.name("name").value(value.getName());
+            out.name("email").value(value.getEmail());
+            out.name("phone").value(value.getPhone());
+            out.name("student_id").value(value.getStudentId());
+            out.name("registered_at").value(value.getRegisteredAt());
+        }
+    }
+
+    static final class TopEventAdapter extends ModelAdapter<AdminDashboardResponse.TopEvent> {
+        static final TopEventAdapter INSTANCE = new TopEventAdapter();
+
+        @Override AdminDashboardResponse.TopEvent newInstance() { return new AdminDashboardResponse.TopEvent(); }
+
+        @Override
+        boolean readField(JsonReader in, String name, AdminDashboardResponse.TopEvent target) throws IOException {
+            switch (name) {
+                case "event_id": target.setEventId(readInt(in)); return true;
+                case "event_title": target.setEventTitle(readString(in)); return true;
+                case "event_date": target.setEventDate(readString(in)); return true;
+                case "registration_count": target.setRegistrationCount(readInt(in)); return true;
+                default: return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, AdminDashboardResponse.TopEvent value) throws IOException {
+            out.name("event_id").value(value.getEventId());
+            out.name("event_title").value(value.getEventTitle());
+            out.name("event_date").value(value.getEventDate());
+            out.name("registration_count").value(value.getRegistrationCount());
+        }
+    }
+
+    // ==================== Value helpers ====================
+    // Same leniency as Gson's built-in adapters: null keeps the default,
+    // numbers and booleans may arrive quoted.
+
+    static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    static int readInt(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextInt();
+    }
+
+    static boolean readBoolean(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return false;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    static <T> List<T> readList(JsonReader in, TypeAdapter<T> itemAdapter) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<T> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            list.add(itemAdapter.read(in));
+        }
+        in.endArray();
+        return list;
+    }
+
+    static List<Integer> readIntList(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<Integer> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                list.add(null);
+            } else {
+                list.add(in.nextInt());
+            }
+        }
+        in.endArray();
+        return list;
+    }
+
+    static <T> void writeList(JsonWriter out, List<T> list, TypeAdapter<T> itemAdapter) throws IOException {
+        if (list == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (T item : list) {
+            itemAdapter.write(out, item);
+        }
+        out.endArray();
+    }
+
+    static void writeIntList(JsonWriter out, List<Integer> list) throws IOException {
+        if (list == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (Integer item : list) {
+            out.value(item);
+        }
+        out.endArray();
+    }
+}
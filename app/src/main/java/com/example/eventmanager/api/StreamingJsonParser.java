@@ -0,0 +1,215 @@
+package com.example.eventmanager.api;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Parses a list response body incrementally with a JsonReader instead of
+ * materialising the whole response object first.
+ *
+ * Items of each registered array are handed to the main thread in small batches
+ * while the rest of the body is still being read, so the first rows can render
+ * early and only one batch of parsed items is held by the parser at a time.
+ * Use with Retrofit methods annotated with @Streaming that return ResponseBody.
+ */
+public class StreamingJsonParser {
+
+    private static final String TAG = "StreamingJsonParser";
+
+    // Small first batch so the first screen of rows shows up quickly
+    private static final int FIRST_BATCH_SIZE = 10;
+    private static final int BATCH_SIZE = 50;
+
+    private static final Gson gson = ApiConfig.getGson();
+    private static final ExecutorService executor = Executors.newCachedThreadPool();
+
+    public interface ItemsListener<T> {
+        // Called on the main thread, in document order
+        void onItems(List<T> items);
+    }
+
+    public interface CompletionListener {
+        // Called on the main thread once the whole body has been read
+        void onComplete(Envelope envelope);
+
+        // code is the HTTP status, or -1 for network and parse failures
+        void onError(int code, String message);
+    }
+
+    /**
+     * Top-level scalar fields of the response (success, message, count, ...)
+     */
+    public static class Envelope {
+        private boolean success;
+        private String message;
+        private final Map<String, String> values = new HashMap<>();
+
+        public boolean isSuccess() { return success; }
+        public String getMessage() { return message; }
+
+        // Any other top-level string or number field, or null if absent
+        public String getString(String field) { return values.get(field); }
+    }
+
+    private final Map<String, FieldReader<?>> readers = new HashMap<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private volatile boolean canceled;
+    private Call<ResponseBody> call;
+
+    // Stream the items of a top-level array field
+    public <T> StreamingJsonParser onArray(String field, Class<T> itemType, ItemsListener<T> listener) {
+        readers.put(field, new FieldReader<>(gson.getAdapter(itemType), listener, true));
+        return this;
+    }
+
+    // Read a top-level object field, delivered as a single-item list
+    public <T> StreamingJsonParser onObject(String field, Class<T> type, ItemsListener<T> listener) {
+        readers.put(field, new FieldReader<>(gson.getAdapter(type), listener, false));
+        return this;
+    }
+
+    public void enqueue(Call<ResponseBody> call, CompletionListener completion) {
+        this.call = call;
+        executor.execute(() -> {
+            try {
+                Response<ResponseBody> response = call.execute();
+                if (!response.isSuccessful() || response.body() == null) {
+                    closeQuietly(response.errorBody());
+                    postError(completion, response.code(), "Request failed (" + response.code() + ")");
+                    return;
+                }
+
+                Envelope envelope;
+                ResponseBody body = response.body();
+                try {
+                    envelope = read(gson.newJsonReader(body.charStream()));
+                } finally {
+                    body.close();
+                }
+                mainHandler.post(() -> {
+                    if (!canceled) {
+                        completion.onComplete(envelope);
+                    }
+                });
+            } catch (IOException | RuntimeException e) {
+                if (!canceled) {
+                    Log.w(TAG, "Streaming request failed", e);
+                }
+                postError(completion, -1, "Network error: " + e.getMessage());
+            }
+        });
+    }
+
+    // Stop delivering callbacks and abort the request if it is still running
+    public void cancel() {
+        canceled = true;
+        if (call != null) {
+            call.cancel();
+        }
+    }
+
+    private Envelope read(JsonReader reader) throws IOException {
+        Envelope envelope = new Envelope();
+        reader.beginObject();
+        while (reader.hasNext() && !canceled) {
+            String name = reader.nextName();
+            FieldReader<?> fieldReader = readers.get(name);
+
+            if (fieldReader != null && reader.peek() != JsonToken.NULL) {
+                fieldReader.read(reader);
+            } else if ("success".equals(name) && reader.peek() == JsonToken.BOOLEAN) {
+                envelope.success = reader.nextBoolean();
+            } else if (reader.peek() == JsonToken.STRING || reader.peek() == JsonToken.NUMBER) {
+                String value = reader.nextString();
+                if ("message".equals(name)) {
+                    envelope.message = value;
+                } else {
+                    envelope.values.put(name, value);
+                }
+            } else {
+                reader.skipValue();
+            }
+        }
+        return envelope;
+    }
+
+    private void postError(CompletionListener completion, int code, String message) {
+        mainHandler.post(() -> {
+            if (!canceled) {
+                completion.onError(code, message);
+            }
+        });
+    }
+
+    private static void closeQuietly(ResponseBody body) {
+        if (body != null) {
+            body.close();
+        }
+    }
+
+    private class FieldReader<T> {
+        private final TypeAdapter<T> adapter;
+        private final ItemsListener<T> listener;
+        private final boolean isArray;
+
+        FieldReader(TypeAdapter<T> adapter, ItemsListener<T> listener, boolean isArray) {
+            this.adapter = adapter;
+            this.listener = listener;
+            this.isArray = isArray;
+        }
+
+        void read(JsonReader reader) throws IOException {
+            if (!isArray) {
+                List<T> single = new ArrayList<>(1);
+                single.add(adapter.read(reader));
+                post(single);
+                return;
+            }
+
+            int limit = FIRST_BATCH_SIZE;
+            List<T> batch = new ArrayList<>(limit);
+            reader.beginArray();
+            while (reader.hasNext() && !canceled) {
+                batch.add(adapter.read(reader));
+                if (batch.size() >= limit) {
+                    post(batch);
+                    limit = BATCH_SIZE;
+                    batch = new ArrayList<>(limit);
+                }
+            }
+            if (canceled) {
+                return;
+            }
+            reader.endArray();
+            if (!batch.isEmpty()) {
+                post(batch);
+            }
+        }
+
+        private void post(List<T> items) {
+            mainHandler.post(() -> {
+                if (!canceled) {
+                    listener.onItems(items);
+                }
+            });
+        }
+    }
+}
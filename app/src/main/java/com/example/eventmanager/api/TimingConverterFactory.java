@@ -0,0 +1,62 @@
+package com.example.eventmanager.api;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Times response parsing for NetworkMetrics. Register it before the Gson converter,
+ * in debug builds only. Gson still streams the body off the network; time spent
+ * waiting in the body's reads is subtracted, so PARSE does not count what the
+ * listener already records as BODY.
+ * Streamed ResponseBody methods never reach it.
+ */
+public final class TimingConverterFactory extends Converter.Factory {
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        Converter<ResponseBody, ?> next = retrofit.nextResponseBodyConverter(this, type, annotations);
+        String name = NetworkMetrics.endpointOf(annotations);
+        String endpoint = name != null ? name : type.toString();
+        return body -> {
+            ReadTimingSource source = new ReadTimingSource(body.source());
+            ResponseBody timed = ResponseBody.create(Okio.buffer(source), body.contentType(), body.contentLength());
+
+            long start = System.nanoTime();
+            try {
+                return next.convert(timed);
+            } finally {
+                long parseNanos = System.nanoTime() - start - source.readNanos;
+                NetworkMetrics.record(endpoint, NetworkMetrics.Phase.PARSE, Math.max(0, parseNanos));
+                body.close();
+            }
+        };
+    }
+
+    // Adds up the time spent inside read(), i.e. waiting on the network
+    private static final class ReadTimingSource extends ForwardingSource {
+        long readNanos;
+
+        ReadTimingSource(Source delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return super.read(sink, byteCount);
+            } finally {
+                readNanos += System.nanoTime() - start;
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.eventmanager.api;
+
+import android.util.Log;
+
+import com.example.eventmanager.api.request.RefreshTokenRequest;
+import com.example.eventmanager.api.response.TokenData;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+import okhttp3.Authenticator;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.Route;
+
+/**
+ * Answers a 401 by trading the refresh token for a new access token and replaying the
+ * request with it, so an expired access token does not send the user back to login.
+ * Refreshes are single-flight: concurrent 401s wait for one refresh and then replay
+ * with its token. When the refresh token is rejected too, the 401 is passed on to the
+ * caller as before, and that refresh token is not sent again.
+ */
+public class TokenAuthenticator implements Authenticator {
+
+    private static final String TAG = "TokenAuthenticator";
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    /** Where the tokens live; SessionManager in the app. */
+    public interface TokenStore {
+        String getAccessToken();
+
+        String getRefreshToken();
+
+        // Store the pair only if sentRefreshToken is still current; false if not stored
+        boolean replaceTokens(String sentRefreshToken, String accessToken, String refreshToken);
+    }
+
+    private final TokenStore session;
+    // No interceptors or authenticator, so a refresh cannot recurse
+    private final OkHttpClient refreshClient;
+    // Current server; it can change between refreshes
+    private final Supplier<HttpUrl> baseUrl;
+    private final Gson gson;
+    private final Object refreshLock = new Object();
+    // Last refresh token the server turned down; guarded by refreshLock
+    private String rejectedRefreshToken;
+
+    public TokenAuthenticator(TokenStore session, OkHttpClient refreshClient, Supplier<HttpUrl> baseUrl, Gson gson) {
+        this.session = session;
+        this.refreshClient = refreshClient;
+        this.baseUrl = baseUrl;
+        this.gson = gson;
+    }
+
+    @Override
+    public Request authenticate(Route route, Response response) throws IOException {
+        String failedToken = bearerToken(response.request());
+        // Anonymous requests and replays that were refused again are not retried
+        if (failedToken == null || response.priorResponse() != null) {
+            return null;
+        }
+
+        synchronized (refreshLock) {
+            String current = session.getAccessToken();
+            if (current == null) {
+                // Logged out meanwhile
+                return null;
+            }
+            if (!current.equals(failedToken)) {
+                // Another request refreshed while this one waited
+                return withToken(response.request(), current);
+            }
+
+            String refreshToken = session.getRefreshToken();
+            // Requests that waited behind a rejected refresh do not try it again
+            if (refreshToken == null || refreshToken.equals(rejectedRefreshToken)) {
+                return null;
+            }
+            TokenData tokens = refresh(refreshToken);
+            if (tokens == null || tokens.getAccess() == null) {
+                rejectedRefreshToken = refreshToken;
+                return null;
+            }
+            // The backend rotates refresh tokens; keep the old one if it did not send a new one.
+            // Checked and stored in one step, so a logout during the refresh is not undone
+            if (!session.replaceTokens(refreshToken, tokens.getAccess(),
+                    tokens.getRefresh() != null ? tokens.getRefresh() : refreshToken)) {
+                return null;
+            }
+            return withToken(response.request(), tokens.getAccess());
+        }
+    }
+
+    // New token pair, or null if the refresh token was rejected; IOException if unreachable
+    private TokenData refresh(String refreshToken) throws IOException {
+        Request request = new Request.Builder()
+                .url(baseUrl.get().resolve("auth/token/refresh/"))
+                .post(RequestBody.create(gson.toJson(new RefreshTokenRequest(refreshToken)), JSON))
+                .build();
+
+        try (Response response = refreshClient.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                Log.w(TAG, "Token refresh rejected: " + response.code());
+                return null;
+            }
+            return gson.fromJson(body.charStream(), TokenData.class);
+        } catch (JsonParseException e) {
+            Log.w(TAG, "Unreadable token refresh response", e);
+            return null;
+        }
+    }
+
+    private static String bearerToken(Request request) {
+        String header = request.header("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        return header.substring("Bearer ".length());
+    }
+
+    private static Request withToken(Request request, String token) {
+        return request.newBuilder()
+                .header("Authorization", "Bearer " + token)
+                .build();
+    }
+}
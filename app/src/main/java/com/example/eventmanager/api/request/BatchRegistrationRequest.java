@@ -0,0 +1,37 @@
+package com.example.eventmanager.api.request;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+public class BatchRegistrationRequest {
+    
+    @SerializedName("items")
+    private List<Item> items;
+    
+    public BatchRegistrationRequest(List<Item> items) {
+        this.items = items;
+    }
+    
+    public List<Item> getItems() { return items; }
+    
+    // One event and the details to register with
+    public static class Item extends EventRegistrationRequest {
+        
+        @SerializedName("event_id")
+        private int eventId;
+        
+        // Lets the server answer a resent item from its stored result
+        @SerializedName("idempotency_key")
+        private String idempotencyKey;
+        
+        public Item(int eventId, EventRegistrationRequest details, String idempotencyKey) {
+            super(details.getName(), details.getEmail(), details.getPhone(), details.getStudentId());
+            this.eventId = eventId;
+            this.idempotencyKey = idempotencyKey;
+        }
+        
+        public int getEventId() { return eventId; }
+        public String getIdempotencyKey() { return idempotencyKey; }
+    }
+}
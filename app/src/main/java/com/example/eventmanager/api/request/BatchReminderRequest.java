@@ -0,0 +1,37 @@
+package com.example.eventmanager.api.request;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+public class BatchReminderRequest {
+    
+    @SerializedName("items")
+    private List<Item> items;
+    
+    public BatchReminderRequest(List<Item> items) {
+        this.items = items;
+    }
+    
+    public List<Item> getItems() { return items; }
+    
+    // One event and when to be reminded about it
+    public static class Item extends SetReminderRequest {
+        
+        @SerializedName("event_id")
+        private int eventId;
+        
+        // Lets the server answer a resent item from its stored result
+        @SerializedName("idempotency_key")
+        private String idempotencyKey;
+        
+        public Item(int eventId, String timing, String idempotencyKey) {
+            super(timing);
+            this.eventId = eventId;
+            this.idempotencyKey = idempotencyKey;
+        }
+        
+        public int getEventId() { return eventId; }
+        public String getIdempotencyKey() { return idempotencyKey; }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.eventmanager.api.request;
+
+import com.google.gson.annotations.SerializedName;
+
+public class RefreshTokenRequest {
+    
+    @SerializedName("refresh")
+    private String refresh;
+    
+    public RefreshTokenRequest(String refresh) {
+        this.refresh = refresh;
+    }
+    
+    // Getters and Setters
+    public String getRefresh() { return refresh; }
+    public void setRefresh(String refresh) { this.refresh = refresh; }
+}
@@ -0,0 +1,24 @@
+package com.example.eventmanager.api.response;
+
+import com.google.gson.annotations.SerializedName;
+import java.util.List;
+
+public class AdminEventsPageResponse extends BaseResponse implements PageResponse<AdminDashboardResponse.EventRegistrationDetail> {
+    
+    // Event summaries; registrations are left out and paged per event
+    @SerializedName("events")
+    private List<AdminDashboardResponse.EventRegistrationDetail> events;
+    
+    @SerializedName("next_cursor")
+    private String nextCursor;
+    
+    public List<AdminDashboardResponse.EventRegistrationDetail> getEvents() { return events; }
+    public void setEvents(List<AdminDashboardResponse.EventRegistrationDetail> events) { this.events = events; }
+    
+    @Override
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    
+    @Override
+    public List<AdminDashboardResponse.EventRegistrationDetail> getItems() { return events; }
+}
@@ -0,0 +1,24 @@
+package com.example.eventmanager.api.response;
+
+import com.google.gson.annotations.SerializedName;
+import java.util.List;
+
+public class AdminRegistrationsPageResponse extends BaseResponse implements PageResponse<AdminDashboardResponse.RegistrationData> {
+    
+    // Registrations of one event or one user
+    @SerializedName("registrations")
+    private List<AdminDashboardResponse.RegistrationData> registrations;
+    
+    @SerializedName("next_cursor")
+    private String nextCursor;
+    
+    public List<AdminDashboardResponse.RegistrationData> getRegistrations() { return registrations; }
+    public void setRegistrations(List<AdminDashboardResponse.RegistrationData> registrations) { this.registrations = registrations; }
+    
+    @Override
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    
+    @Override
+    public List<AdminDashboardResponse.RegistrationData> getItems() { return registrations; }
+}
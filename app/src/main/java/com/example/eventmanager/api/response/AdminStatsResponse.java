@@ -0,0 +1,12 @@
+package com.example.eventmanager.api.response;
+
+import com.google.gson.annotations.SerializedName;
+
+public class AdminStatsResponse extends BaseResponse {
+    
+    @SerializedName("stats")
+    private AdminDashboardResponse.DashboardStats stats;
+    
+    public AdminDashboardResponse.DashboardStats getStats() { return stats; }
+    public void setStats(AdminDashboardResponse.DashboardStats stats) { this.stats = stats; }
+}
@@ -0,0 +1,24 @@
+package com.example.eventmanager.api.response;
+
+import com.google.gson.annotations.SerializedName;
+import java.util.List;
+
+public class AdminUsersPageResponse extends BaseResponse implements PageResponse<AdminDashboardResponse.UserRegistrationDetail> {
+    
+    // User summaries; registrations are left out and paged per user
+    @SerializedName("users")
+    private List<AdminDashboardResponse.UserRegistrationDetail> users;
+    
+    @SerializedName("next_cursor")
+    private String nextCursor;
+    
+    public List<AdminDashboardResponse.UserRegistrationDetail> getUsers() { return users; }
+    public void setUsers(List<AdminDashboardResponse.UserRegistrationDetail> users) { this.users = users; }
+    
+    @Override
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    
+    @Override
+    public List<AdminDashboardResponse.UserRegistrationDetail> getItems() { return users; }
+}
@@ -0,0 +1,43 @@
+package com.example.eventmanager.api.response;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+// success is true only when every item succeeded; results are in request order
+public class BatchResponse extends BaseResponse {
+    
+    @SerializedName("results")
+    private List<ItemResult> results;
+    
+    public List<ItemResult> getResults() { return results; }
+    public void setResults(List<ItemResult> results) { this.results = results; }
+    
+    // Outcome of one item, with the body the single-item endpoint would have returned
+    public static class ItemResult extends BaseResponse {
+        
+        @SerializedName("event_id")
+        private int eventId;
+        
+        @SerializedName("status")
+        private int status;
+        
+        @SerializedName("registration")
+        private RegistrationData registration;
+        
+        @SerializedName("reminder")
+        private ReminderData reminder;
+        
+        public int getEventId() { return eventId; }
+        public void setEventId(int eventId) { this.eventId = eventId; }
+        
+        public int getStatus() { return status; }
+        public void setStatus(int status) { this.status = status; }
+        
+        public RegistrationData getRegistration() { return registration; }
+        public void setRegistration(RegistrationData registration) { this.registration = registration; }
+        
+        public ReminderData getReminder() { return reminder; }
+        public void setReminder(ReminderData reminder) { this.reminder = reminder; }
+    }
+}
@@ -38,6 +38,13 @@ public class DashboardResponse extends BaseResponse {
         public int getMyReminders() { return myReminders; }
         public int getEventsCreated() { return eventsCreated; }
         public int getTotalUsers() { return totalUsers; }
+        
+        // Setters
+        public void setTotalEvents(int totalEvents) { this.totalEvents = totalEvents; }
+        public void setMyRegistrations(int myRegistrations) { this.myRegistrations = myRegistrations; }
+        public void setMyReminders(int myReminders) { this.myReminders = myReminders; }
+        public void setEventsCreated(int eventsCreated) { this.eventsCreated = eventsCreated; }
+        public void setTotalUsers(int totalUsers) { this.totalUsers = totalUsers; }
     }
 }
 
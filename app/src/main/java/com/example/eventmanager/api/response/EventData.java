@@ -1,8 +1,13 @@
 package com.example.eventmanager.api.response;
 
+import android.os.Parcel;
+import android.os.Parcelable;
+
 import com.google.gson.annotations.SerializedName;
 
-public class EventData {
+import java.util.Objects;
+
+public class EventData implements Parcelable {
     
     @SerializedName("id")
     private int id;
@@ -52,6 +57,91 @@ public class EventData {
     @SerializedName("created_at")
     private String createdAt;
     
+    @SerializedName("updated_at")
+    private String updatedAt;
+    
+    public EventData() {
+    }
+    
+    // Copy for changing an event without touching instances a screen or list still holds
+    public EventData(EventData other) {
+        id = other.id;
+        title = other.title;
+        description = other.description;
+        date = other.date;
+        time = other.time;
+        location = other.location;
+        category = other.category;
+        createdBy = other.createdBy;
+        createdByName = other.createdByName;
+        maxParticipants = other.maxParticipants;
+        registeredCount = other.registeredCount;
+        isFull = other.isFull;
+        isActive = other.isActive;
+        isRegistered = other.isRegistered;
+        hasReminder = other.hasReminder;
+        createdAt = other.createdAt;
+        updatedAt = other.updatedAt;
+    }
+    
+    // Saved instance state only; screens are launched with the event id
+    private EventData(Parcel in) {
+        id = in.readInt();
+        title = in.readString();
+        description = in.readString();
+        date = in.readString();
+        time = in.readString();
+        location = in.readString();
+        category = in.readString();
+        createdBy = in.readInt();
+        createdByName = in.readString();
+        maxParticipants = in.readInt();
+        registeredCount = in.readInt();
+        // Flags packed into one int: full, active, registered, reminder
+        int flags = in.readInt();
+        isFull = (flags & 1) != 0;
+        isActive = (flags & 2) != 0;
+        isRegistered = (flags & 4) != 0;
+        hasReminder = (flags & 8) != 0;
+        createdAt = in.readString();
+        updatedAt = in.readString();
+    }
+    
+    public static final Creator<EventData> CREATOR = new Creator<EventData>() {
+        @Override
+        public EventData createFromParcel(Parcel in) {
+            return new EventData(in);
+        }
+        
+        @Override
+        public EventData[] newArray(int size) {
+            return new EventData[size];
+        }
+    };
+    
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeInt(id);
+        dest.writeString(title);
+        dest.writeString(description);
+        dest.writeString(date);
+        dest.writeString(time);
+        dest.writeString(location);
+        dest.writeString(category);
+        dest.writeInt(createdBy);
+        dest.writeString(createdByName);
+        dest.writeInt(maxParticipants);
+        dest.writeInt(registeredCount);
+        dest.writeInt((isFull ? 1 : 0) | (isActive ? 2 : 0) | (isRegistered ? 4 : 0) | (hasReminder ? 8 : 0));
+        dest.writeString(createdAt);
+        dest.writeString(updatedAt);
+    }
+    
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+    
     // Getters
     public int getId() { return id; }
     public String getTitle() { return title; }
@@ -69,6 +159,7 @@ public class EventData {
     public boolean isRegistered() { return isRegistered; }
     public boolean hasReminder() { return hasReminder; }
     public String getCreatedAt() { return createdAt; }
+    public String getUpdatedAt() { return updatedAt; }
     
     // Setters
     public void setId(int id) { this.id = id; }
@@ -87,5 +178,37 @@ public class EventData {
     public void setRegistered(boolean registered) { isRegistered = registered; }
     public void setHasReminder(boolean hasReminder) { this.hasReminder = hasReminder; }
     public void setCreatedAt(String createdAt) { this.createdAt = createdAt; }
+    public void setUpdatedAt(String updatedAt) { this.updatedAt = updatedAt; }
+    
+    // Content equality, used by EventAdapter's diffing to skip unchanged rows
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EventData other = (EventData) o;
+        return id == other.id
+                && createdBy == other.createdBy
+                && maxParticipants == other.maxParticipants
+                && registeredCount == other.registeredCount
+                && isFull == other.isFull
+                && isActive == other.isActive
+                && isRegistered == other.isRegistered
+                && hasReminder == other.hasReminder
+                && Objects.equals(title, other.title)
+                && Objects.equals(description, other.description)
+                && Objects.equals(date, other.date)
+                && Objects.equals(time, other.time)
+                && Objects.equals(location, other.location)
+                && Objects.equals(category, other.category)
+                && Objects.equals(createdByName, other.createdByName)
+                && Objects.equals(createdAt, other.createdAt)
+                && Objects.equals(updatedAt, other.updatedAt);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, title, description, date, time, location, category, createdBy,
+                createdByName, maxParticipants, registeredCount, isFull, isActive, isRegistered,
+                hasReminder, createdAt, updatedAt);
+    }
 }
-
@@ -11,10 +11,31 @@ public class EventListResponse extends BaseResponse {
     @SerializedName("events")
     private List<EventData> events;
     
+    // Delta sync only: ids of events removed or deactivated since the watermark
+    @SerializedName("deleted")
+    private List<Integer> deleted;
+    
+    // Server time of this response, sent back as ?since= on the next sync
+    @SerializedName("synced_at")
+    private String syncedAt;
+    
+    // Paged list only: pass back as ?cursor= for the next page, null on the last page
+    @SerializedName("next_cursor")
+    private String nextCursor;
+    
     public int getCount() { return count; }
     public void setCount(int count) { this.count = count; }
     
     public List<EventData> getEvents() { return events; }
     public void setEvents(List<EventData> events) { this.events = events; }
+    
+    public List<Integer> getDeleted() { return deleted; }
+    public void setDeleted(List<Integer> deleted) { this.deleted = deleted; }
+    
+    public String getSyncedAt() { return syncedAt; }
+    public void setSyncedAt(String syncedAt) { this.syncedAt = syncedAt; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
 }
 
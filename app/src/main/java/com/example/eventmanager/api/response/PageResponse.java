@@ -0,0 +1,12 @@
+package com.example.eventmanager.api.response;
+
+import java.util.List;
+
+// A response carrying one page of a list and the cursor of the next one
+public interface PageResponse<T> {
+    
+    List<T> getItems();
+    
+    // Pass back as ?cursor= for the next page, null on the last page
+    String getNextCursor();
+}
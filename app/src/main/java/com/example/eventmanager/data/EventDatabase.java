@@ -0,0 +1,297 @@
+package com.example.eventmanager.data;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import com.example.eventmanager.api.response.EventData;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Local SQLite copy of the server's event list, keyed by EventData id.
+ * All methods hit the disk, so call them off the main thread.
+ */
+public class EventDatabase extends SQLiteOpenHelper {
+
+    private static final String DATABASE_NAME = "events.db";
+    private static final int DATABASE_VERSION = 2;
+
+    private static final String TABLE_EVENTS = "events";
+    private static final String TABLE_SYNC_STATE = "sync_state";
+
+    private static final String KEY_EVENTS_WATERMARK = "events_synced_at";
+    // Set while the catalogue is only partly downloaded
+    private static final String KEY_PAGE_CURSOR = "events_page_cursor";
+    private static final String KEY_PAGE_END = "events_page_end";
+
+    private static final String COL_ID = "id";
+    private static final String COL_TITLE = "title";
+    private static final String COL_DESCRIPTION = "description";
+    private static final String COL_DATE = "date";
+    private static final String COL_TIME = "time";
+    private static final String COL_LOCATION = "location";
+    private static final String COL_CATEGORY = "category";
+    private static final String COL_CREATED_BY = "created_by";
+    private static final String COL_CREATED_BY_NAME = "created_by_name";
+    private static final String COL_MAX_PARTICIPANTS = "max_participants";
+    private static final String COL_REGISTERED_COUNT = "registered_count";
+    private static final String COL_IS_FULL = "is_full";
+    private static final String COL_IS_ACTIVE = "is_active";
+    private static final String COL_IS_REGISTERED = "is_registered";
+    private static final String COL_HAS_REMINDER = "has_reminder";
+    private static final String COL_CREATED_AT = "created_at";
+    private static final String COL_UPDATED_AT = "updated_at";
+
+    private static final String COL_KEY = "name";
+    private static final String COL_VALUE = "value";
+
+    // Same ordering the backend uses for the event list
+    private static final String ORDER_BY = COL_DATE + ", " + COL_TIME + ", " + COL_ID;
+    // Rows after a (date, time, id) key in that ordering
+    private static final String AFTER_KEY = COL_DATE + " > ? OR (" + COL_DATE + " = ? AND " + COL_TIME + " > ?) OR ("
+            + COL_DATE + " = ? AND " + COL_TIME + " = ? AND " + COL_ID + " > ?)";
+
+    public EventDatabase(Context context) {
+        super(context.getApplicationContext(), DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_EVENTS + " ("
+                + COL_ID + " INTEGER PRIMARY KEY, "
+                + COL_TITLE + " TEXT, "
+                + COL_DESCRIPTION + " TEXT, "
+                + COL_DATE + " TEXT, "
+                + COL_TIME + " TEXT, "
+                + COL_LOCATION + " TEXT, "
+                + COL_CATEGORY + " TEXT, "
+                + COL_CREATED_BY + " INTEGER, "
+                + COL_CREATED_BY_NAME + " TEXT, "
+                + COL_MAX_PARTICIPANTS + " INTEGER, "
+                + COL_REGISTERED_COUNT + " INTEGER, "
+                + COL_IS_FULL + " INTEGER, "
+                + COL_IS_ACTIVE + " INTEGER, "
+                + COL_IS_REGISTERED + " INTEGER, "
+                + COL_HAS_REMINDER + " INTEGER, "
+                + COL_CREATED_AT + " TEXT, "
+                + COL_UPDATED_AT + " TEXT)");
+        db.execSQL("CREATE INDEX idx_events_date_time ON " + TABLE_EVENTS
+                + " (" + COL_DATE + ", " + COL_TIME + ")");
+        db.execSQL("CREATE TABLE " + TABLE_SYNC_STATE + " ("
+                + COL_KEY + " TEXT PRIMARY KEY, "
+                + COL_VALUE + " TEXT)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Tables only cache server data, so rebuild them and let the next sync start from scratch
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_EVENTS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_SYNC_STATE);
+        onCreate(db);
+    }
+
+    // Get up to limit stored events following the given one in display order, or from the top if null
+    public List<EventData> getEventsPage(EventData after, int limit) {
+        String selection = null;
+        String[] args = null;
+        if (after != null) {
+            selection = AFTER_KEY;
+            args = afterKeyArgs(after.getDate(), after.getTime(), String.valueOf(after.getId()));
+        }
+
+        List<EventData> events = new ArrayList<>();
+        Cursor cursor = getReadableDatabase().query(TABLE_EVENTS, null, selection, args,
+                null, null, ORDER_BY, String.valueOf(limit));
+        try {
+            while (cursor.moveToNext()) {
+                events.add(fromCursor(cursor));
+            }
+        } finally {
+            cursor.close();
+        }
+        return events;
+    }
+
+    // Get a single event by id, or null if it is not stored
+    public EventData getEvent(int eventId) {
+        Cursor cursor = getReadableDatabase().query(TABLE_EVENTS, null,
+                COL_ID + " = ?", new String[]{String.valueOf(eventId)}, null, null, null);
+        try {
+            return cursor.moveToFirst() ? fromCursor(cursor) : null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    // Watermark of the last successful sync, or null if there has not been one
+    public String getSyncWatermark() {
+        return getState(getReadableDatabase(), KEY_EVENTS_WATERMARK);
+    }
+
+    // Server cursor of the next page to download, or null once every page is stored
+    public String getPageCursor() {
+        return getState(getReadableDatabase(), KEY_PAGE_CURSOR);
+    }
+
+    // Start a fresh download: the first page replaces everything and sets the watermark
+    public void replaceWithFirstPage(List<EventData> events, String watermark, String nextCursor) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_EVENTS, null, null);
+            for (EventData event : events) {
+                db.insert(TABLE_EVENTS, null, toContentValues(event));
+            }
+            putState(db, KEY_EVENTS_WATERMARK, watermark);
+            putPageState(db, events, nextCursor);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    // Store the next page of the download
+    public void appendPage(List<EventData> events, String nextCursor) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (EventData event : events) {
+                db.insertWithOnConflict(TABLE_EVENTS, null, toContentValues(event),
+                        SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            putPageState(db, events, nextCursor);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    // Merge a delta sync: upsert changed events, drop deleted ones and move the watermark
+    public void applyChanges(List<EventData> upserts, Collection<Integer> deletedIds, String watermark) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (EventData event : upserts) {
+                db.insertWithOnConflict(TABLE_EVENTS, null, toContentValues(event),
+                        SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            for (Integer eventId : deletedIds) {
+                db.delete(TABLE_EVENTS, COL_ID + " = ?", new String[]{String.valueOf(eventId)});
+            }
+            // Until every page is stored, keep only the downloaded prefix so paging
+            // can carry on from the cursor without skipping or repeating rows
+            String pageEnd = getState(db, KEY_PAGE_END);
+            if (pageEnd != null) {
+                String[] key = pageEnd.split("\\|", -1);
+                db.delete(TABLE_EVENTS, AFTER_KEY, afterKeyArgs(key[0], key[1], key[2]));
+            }
+            putState(db, KEY_EVENTS_WATERMARK, watermark);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    // Insert or update a single event
+    public void upsert(EventData event) {
+        getWritableDatabase().insertWithOnConflict(TABLE_EVENTS, null,
+                toContentValues(event), SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    // Remove a single event
+    public void delete(int eventId) {
+        getWritableDatabase().delete(TABLE_EVENTS, COL_ID + " = ?", new String[]{String.valueOf(eventId)});
+    }
+
+    // Remove everything (logout)
+    public void clear() {
+        SQLiteDatabase db = getWritableDatabase();
+        db.delete(TABLE_EVENTS, null, null);
+        db.delete(TABLE_SYNC_STATE, null, null);
+    }
+
+    private static String getState(SQLiteDatabase db, String key) {
+        Cursor cursor = db.query(TABLE_SYNC_STATE, new String[]{COL_VALUE},
+                COL_KEY + " = ?", new String[]{key}, null, null, null);
+        try {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static void putState(SQLiteDatabase db, String key, String value) {
+        if (value == null) {
+            db.delete(TABLE_SYNC_STATE, COL_KEY + " = ?", new String[]{key});
+            return;
+        }
+        ContentValues values = new ContentValues();
+        values.put(COL_KEY, key);
+        values.put(COL_VALUE, value);
+        db.insertWithOnConflict(TABLE_SYNC_STATE, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    // Remember where the download stopped; a null cursor means the catalogue is complete
+    private static void putPageState(SQLiteDatabase db, List<EventData> page, String nextCursor) {
+        putState(db, KEY_PAGE_CURSOR, nextCursor);
+        if (nextCursor == null || page.isEmpty()) {
+            putState(db, KEY_PAGE_END, null);
+            return;
+        }
+        EventData last = page.get(page.size() - 1);
+        putState(db, KEY_PAGE_END, last.getDate() + "|" + last.getTime() + "|" + last.getId());
+    }
+
+    private static String[] afterKeyArgs(String date, String time, String id) {
+        return new String[]{date, date, time, date, time, id};
+    }
+
+    private static ContentValues toContentValues(EventData event) {
+        ContentValues values = new ContentValues();
+        values.put(COL_ID, event.getId());
+        values.put(COL_TITLE, event.getTitle());
+        values.put(COL_DESCRIPTION, event.getDescription());
+        values.put(COL_DATE, event.getDate());
+        values.put(COL_TIME, event.getTime());
+        values.put(COL_LOCATION, event.getLocation());
+        values.put(COL_CATEGORY, event.getCategory());
+        values.put(COL_CREATED_BY, event.getCreatedBy());
+        values.put(COL_CREATED_BY_NAME, event.getCreatedByName());
+        values.put(COL_MAX_PARTICIPANTS, event.getMaxParticipants());
+        values.put(COL_REGISTERED_COUNT, event.getRegisteredCount());
+        values.put(COL_IS_FULL, event.isFull() ? 1 : 0);
+        values.put(COL_IS_ACTIVE, event.isActive() ? 1 : 0);
+        values.put(COL_IS_REGISTERED, event.isRegistered() ? 1 : 0);
+        values.put(COL_HAS_REMINDER, event.hasReminder() ? 1 : 0);
+        values.put(COL_CREATED_AT, event.getCreatedAt());
+        values.put(COL_UPDATED_AT, event.getUpdatedAt());
+        return values;
+    }
+
+    private static EventData fromCursor(Cursor cursor) {
+        EventData event = new EventData();
+        event.setId(cursor.getInt(cursor.getColumnIndexOrThrow(COL_ID)));
+        event.setTitle(cursor.getString(cursor.getColumnIndexOrThrow(COL_TITLE)));
+        event.setDescription(cursor.getString(cursor.getColumnIndexOrThrow(COL_DESCRIPTION)));
+        event.setDate(cursor.getString(cursor.getColumnIndexOrThrow(COL_DATE)));
+        event.setTime(cursor.getString(cursor.getColumnIndexOrThrow(COL_TIME)));
+        event.setLocation(cursor.getString(cursor.getColumnIndexOrThrow(COL_LOCATION)));
+        event.setCategory(cursor.getString(cursor.getColumnIndexOrThrow(COL_CATEGORY)));
+        event.setCreatedBy(cursor.getInt(cursor.getColumnIndexOrThrow(COL_CREATED_BY)));
+        event.setCreatedByName(cursor.getString(cursor.getColumnIndexOrThrow(COL_CREATED_BY_NAME)));
+        event.setMaxParticipants(cursor.getInt(cursor.getColumnIndexOrThrow(COL_MAX_PARTICIPANTS)));
+        event.setRegisteredCount(cursor.getInt(cursor.getColumnIndexOrThrow(COL_REGISTERED_COUNT)));
+        event.setFull(cursor.getInt(cursor.getColumnIndexOrThrow(COL_IS_FULL)) == 1);
+        event.setActive(cursor.getInt(cursor.getColumnIndexOrThrow(COL_IS_ACTIVE)) == 1);
+        event.setRegistered(cursor.getInt(cursor.getColumnIndexOrThrow(COL_IS_REGISTERED)) == 1);
+        event.setHasReminder(cursor.getInt(cursor.getColumnIndexOrThrow(COL_HAS_REMINDER)) == 1);
+        event.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow(COL_CREATED_AT)));
+        event.setUpdatedAt(cursor.getString(cursor.getColumnIndexOrThrow(COL_UPDATED_AT)));
+        return event;
+    }
+}
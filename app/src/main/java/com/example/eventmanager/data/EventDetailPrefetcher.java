@@ -0,0 +1,143 @@
+package com.example.eventmanager.data;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.eventmanager.api.ApiConfig;
+import com.example.eventmanager.api.response.EventDetailResponse;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Fetches event details in the background for rows the user can see, so the detail
+ * screen opens from the local store without waiting on the network.
+ * Only a couple of requests run at once, only the most recently shown rows wait in
+ * the queue, and a per-minute byte budget (smaller on metered networks) caps how much
+ * is downloaded. Events fetched recently are skipped. Main-thread only.
+ */
+public class EventDetailPrefetcher {
+
+    private static final String TAG = "EventDetailPrefetcher";
+
+    private static final int MAX_IN_FLIGHT = 2;
+    private static final int MAX_IN_FLIGHT_METERED = 1;
+    // Older requests are dropped first; those rows have likely scrolled away
+    private static final int MAX_QUEUED = 8;
+
+    private static final long BUDGET_WINDOW_MS = 60 * 1000;
+    private static final long BUDGET_BYTES = 256 * 1024;
+    private static final long BUDGET_BYTES_METERED = 32 * 1024;
+    // Charged when the server does not send a Content-Length
+    private static final long ESTIMATED_BYTES = 2 * 1024;
+
+    private final Context appContext;
+    private final EventRepository repository;
+    private final ConnectivityManager connectivityManager;
+    // Newest last; taken from the end
+    private final ArrayDeque<Integer> queue = new ArrayDeque<>();
+    private final Map<Integer, Call<EventDetailResponse>> inFlight = new HashMap<>();
+
+    private long windowStart;
+    private long windowBytes;
+
+    public EventDetailPrefetcher(Context context, EventRepository repository) {
+        appContext = context.getApplicationContext();
+        this.repository = repository;
+        connectivityManager = (ConnectivityManager) appContext.getSystemService(Context.CONNECTIVITY_SERVICE);
+    }
+
+    // Queue details for these events, the most likely to be opened last
+    public void prefetch(List<Integer> eventIds) {
+        for (Integer eventId : eventIds) {
+            if (inFlight.containsKey(eventId) || repository.isDetailFresh(eventId)) {
+                continue;
+            }
+            queue.remove(eventId);
+            queue.addLast(eventId);
+        }
+        while (queue.size() > MAX_QUEUED) {
+            queue.removeFirst();
+        }
+        startNext();
+    }
+
+    // Drop the queue and cancel running requests (screen going away)
+    public void cancel() {
+        queue.clear();
+        for (Call<EventDetailResponse> call : inFlight.values()) {
+            call.cancel();
+        }
+        inFlight.clear();
+    }
+
+    private void startNext() {
+        boolean metered = connectivityManager != null && connectivityManager.isActiveNetworkMetered();
+        int maxInFlight = metered ? MAX_IN_FLIGHT_METERED : MAX_IN_FLIGHT;
+        while (inFlight.size() < maxInFlight && !queue.isEmpty() && hasBudget(metered)) {
+            int eventId = queue.removeLast();
+            if (!repository.isDetailFresh(eventId)) {
+                fetch(eventId);
+            }
+        }
+    }
+
+    private boolean hasBudget(boolean metered) {
+        long now = SystemClock.elapsedRealtime();
+        if (now - windowStart >= BUDGET_WINDOW_MS) {
+            windowStart = now;
+            windowBytes = 0;
+        }
+        return windowBytes < (metered ? BUDGET_BYTES_METERED : BUDGET_BYTES);
+    }
+
+    private void fetch(int eventId) {
+        Call<EventDetailResponse> call = ApiConfig.getApiService(appContext).getEventDetail(eventId);
+        final int fetchGeneration = repository.getGeneration();
+        inFlight.put(eventId, call);
+        call.enqueue(new Callback<EventDetailResponse>() {
+            @Override
+            public void onResponse(Call<EventDetailResponse> call, Response<EventDetailResponse> response) {
+                if (inFlight.remove(eventId) == null) {
+                    return;
+                }
+                windowBytes += downloadedBytes(response);
+
+                EventDetailResponse body = response.body();
+                if (response.isSuccessful() && body != null && body.isSuccess() && body.getEvent() != null) {
+                    repository.storeEventDetail(body.getEvent(), fetchGeneration);
+                }
+                startNext();
+            }
+
+            @Override
+            public void onFailure(Call<EventDetailResponse> call, Throwable t) {
+                if (inFlight.remove(eventId) == null) {
+                    return;
+                }
+                // Not retried; the detail screen fetches it if it is still missing
+                Log.d(TAG, "Prefetch of event " + eventId + " failed: " + t.getMessage());
+                startNext();
+            }
+        });
+    }
+
+    // Bytes that came over the network; answers from the HTTP cache are free
+    private static long downloadedBytes(Response<?> response) {
+        if (response.raw().networkResponse() == null) {
+            return 0;
+        }
+        ResponseBody body = response.raw().body();
+        long length = body != null ? body.contentLength() : -1;
+        return length >= 0 ? length : ESTIMATED_BYTES;
+    }
+}
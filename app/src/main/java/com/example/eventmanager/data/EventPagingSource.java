@@ -0,0 +1,187 @@
+package com.example.eventmanager.data;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import com.example.eventmanager.api.response.EventData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pages the stored event list into a screen, PAGE_SIZE rows at a time.
+ * Reads come from EventRepository's local store; once the stored rows run out it
+ * asks the repository for the next server page, so time-to-first-row and memory
+ * depend on how far the user scrolls, not on the size of the catalogue.
+ * A failed server page is retried after a growing delay, not on every bind.
+ * Main-thread only.
+ */
+public class EventPagingSource implements EventRepository.EventsListener {
+
+    public static final int PAGE_SIZE = 30;
+
+    // Wait before asking the server again after a page failed, e.g. while offline
+    private static final long RETRY_MIN_MS = 2 * 1000;
+    private static final long RETRY_MAX_MS = 60 * 1000;
+
+    public interface Callback {
+        // Rows appended to the end of the loaded list
+        void onPageAppended(List<EventData> page);
+
+        // Loaded rows were reloaded after the store changed
+        void onEventsReset(List<EventData> events, boolean fromServer);
+
+        // code is the HTTP status, or -1 when the server could not be reached
+        void onLoadFailed(int code, String message);
+    }
+
+    private final EventRepository repository;
+    private final Callback callback;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable retryTask = this::retryServerPage;
+
+    private List<EventData> loaded = Collections.emptyList();
+    private boolean loading;
+    private boolean endReached;
+    // Bumped on every reset so pages requested before it are dropped
+    private int version;
+    // Uptime before which no server page is requested; 0 when not backing off
+    private long retryAt;
+    private long retryDelayMs = RETRY_MIN_MS;
+
+    public EventPagingSource(EventRepository repository, Callback callback) {
+        this.repository = repository;
+        this.callback = callback;
+    }
+
+    // Start listening to the store and load the first page
+    public void start() {
+        repository.addListener(this);
+        retryAt = 0;
+        reload(false);
+    }
+
+    public void stop() {
+        repository.removeListener(this);
+        mainHandler.removeCallbacks(retryTask);
+        version++;
+    }
+
+    // Reconcile with the server; changes come back through onEventsReset
+    public void refresh() {
+        repository.sync();
+    }
+
+    public int getLoadedCount() {
+        return loaded.size();
+    }
+
+    /**
+     * Load the next page, from disk first and from the server once the stored rows
+     * are used up. Safe to call repeatedly while scrolling; while a failed server
+     * page is backing off this does nothing, the retry runs on its own.
+     */
+    public void loadMore() {
+        if (loading || endReached || retryAt != 0) {
+            return;
+        }
+        loading = true;
+        final int startVersion = version;
+        EventData last = loaded.isEmpty() ? null : loaded.get(loaded.size() - 1);
+
+        repository.loadPage(last, PAGE_SIZE, (page, remoteComplete) -> {
+            if (startVersion != version) {
+                return;
+            }
+            loading = false;
+            if (!page.isEmpty()) {
+                append(page);
+            }
+            if (page.size() < PAGE_SIZE) {
+                if (remoteComplete) {
+                    endReached = true;
+                } else {
+                    fetchFromServer(startVersion);
+                }
+            }
+        });
+    }
+
+    private void fetchFromServer(int startVersion) {
+        loading = true;
+        repository.fetchNextPage(success -> {
+            if (startVersion != version) {
+                return;
+            }
+            loading = false;
+            // On success the stored rows grew, keep paging through them
+            if (success) {
+                retryDelayMs = RETRY_MIN_MS;
+                loadMore();
+            } else {
+                scheduleRetry();
+            }
+        });
+    }
+
+    private void scheduleRetry() {
+        mainHandler.removeCallbacks(retryTask);
+        retryAt = SystemClock.uptimeMillis() + retryDelayMs;
+        mainHandler.postAtTime(retryTask, retryAt);
+        retryDelayMs = Math.min(retryDelayMs * 2, RETRY_MAX_MS);
+    }
+
+    private void retryServerPage() {
+        retryAt = 0;
+        loadMore();
+    }
+
+    // Reload the rows already on screen so positions and scroll survive the change
+    private void reload(boolean fromServer) {
+        // A page load in flight is superseded by this reload, pick it up again afterwards
+        final boolean resumePaging = loading;
+        final int startVersion = ++version;
+        loading = true;
+        endReached = false;
+        int count = Math.max(loaded.size(), PAGE_SIZE);
+
+        repository.loadPage(null, count, (events, remoteComplete) -> {
+            if (startVersion != version) {
+                return;
+            }
+            loading = false;
+            endReached = events.size() < count && remoteComplete;
+            loaded = Collections.unmodifiableList(events);
+            callback.onEventsReset(loaded, fromServer);
+            if (resumePaging) {
+                loadMore();
+            }
+        });
+    }
+
+    private void append(List<EventData> page) {
+        List<EventData> grown = new ArrayList<>(loaded.size() + page.size());
+        grown.addAll(loaded);
+        grown.addAll(page);
+        loaded = Collections.unmodifiableList(grown);
+        callback.onPageAppended(page);
+    }
+
+    @Override
+    public void onEventsChanged(boolean fromServer) {
+        if (fromServer && retryAt != 0) {
+            // The server answered a sync, so it is reachable again
+            mainHandler.removeCallbacks(retryTask);
+            retryAt = 0;
+            retryDelayMs = RETRY_MIN_MS;
+        }
+        reload(fromServer);
+    }
+
+    @Override
+    public void onSyncFailed(int code, String message) {
+        callback.onLoadFailed(code, message);
+    }
+}
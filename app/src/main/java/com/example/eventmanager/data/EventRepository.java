@@ -0,0 +1,496 @@
+package com.example.eventmanager.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.eventmanager.api.ApiConfig;
+import com.example.eventmanager.api.response.EventData;
+import com.example.eventmanager.api.response.EventDetailResponse;
+import com.example.eventmanager.api.response.EventListResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Offline-first source of the event list.
+ * Screens read pages of whatever is stored locally (see EventPagingSource) and the
+ * repository reconciles with the server in the background, notifying listeners on change.
+ * The catalogue is downloaded a page at a time, further pages only when a screen asks.
+ * Listener callbacks and public methods are main-thread only.
+ */
+public class EventRepository {
+
+    private static final String TAG = "EventRepository";
+
+    // Events per server request when downloading the catalogue
+    private static final int REMOTE_PAGE_SIZE = 50;
+    // A stored event fetched from the detail endpoint this recently is shown without refetching
+    private static final long DETAIL_FRESH_MS = 60 * 1000;
+    // Events kept in memory for screens opened by id
+    private static final int MAX_CACHED_EVENTS = 64;
+
+    public interface EventsListener {
+        // Stored events changed; fromServer is true when they were just reconciled with the backend
+        void onEventsChanged(boolean fromServer);
+
+        // code is the HTTP status, or -1 when the server could not be reached
+        void onSyncFailed(int code, String message);
+    }
+
+    public interface PageListener {
+        // remoteComplete is false while more of the catalogue is still on the server
+        void onPageLoaded(List<EventData> events, boolean remoteComplete);
+    }
+
+    public interface FetchListener {
+        void onFetched(boolean success);
+    }
+
+    public interface EventListener {
+        // event is null when it is not stored
+        void onEventLoaded(EventData event);
+    }
+
+    public interface LocalChanges {
+        // Re-apply changes the server has not confirmed yet to an event just received from it.
+        // Called on the main thread or the disk thread
+        void applyTo(EventData event);
+    }
+
+    private static EventRepository instance;
+
+    private final Context appContext;
+    private final EventDatabase database;
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<EventsListener> listeners = new ArrayList<>();
+    // Set by the Outbox so server data does not undo actions still waiting to be sent
+    private volatile LocalChanges localChanges;
+    // Event id -> elapsedRealtime of its last detail fetch
+    private final Map<Integer, Long> detailFetchedAt = new HashMap<>();
+    // Event id -> last copy handed to or loaded by a screen, least recently used first
+    private final Map<Integer, EventData> cached = new LinkedHashMap<Integer, EventData>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, EventData> eldest) {
+            return size() > MAX_CACHED_EVENTS;
+        }
+    };
+
+    private boolean syncing;
+    private boolean fetchingPage;
+    // Bumped on clear() so late disk reads and server responses are dropped
+    private int generation;
+
+    private EventRepository(Context context) {
+        appContext = context.getApplicationContext();
+        database = new EventDatabase(appContext);
+    }
+
+    public static synchronized EventRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new EventRepository(context);
+        }
+        return instance;
+    }
+
+    public void addListener(EventsListener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(EventsListener listener) {
+        listeners.remove(listener);
+    }
+
+    public void setLocalChanges(LocalChanges localChanges) {
+        this.localChanges = localChanges;
+    }
+
+    /**
+     * Read up to limit stored events following the given one (null for the top)
+     * without touching the network.
+     */
+    public void loadPage(EventData after, int limit, PageListener listener) {
+        final int startGeneration = generation;
+        diskExecutor.execute(() -> {
+            List<EventData> page = database.getEventsPage(after, limit);
+            boolean remoteComplete = database.getSyncWatermark() != null && database.getPageCursor() == null;
+            mainHandler.post(() -> {
+                if (startGeneration == generation) {
+                    listener.onPageLoaded(page, remoteComplete);
+                }
+            });
+        });
+    }
+
+    /**
+     * Reconcile the stored events with the server in the background.
+     * The first sync downloads only the first page of the catalogue; later ones
+     * fetch the events changed since the stored watermark and merge them in.
+     * Does nothing if a sync is already in flight.
+     */
+    public void sync() {
+        if (syncing) {
+            return;
+        }
+        syncing = true;
+        final int startGeneration = generation;
+        diskExecutor.execute(() -> {
+            String watermark = database.getSyncWatermark();
+            mainHandler.post(() -> {
+                if (startGeneration != generation) {
+                    return;
+                }
+                if (watermark == null) {
+                    fetchPage(null, startGeneration, success -> syncing = false);
+                } else {
+                    fetchChanges(watermark, startGeneration);
+                }
+            });
+        });
+    }
+
+    /**
+     * Download the next page of the catalogue, if any is left on the server.
+     * Listeners are notified once it is stored.
+     */
+    public void fetchNextPage(FetchListener listener) {
+        final int startGeneration = generation;
+        diskExecutor.execute(() -> {
+            boolean started = database.getSyncWatermark() != null;
+            String cursor = database.getPageCursor();
+            mainHandler.post(() -> {
+                if (startGeneration != generation) {
+                    return;
+                }
+                if (started && cursor == null) {
+                    // Everything is stored already
+                    listener.onFetched(true);
+                    return;
+                }
+                fetchPage(cursor, startGeneration, listener);
+            });
+        });
+    }
+
+    private void fetchPage(String cursor, int startGeneration, FetchListener listener) {
+        if (fetchingPage) {
+            listener.onFetched(false);
+            return;
+        }
+        fetchingPage = true;
+        final boolean firstPage = cursor == null;
+
+        ApiConfig.getApiService(appContext).getEventsPage(cursor, REMOTE_PAGE_SIZE).enqueue(new Callback<EventListResponse>() {
+            @Override
+            public void onResponse(Call<EventListResponse> call, Response<EventListResponse> response) {
+                if (startGeneration != generation) {
+                    return;
+                }
+
+                if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
+                    EventListResponse page = response.body();
+                    List<EventData> events = page.getEvents() != null ? page.getEvents() : new ArrayList<>();
+                    storePage(firstPage, events, page.getSyncedAt(), page.getNextCursor(), startGeneration, listener);
+                } else {
+                    fetchingPage = false;
+                    String message = response.body() != null ? response.body().getMessage() : "Failed to load events";
+                    dispatchFailed(response.code(), message);
+                    listener.onFetched(false);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<EventListResponse> call, Throwable t) {
+                if (startGeneration != generation) {
+                    return;
+                }
+                fetchingPage = false;
+                Log.w(TAG, "Event page download failed", t);
+                dispatchFailed(-1, "Network error: " + t.getMessage());
+                listener.onFetched(false);
+            }
+        });
+    }
+
+    private void storePage(boolean firstPage, List<EventData> events, String syncedAt, String nextCursor,
+                           int startGeneration, FetchListener listener) {
+        diskExecutor.execute(() -> {
+            applyLocalChanges(events);
+            if (firstPage) {
+                // The first page's server time covers every later page too
+                database.replaceWithFirstPage(events, syncedAt, nextCursor);
+            } else {
+                database.appendPage(events, nextCursor);
+            }
+            mainHandler.post(() -> {
+                if (startGeneration != generation) {
+                    return;
+                }
+                fetchingPage = false;
+                dispatchChanged(true);
+                listener.onFetched(true);
+            });
+        });
+    }
+
+    private void fetchChanges(String watermark, int startGeneration) {
+        ApiConfig.getApiService(appContext).getEventChanges(watermark).enqueue(new Callback<EventListResponse>() {
+            @Override
+            public void onResponse(Call<EventListResponse> call, Response<EventListResponse> response) {
+                if (startGeneration != generation) {
+                    return;
+                }
+
+                if (response.isSuccessful() && response.body() != null) {
+                    EventListResponse eventListResponse = response.body();
+
+                    if (eventListResponse.isSuccess()) {
+                        List<EventData> changed = eventListResponse.getEvents() != null
+                                ? eventListResponse.getEvents() : new ArrayList<>();
+                        List<Integer> deleted = eventListResponse.getDeleted() != null
+                                ? eventListResponse.getDeleted() : new ArrayList<>();
+                        storeChanges(changed, deleted, eventListResponse.getSyncedAt(), startGeneration);
+                    } else {
+                        syncing = false;
+                        dispatchFailed(response.code(), eventListResponse.getMessage());
+                    }
+                } else {
+                    syncing = false;
+                    dispatchFailed(response.code(), "Failed to load events");
+                }
+            }
+
+            @Override
+            public void onFailure(Call<EventListResponse> call, Throwable t) {
+                if (startGeneration != generation) {
+                    return;
+                }
+                syncing = false;
+                Log.w(TAG, "Event sync failed", t);
+                dispatchFailed(-1, "Network error: " + t.getMessage());
+            }
+        });
+    }
+
+    private void storeChanges(List<EventData> changed, List<Integer> deleted, String syncedAt, int startGeneration) {
+        // Nothing changed on the server: only the watermark moves forward
+        final boolean unchanged = changed.isEmpty() && deleted.isEmpty();
+
+        diskExecutor.execute(() -> {
+            applyLocalChanges(changed);
+            database.applyChanges(changed, deleted, syncedAt);
+            mainHandler.post(() -> {
+                if (startGeneration != generation) {
+                    return;
+                }
+                syncing = false;
+                for (EventData event : changed) {
+                    if (cached.containsKey(event.getId())) {
+                        cached.put(event.getId(), event);
+                    }
+                }
+                for (Integer eventId : deleted) {
+                    cached.remove(eventId);
+                }
+                if (!unchanged) {
+                    dispatchChanged(true);
+                }
+            });
+        });
+    }
+
+    /**
+     * Keep an event in memory so a screen opened with only its id can show it at once.
+     */
+    public void cacheEvent(EventData event) {
+        cached.put(event.getId(), event);
+    }
+
+    // The in-memory copy of an event, or null if it has to be read with getEvent()
+    public EventData peekEvent(int eventId) {
+        return cached.get(eventId);
+    }
+
+    /**
+     * Read one stored event without touching the network.
+     */
+    public void getEvent(int eventId, EventListener listener) {
+        final int startGeneration = generation;
+        diskExecutor.execute(() -> {
+            EventData event = database.getEvent(eventId);
+            mainHandler.post(() -> {
+                if (startGeneration != generation) {
+                    return;
+                }
+                if (event != null) {
+                    cached.put(eventId, event);
+                }
+                listener.onEventLoaded(event);
+            });
+        });
+    }
+
+    // Pass to storeEventDetail() when starting a detail fetch, so a clear() in between drops it
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Store an event just fetched from the detail endpoint, unless the store was cleared
+     * (logout) since fetchGeneration was read. List listeners are not notified; the list
+     * picks the change up on its next reload.
+     */
+    public void storeEventDetail(EventData event, int fetchGeneration) {
+        if (fetchGeneration != generation) {
+            return;
+        }
+        putEventDetail(event, false);
+    }
+
+    private void putEventDetail(EventData event, boolean notify) {
+        applyLocalChanges(event);
+        detailFetchedAt.put(event.getId(), SystemClock.elapsedRealtime());
+        cached.put(event.getId(), event);
+        final int startGeneration = generation;
+        diskExecutor.execute(() -> {
+            database.upsert(event);
+            if (notify) {
+                mainHandler.post(() -> {
+                    if (startGeneration == generation) {
+                        dispatchChanged(false);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Change a stored event ahead of the server, e.g. to show a queued registration.
+     * peekEvent() returns the changed copy at once; the stored one follows on the disk
+     * thread, then listeners are notified. Events that are not stored are left alone.
+     * Instances handed out earlier are not modified, so list diffs still see the change.
+     * The detail fetch is no longer fresh, so the next detail screen asks the server.
+     * Returns whether the in-memory copy was changed, i.e. open screens show it now.
+     */
+    public boolean applyLocalChange(int eventId, Consumer<EventData> change) {
+        detailFetchedAt.remove(eventId);
+        EventData inMemory = cached.get(eventId);
+        if (inMemory != null) {
+            EventData changed = new EventData(inMemory);
+            change.accept(changed);
+            cached.put(eventId, changed);
+        }
+        final int startGeneration = generation;
+        diskExecutor.execute(() -> {
+            EventData stored = database.getEvent(eventId);
+            if (stored != null) {
+                change.accept(stored);
+                database.upsert(stored);
+            }
+            mainHandler.post(() -> {
+                if (startGeneration == generation) {
+                    dispatchChanged(false);
+                }
+            });
+        });
+        return inMemory != null;
+    }
+
+    /**
+     * Replace a stored event with the server's copy, bypassing the HTTP cache, after
+     * a local change to it turned out to be wrong. Listeners are notified.
+     */
+    public void reloadEvent(int eventId) {
+        final int startGeneration = generation;
+        ApiConfig.getApiService(appContext).refreshEventDetail(eventId).enqueue(new Callback<EventDetailResponse>() {
+            @Override
+            public void onResponse(Call<EventDetailResponse> call, Response<EventDetailResponse> response) {
+                if (startGeneration != generation) {
+                    return;
+                }
+                EventDetailResponse body = response.body();
+                if (response.isSuccessful() && body != null && body.isSuccess() && body.getEvent() != null) {
+                    putEventDetail(body.getEvent(), true);
+                } else if (response.code() == 404) {
+                    removeEvent(eventId);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<EventDetailResponse> call, Throwable t) {
+                // The next sync brings it back in line
+                Log.w(TAG, "Reload of event " + eventId + " failed", t);
+            }
+        });
+    }
+
+    private void removeEvent(int eventId) {
+        detailFetchedAt.remove(eventId);
+        cached.remove(eventId);
+        final int startGeneration = generation;
+        diskExecutor.execute(() -> {
+            database.delete(eventId);
+            mainHandler.post(() -> {
+                if (startGeneration == generation) {
+                    dispatchChanged(false);
+                }
+            });
+        });
+    }
+
+    private void applyLocalChanges(List<EventData> events) {
+        for (EventData event : events) {
+            applyLocalChanges(event);
+        }
+    }
+
+    private void applyLocalChanges(EventData event) {
+        LocalChanges changes = localChanges;
+        if (changes != null) {
+            changes.applyTo(event);
+        }
+    }
+
+    // Whether the stored copy of an event came from a recent enough detail fetch
+    public boolean isDetailFresh(int eventId) {
+        Long fetchedAt = detailFetchedAt.get(eventId);
+        return fetchedAt != null && SystemClock.elapsedRealtime() - fetchedAt < DETAIL_FRESH_MS;
+    }
+
+    // Drop all stored events (logout)
+    public void clear() {
+        generation++;
+        detailFetchedAt.clear();
+        cached.clear();
+        syncing = false;
+        fetchingPage = false;
+        diskExecutor.execute(database::clear);
+    }
+
+    private void dispatchChanged(boolean fromServer) {
+        for (EventsListener listener : new ArrayList<>(listeners)) {
+            listener.onEventsChanged(fromServer);
+        }
+    }
+
+    private void dispatchFailed(int code, String message) {
+        for (EventsListener listener : new ArrayList<>(listeners)) {
+            listener.onSyncFailed(code, message);
+        }
+    }
+}
@@ -0,0 +1,567 @@
+package com.example.eventmanager.data;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import android.widget.Toast;
+
+import com.example.eventmanager.api.ApiConfig;
+import com.example.eventmanager.api.ApiService;
+import com.example.eventmanager.api.request.BatchRegistrationRequest;
+import com.example.eventmanager.api.request.BatchReminderRequest;
+import com.example.eventmanager.api.request.CreateEventRequest;
+import com.example.eventmanager.api.request.EventRegistrationRequest;
+import com.example.eventmanager.api.request.SetReminderRequest;
+import com.example.eventmanager.api.response.BaseResponse;
+import com.example.eventmanager.api.response.BatchResponse;
+import com.example.eventmanager.api.response.EventData;
+import com.example.eventmanager.utils.JsonCodec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Registrations, reminders, cancellations and event edits on their way to the server.
+ * Each action is written to disk with its own idempotency key before it is sent and
+ * shown on the stored event right away. The queue is sent in order, consecutive
+ * registrations or reminders as one batch call. Actions that cannot reach the server
+ * stay queued and are resent when a network comes back; the key stops the server from
+ * applying one twice. Actions the server refuses, e.g. because the event is full, are
+ * dropped, the event is reloaded and the server's message is shown.
+ * Public methods and callbacks are main-thread only.
+ */
+public class Outbox {
+
+    private static final String TAG = "Outbox";
+
+    static final String TYPE_REGISTER = "register";
+    static final String TYPE_SET_REMINDER = "set_reminder";
+    static final String TYPE_CANCEL_REGISTRATION = "cancel_registration";
+    static final String TYPE_CREATE_EVENT = "create_event";
+    static final String TYPE_UPDATE_EVENT = "update_event";
+
+    // Event id of actions on events the server has not created yet
+    private static final int NO_EVENT = -1;
+    // Status used when no response arrived
+    private static final int NO_RESPONSE = -1;
+
+    // How long to wait for more actions before sending, so they can share a batch
+    private static final long WINDOW_MS = 250;
+    // Backend's MAX_BATCH_ITEMS
+    private static final int MAX_BATCH_ITEMS = 50;
+    // Retry delay while the network is up but the server is not answering
+    private static final long RETRY_MIN_MS = 30 * 1000;
+    private static final long RETRY_MAX_MS = 10 * 60 * 1000;
+
+    public static final String QUEUED_MESSAGE = "Saved offline. It will be sent when the connection is back.";
+
+    // First outcome of an action; screens that pass null get toasts instead
+    public interface ActionCallback {
+        // The server accepted it; message is the server's
+        void onApplied(String message);
+
+        // The server refused it and the local change was undone; message is ready to show
+        void onRejected(String message);
+
+        // The server could not be reached; the action stays queued and its later
+        // outcome is only shown if it is refused
+        void onQueued(String message);
+    }
+
+    private static Outbox instance;
+
+    private final Context appContext;
+    private final OutboxDatabase database;
+    private final EventRepository repository;
+    private final JsonCodec codec = JsonCodec.getInstance();
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Oldest first; the repository reads it from its disk thread, so guarded by itself
+    private final List<OutboxDatabase.Entry> pending = new ArrayList<>();
+    // Idempotency key -> screen waiting for the action's first outcome
+    private final Map<String, ActionCallback> callbacks = new HashMap<>();
+    private final Runnable drainTask = this::drain;
+
+    private boolean loaded;
+    private boolean sending;
+    // Something reached the server since the queue was last empty
+    private boolean delivered;
+    // uptimeMillis of the scheduled drain, 0 if none
+    private long drainAt;
+    private long retryDelayMs = RETRY_MIN_MS;
+    // Bumped on clear() so late disk reads and server responses are dropped
+    private int generation;
+
+    private Outbox(Context context) {
+        appContext = context.getApplicationContext();
+        database = new OutboxDatabase(appContext);
+        repository = EventRepository.getInstance(appContext);
+        repository.setLocalChanges(this::applyTo);
+        watchConnectivity();
+        load();
+    }
+
+    public static synchronized Outbox getInstance(Context context) {
+        if (instance == null) {
+            instance = new Outbox(context);
+        }
+        return instance;
+    }
+
+    // Register for an event with the given details; true when open screens already show it
+    public boolean register(int eventId, EventRegistrationRequest details, ActionCallback callback) {
+        return enqueue(TYPE_REGISTER, eventId, details, callback);
+    }
+
+    // Set a reminder on an event; timing is one of the SetReminderRequest options
+    public void setReminder(int eventId, String timing, ActionCallback callback) {
+        enqueue(TYPE_SET_REMINDER, eventId, new SetReminderRequest(timing), callback);
+    }
+
+    public void cancelRegistration(int eventId, ActionCallback callback) {
+        enqueue(TYPE_CANCEL_REGISTRATION, eventId, null, callback);
+    }
+
+    // The new event is not stored locally until the server has given it an id
+    public void createEvent(CreateEventRequest request, ActionCallback callback) {
+        enqueue(TYPE_CREATE_EVENT, NO_EVENT, request, callback);
+    }
+
+    public void updateEvent(int eventId, CreateEventRequest request, ActionCallback callback) {
+        enqueue(TYPE_UPDATE_EVENT, eventId, request, callback);
+    }
+
+    // Drop everything queued (logout); the actions were the previous user's
+    public void clear() {
+        generation++;
+        synchronized (pending) {
+            pending.clear();
+        }
+        callbacks.clear();
+        mainHandler.removeCallbacks(drainTask);
+        drainAt = 0;
+        loaded = true;
+        sending = false;
+        delivered = false;
+        retryDelayMs = RETRY_MIN_MS;
+        diskExecutor.execute(database::clear);
+    }
+
+    // Whether the action's effect is on screen already
+    private boolean enqueue(String type, int eventId, Object body, ActionCallback callback) {
+        OutboxDatabase.Entry entry = new OutboxDatabase.Entry(UUID.randomUUID().toString(), type, eventId,
+                body != null ? codec.toJson(body) : null);
+        int queued;
+        synchronized (pending) {
+            pending.add(entry);
+            queued = pending.size();
+        }
+        // Written before the drain below can send it
+        diskExecutor.execute(() -> database.add(entry));
+        boolean shown = eventId != NO_EVENT && repository.applyLocalChange(eventId, event -> apply(entry, event));
+        // Screens that pass null leave the messages to us
+        callbacks.put(entry.idempotencyKey, callback != null ? callback : new ToastCallback(describe(entry), shown));
+        scheduleDrain(queued >= MAX_BATCH_ITEMS ? 0 : WINDOW_MS);
+        return shown;
+    }
+
+    // Pick up actions left over from an earlier run
+    private void load() {
+        final int startGeneration = generation;
+        diskExecutor.execute(() -> {
+            List<OutboxDatabase.Entry> stored = database.getAll();
+            mainHandler.post(() -> {
+                if (startGeneration != generation) {
+                    return;
+                }
+                synchronized (pending) {
+                    pending.addAll(0, stored);
+                }
+                loaded = true;
+                scheduleDrain(0);
+            });
+        });
+    }
+
+    private void watchConnectivity() {
+        ConnectivityManager connectivityManager =
+                (ConnectivityManager) appContext.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (connectivityManager == null) {
+            return;
+        }
+        connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onAvailable(Network network) {
+                mainHandler.post(() -> {
+                    retryDelayMs = RETRY_MIN_MS;
+                    scheduleDrain(0);
+                });
+            }
+        });
+    }
+
+    // Keeps an earlier drain if one is already due sooner
+    private void scheduleDrain(long delayMs) {
+        long at = SystemClock.uptimeMillis() + delayMs;
+        if (drainAt != 0 && drainAt <= at) {
+            return;
+        }
+        mainHandler.removeCallbacks(drainTask);
+        drainAt = at;
+        mainHandler.postAtTime(drainTask, at);
+    }
+
+    // ==================== Sending ====================
+
+    private void drain() {
+        drainAt = 0;
+        if (!loaded || sending) {
+            return;
+        }
+        List<OutboxDatabase.Entry> next = nextToSend();
+        if (next.isEmpty()) {
+            if (delivered) {
+                // Pick up the server's counts for everything that was applied
+                delivered = false;
+                repository.sync();
+            }
+            return;
+        }
+
+        sending = true;
+        final int startGeneration = generation;
+        OutboxDatabase.Entry head = next.get(0);
+        ApiService apiService = ApiConfig.getApiService(appContext);
+        switch (head.type) {
+            case TYPE_REGISTER:
+                List<BatchRegistrationRequest.Item> registrations = new ArrayList<>();
+                for (OutboxDatabase.Entry entry : next) {
+                    registrations.add(new BatchRegistrationRequest.Item(entry.eventId,
+                            codec.fromJson(entry.payload, EventRegistrationRequest.class), entry.idempotencyKey));
+                }
+                apiService.batchRegister(new BatchRegistrationRequest(registrations))
+                        .enqueue(batchCallback(next, startGeneration));
+                break;
+            case TYPE_SET_REMINDER:
+                List<BatchReminderRequest.Item> reminders = new ArrayList<>();
+                for (OutboxDatabase.Entry entry : next) {
+                    SetReminderRequest request = codec.fromJson(entry.payload, SetReminderRequest.class);
+                    reminders.add(new BatchReminderRequest.Item(entry.eventId, request.getTiming(), entry.idempotencyKey));
+                }
+                apiService.batchSetReminder(new BatchReminderRequest(reminders))
+                        .enqueue(batchCallback(next, startGeneration));
+                break;
+            case TYPE_CANCEL_REGISTRATION:
+                apiService.cancelRegistration(head.idempotencyKey, head.eventId)
+                        .enqueue(singleCallback(head, startGeneration));
+                break;
+            case TYPE_CREATE_EVENT:
+                apiService.createEvent(head.idempotencyKey, codec.fromJson(head.payload, CreateEventRequest.class))
+                        .enqueue(singleCallback(head, startGeneration));
+                break;
+            case TYPE_UPDATE_EVENT:
+                apiService.updateEvent(head.idempotencyKey, head.eventId,
+                                codec.fromJson(head.payload, CreateEventRequest.class))
+                        .enqueue(singleCallback(head, startGeneration));
+                break;
+            default:
+                // Written by a newer version of the app; nothing here knows how to send it
+                Log.w(TAG, "Dropping queued action of unknown type " + head.type);
+                finish(next, new int[]{400}, new String[]{"Unsupported action"});
+                break;
+        }
+    }
+
+    // The oldest action, plus those right behind it that can share its batch call
+    private List<OutboxDatabase.Entry> nextToSend() {
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return Collections.emptyList();
+            }
+            OutboxDatabase.Entry head = pending.get(0);
+            if (!TYPE_REGISTER.equals(head.type) && !TYPE_SET_REMINDER.equals(head.type)) {
+                return Collections.singletonList(head);
+            }
+            List<OutboxDatabase.Entry> batch = new ArrayList<>();
+            for (OutboxDatabase.Entry entry : pending) {
+                if (!entry.type.equals(head.type) || batch.size() == MAX_BATCH_ITEMS) {
+                    break;
+                }
+                batch.add(entry);
+            }
+            return batch;
+        }
+    }
+
+    private Callback<BatchResponse> batchCallback(List<OutboxDatabase.Entry> batch, int startGeneration) {
+        return new Callback<BatchResponse>() {
+            @Override
+            public void onResponse(Call<BatchResponse> call, Response<BatchResponse> response) {
+                if (startGeneration != generation) {
+                    return;
+                }
+                int[] codes = new int[batch.size()];
+                String[] messages = new String[batch.size()];
+                BatchResponse body = response.body();
+                List<BatchResponse.ItemResult> results = body != null ? body.getResults() : null;
+                if (!response.isSuccessful() || results == null) {
+                    // The batch as a whole was refused or failed
+                    String message = body != null && body.getMessage() != null ? body.getMessage() : errorMessage(response);
+                    Arrays.fill(codes, response.code());
+                    Arrays.fill(messages, message);
+                } else {
+                    // Results are in request order
+                    for (int i = 0; i < batch.size(); i++) {
+                        BatchResponse.ItemResult result = i < results.size() ? results.get(i) : null;
+                        codes[i] = result != null ? result.getStatus() : NO_RESPONSE;
+                        messages[i] = result != null ? result.getMessage() : "No result from server";
+                    }
+                }
+                finish(batch, codes, messages);
+            }
+
+            @Override
+            public void onFailure(Call<BatchResponse> call, Throwable t) {
+                if (startGeneration != generation) {
+                    return;
+                }
+                Log.w(TAG, "Batch send failed", t);
+                finish(batch, noResponse(batch.size()), new String[batch.size()]);
+            }
+        };
+    }
+
+    private <T extends BaseResponse> Callback<T> singleCallback(OutboxDatabase.Entry entry, int startGeneration) {
+        return new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                if (startGeneration != generation) {
+                    return;
+                }
+                T body = response.body();
+                String message = body != null ? body.getMessage() : errorMessage(response);
+                finish(Collections.singletonList(entry), new int[]{response.code()}, new String[]{message});
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                if (startGeneration != generation) {
+                    return;
+                }
+                Log.w(TAG, "Send of " + entry.type + " failed", t);
+                finish(Collections.singletonList(entry), noResponse(1), new String[1]);
+            }
+        };
+    }
+
+    // ==================== Outcomes ====================
+
+    // Settle each sent action by its status, then carry on with the queue or wait to retry
+    private void finish(List<OutboxDatabase.Entry> sent, int[] codes, String[] messages) {
+        sending = false;
+        List<OutboxDatabase.Entry> done = new ArrayList<>();
+        boolean retry = false;
+        for (int i = 0; i < sent.size(); i++) {
+            if (isTransient(codes[i])) {
+                retry = true;
+            } else {
+                done.add(sent.get(i));
+            }
+        }
+        if (!done.isEmpty()) {
+            delivered = true;
+            synchronized (pending) {
+                pending.removeAll(done);
+            }
+            diskExecutor.execute(() -> database.delete(done));
+        }
+
+        for (int i = 0; i < sent.size(); i++) {
+            OutboxDatabase.Entry entry = sent.get(i);
+            ActionCallback callback = callbacks.remove(entry.idempotencyKey);
+            if (isTransient(codes[i])) {
+                if (callback != null) {
+                    callback.onQueued(QUEUED_MESSAGE);
+                }
+            } else if (codes[i] >= 200 && codes[i] < 300) {
+                if (callback != null) {
+                    callback.onApplied(messages[i]);
+                }
+            } else {
+                String message = messages[i] != null ? messages[i] : "Request failed (" + codes[i] + ")";
+                undo(entry);
+                if (callback != null) {
+                    callback.onRejected(message);
+                } else {
+                    // The screen that queued it is gone; tell the user wherever they are
+                    Toast.makeText(appContext, describe(entry) + " failed: " + message, Toast.LENGTH_LONG).show();
+                }
+            }
+        }
+
+        if (retry) {
+            scheduleDrain(retryDelayMs);
+            retryDelayMs = Math.min(retryDelayMs * 2, RETRY_MAX_MS);
+        } else {
+            retryDelayMs = RETRY_MIN_MS;
+            drain();
+        }
+    }
+
+    // Tells the user about an action whose screen did not wait for it
+    private final class ToastCallback implements ActionCallback {
+        private final String action;
+        // Whether the change was shown as done when it was queued
+        private final boolean shown;
+
+        ToastCallback(String action, boolean shown) {
+            this.action = action;
+            this.shown = shown;
+        }
+
+        @Override
+        public void onApplied(String message) {
+            if (!shown) {
+                Toast.makeText(appContext, message != null ? message : action + " done", Toast.LENGTH_SHORT).show();
+            }
+        }
+
+        @Override
+        public void onRejected(String message) {
+            Toast.makeText(appContext, action + " failed: " + message, Toast.LENGTH_LONG).show();
+        }
+
+        @Override
+        public void onQueued(String message) {
+            Toast.makeText(appContext, message, Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    // Worth sending again later: no answer, throttling or a server fault. A 401 is final:
+    // TokenAuthenticator has already tried a refresh, so retrying would never succeed
+    private static boolean isTransient(int code) {
+        return code == NO_RESPONSE || code == 408 || code == 429 || code >= 500;
+    }
+
+    private static int[] noResponse(int count) {
+        int[] codes = new int[count];
+        Arrays.fill(codes, NO_RESPONSE);
+        return codes;
+    }
+
+    // The server's message from an error body, which Retrofit has already read into memory
+    private String errorMessage(Response<?> response) {
+        try (ResponseBody errorBody = response.errorBody()) {
+            BaseResponse body = errorBody != null ? codec.fromJson(errorBody.string(), BaseResponse.class) : null;
+            if (body != null && body.getMessage() != null) {
+                return body.getMessage();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not one of our JSON envelopes
+        }
+        return "Request failed (" + response.code() + ")";
+    }
+
+    private static String describe(OutboxDatabase.Entry entry) {
+        switch (entry.type) {
+            case TYPE_REGISTER: return "Registration";
+            case TYPE_SET_REMINDER: return "Reminder";
+            case TYPE_CANCEL_REGISTRATION: return "Cancelling registration";
+            case TYPE_CREATE_EVENT: return "Creating event";
+            case TYPE_UPDATE_EVENT: return "Updating event";
+            default: return "Saved action";
+        }
+    }
+
+    // ==================== Local changes ====================
+
+    // Show every queued action on a copy of the event the server just sent
+    private void applyTo(EventData event) {
+        synchronized (pending) {
+            for (OutboxDatabase.Entry entry : pending) {
+                if (entry.eventId == event.getId()) {
+                    apply(entry, event);
+                }
+            }
+        }
+    }
+
+    // What the event looks like once the server has applied the action; safe to repeat
+    private void apply(OutboxDatabase.Entry entry, EventData event) {
+        switch (entry.type) {
+            case TYPE_REGISTER:
+                setRegistered(event, true);
+                break;
+            case TYPE_CANCEL_REGISTRATION:
+                setRegistered(event, false);
+                break;
+            case TYPE_SET_REMINDER:
+                event.setHasReminder(true);
+                break;
+            case TYPE_UPDATE_EVENT:
+                CreateEventRequest request = codec.fromJson(entry.payload, CreateEventRequest.class);
+                event.setTitle(request.getTitle());
+                event.setDescription(request.getDescription());
+                event.setDate(request.getDate());
+                event.setTime(request.getTime());
+                event.setLocation(request.getLocation());
+                event.setCategory(request.getCategory());
+                event.setMaxParticipants(request.getMaxParticipants());
+                event.setFull(isFull(event));
+                break;
+            default:
+                break;
+        }
+    }
+
+    // Take back a refused action at once, then let the server's copy settle the rest
+    private void undo(OutboxDatabase.Entry entry) {
+        if (entry.eventId == NO_EVENT) {
+            return;
+        }
+        switch (entry.type) {
+            case TYPE_REGISTER:
+                repository.applyLocalChange(entry.eventId, event -> setRegistered(event, false));
+                break;
+            case TYPE_CANCEL_REGISTRATION:
+                repository.applyLocalChange(entry.eventId, event -> setRegistered(event, true));
+                break;
+            case TYPE_SET_REMINDER:
+                repository.applyLocalChange(entry.eventId, event -> event.setHasReminder(false));
+                break;
+            default:
+                break;
+        }
+        repository.reloadEvent(entry.eventId);
+    }
+
+    private static void setRegistered(EventData event, boolean registered) {
+        if (event.isRegistered() == registered) {
+            return;
+        }
+        event.setRegistered(registered);
+        event.setRegisteredCount(Math.max(0, event.getRegisteredCount() + (registered ? 1 : -1)));
+        event.setFull(isFull(event));
+    }
+
+    private static boolean isFull(EventData event) {
+        return event.getMaxParticipants() > 0 && event.getRegisteredCount() >= event.getMaxParticipants();
+    }
+}
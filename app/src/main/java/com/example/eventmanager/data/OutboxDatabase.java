@@ -0,0 +1,108 @@
+package com.example.eventmanager.data;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Actions the Outbox has not delivered yet, in the order they were made.
+ * Rows are keyed by their idempotency key. All methods hit the disk.
+ */
+public class OutboxDatabase extends SQLiteOpenHelper {
+
+    private static final String DATABASE_NAME = "outbox.db";
+    private static final int DATABASE_VERSION = 1;
+
+    private static final String TABLE_OUTBOX = "outbox";
+
+    private static final String COL_KEY = "idempotency_key";
+    private static final String COL_TYPE = "type";
+    private static final String COL_EVENT_ID = "event_id";
+    private static final String COL_PAYLOAD = "payload";
+
+    // Oldest first, as they were added
+    private static final String INSERTION_ORDER = "rowid";
+
+    // One queued action; payload is the JSON request body, or null if it has none
+    public static final class Entry {
+        public final String idempotencyKey;
+        public final String type;
+        public final int eventId;
+        public final String payload;
+
+        public Entry(String idempotencyKey, String type, int eventId, String payload) {
+            this.idempotencyKey = idempotencyKey;
+            this.type = type;
+            this.eventId = eventId;
+            this.payload = payload;
+        }
+    }
+
+    public OutboxDatabase(Context context) {
+        super(context.getApplicationContext(), DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_OUTBOX + " ("
+                + COL_KEY + " TEXT PRIMARY KEY, "
+                + COL_TYPE + " TEXT NOT NULL, "
+                + COL_EVENT_ID + " INTEGER NOT NULL, "
+                + COL_PAYLOAD + " TEXT)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Unlike the event cache these rows exist nowhere else, so later versions must migrate them
+    }
+
+    // Every queued action, oldest first
+    public List<Entry> getAll() {
+        List<Entry> entries = new ArrayList<>();
+        Cursor cursor = getReadableDatabase().query(TABLE_OUTBOX,
+                new String[]{COL_KEY, COL_TYPE, COL_EVENT_ID, COL_PAYLOAD},
+                null, null, null, null, INSERTION_ORDER);
+        try {
+            while (cursor.moveToNext()) {
+                entries.add(new Entry(cursor.getString(0), cursor.getString(1),
+                        cursor.getInt(2), cursor.getString(3)));
+            }
+        } finally {
+            cursor.close();
+        }
+        return entries;
+    }
+
+    public void add(Entry entry) {
+        ContentValues values = new ContentValues();
+        values.put(COL_KEY, entry.idempotencyKey);
+        values.put(COL_TYPE, entry.type);
+        values.put(COL_EVENT_ID, entry.eventId);
+        values.put(COL_PAYLOAD, entry.payload);
+        getWritableDatabase().insertWithOnConflict(TABLE_OUTBOX, null, values, SQLiteDatabase.CONFLICT_IGNORE);
+    }
+
+    // Remove delivered or rejected actions
+    public void delete(List<Entry> entries) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (Entry entry : entries) {
+                db.delete(TABLE_OUTBOX, COL_KEY + " = ?", new String[]{entry.idempotencyKey});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    // Remove everything (logout)
+    public void clear() {
+        getWritableDatabase().delete(TABLE_OUTBOX, null, null);
+    }
+}
@@ -1,92 +0,0 @@
-package com.example.eventmanager.models;
-
-import java.io.Serializable;
-
-public class Event implements Serializable {
-    private String id;
-    private String title;
-    private String description;
-    private String date;
-    private String time;
-    private String location;
-    private String category;
-    private String imageUrl;
-
-    public Event() {
-    }
-
-    public Event(String id, String title, String description, String date, String time, String location, String category) {
-        this.id = id;
-        this.title = title;
-        this.description = description;
-        this.date = date;
-        this.time = time;
-        this.location = location;
-        this.category = category;
-    }
-
-    public String getId() {
-        return id;
-    }
-
-    public void setId(String id) {
-        this.id = id;
-    }
-
-    public String getTitle() {
-        return title;
-    }
-
-    public void setTitle(String title) {
-        this.title = title;
-    }
-
-    public String getDescription() {
-        return description;
-    }
-
-    public void setDescription(String description) {
-        this.description = description;
-    }
-
-    public String getDate() {
-        return date;
-    }
-
-    public void setDate(String date) {
-        this.date = date;
-    }
-
-    public String getTime() {
-        return time;
-    }
-
-    public void setTime(String time) {
-        this.time = time;
-    }
-
-    public String getLocation() {
-        return location;
-    }
-
-    public void setLocation(String location) {
-        this.location = location;
-    }
-
-    public String getCategory() {
-        return category;
-    }
-
-    public void setCategory(String category) {
-        this.category = category;
-    }
-
-    public String getImageUrl() {
-        return imageUrl;
-    }
-
-    public void setImageUrl(String imageUrl) {
-        this.imageUrl = imageUrl;
-    }
-}
-
@@ -1,73 +0,0 @@
-package com.example.eventmanager.models;
-
-public class User {
-    private String id;
-    private String name;
-    private String email;
-    private String password;
-    private String role; // "admin" or "student"
-
-    public User() {
-    }
-
-    public User(String id, String name, String email, String password) {
-        this.id = id;
-        this.name = name;
-        this.email = email;
-        this.password = password;
-        this.role = "student"; // Default role
-    }
-
-    public User(String id, String name, String email, String password, String role) {
-        this.id = id;
-        this.name = name;
-        this.email = email;
-        this.password = password;
-        this.role = role;
-    }
-
-    public String getId() {
-        return id;
-    }
-
-    public void setId(String id) {
-        this.id = id;
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public void setName(String name) {
-        this.name = name;
-    }
-
-    public String getEmail() {
-        return email;
-    }
-
-    public void setEmail(String email) {
-        this.email = email;
-    }
-
-    public String getPassword() {
-        return password;
-    }
-
-    public void setPassword(String password) {
-        this.password = password;
-    }
-
-    public String getRole() {
-        return role != null ? role : "student";
-    }
-
-    public void setRole(String role) {
-        this.role = role;
-    }
-
-    public boolean isAdmin() {
-        return "admin".equalsIgnoreCase(getRole());
-    }
-}
-
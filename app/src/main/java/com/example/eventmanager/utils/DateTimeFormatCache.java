@@ -0,0 +1,102 @@
+package com.example.eventmanager.utils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Display formatting for the date and time strings the backend sends, shared by every
+ * list and screen. Formatters are built once and each raw value is formatted once, so
+ * binding a row that shows an already seen date allocates nothing. Month names and
+ * AM/PM are always English, as the app's own renderers printed them before.
+ * Thread-safe; unparseable values are returned unchanged, null and empty as "".
+ */
+public final class DateTimeFormatCache {
+
+    // Distinct raw values kept per kind; registration timestamps are mostly unique
+    private static final int MAX_ENTRIES = 512;
+
+    // Pinned rather than the default locale, the rest of the UI is English only
+    private static final Locale LOCALE = Locale.US;
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("MMM d, yyyy", LOCALE);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("h:mm a", LOCALE);
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("MMM d, yyyy h:mm a", LOCALE);
+
+    // Least recently used raw value is dropped first
+    private static final class Memo extends LinkedHashMap<String, String> {
+        Memo() {
+            super(64, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    }
+
+    private static final Memo dates = new Memo();
+    private static final Memo times = new Memo();
+    private static final Memo dateTimes = new Memo();
+
+    private DateTimeFormatCache() {
+    }
+
+    // Format date from "2025-12-15" to "Dec 15, 2025"
+    public static String formatDate(String date) {
+        if (date == null || date.isEmpty()) return "";
+        synchronized (dates) {
+            String formatted = dates.get(date);
+            if (formatted == null) {
+                try {
+                    formatted = DATE.format(LocalDate.parse(date));
+                } catch (DateTimeParseException e) {
+                    formatted = date;
+                }
+                dates.put(date, formatted);
+            }
+            return formatted;
+        }
+    }
+
+    // Format time from "14:00:00" (or "14:00") to "2:00 PM"
+    public static String formatTime(String time) {
+        if (time == null || time.isEmpty()) return "";
+        synchronized (times) {
+            String formatted = times.get(time);
+            if (formatted == null) {
+                try {
+                    formatted = TIME.format(LocalTime.parse(time));
+                } catch (DateTimeParseException e) {
+                    formatted = time;
+                }
+                times.put(time, formatted);
+            }
+            return formatted;
+        }
+    }
+
+    // Format "2025-12-15T14:00:00[.ffffff][+00:00]" to "Dec 15, 2025 2:00 PM", showing the time as sent
+    public static String formatDateTime(String dateTime) {
+        if (dateTime == null || dateTime.isEmpty()) return "";
+        synchronized (dateTimes) {
+            String formatted = dateTimes.get(dateTime);
+            if (formatted == null) {
+                try {
+                    // Seconds precision; fraction and offset are ignored
+                    String local = dateTime.length() > 19 ? dateTime.substring(0, 19) : dateTime;
+                    formatted = DATE_TIME.format(LocalDateTime.parse(local));
+                } catch (DateTimeParseException e) {
+                    formatted = dateTime;
+                }
+                dateTimes.put(dateTime, formatted);
+            }
+            return formatted;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.eventmanager.utils;
+
+import com.example.eventmanager.api.ResponseTypeAdapterFactory;
+import com.example.eventmanager.api.response.EventData;
+import com.example.eventmanager.api.response.UserData;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * The one Gson of the process, with the response model adapters registered.
+ * Retrofit, the session and local storage all share it, so Gson's adapter cache is
+ * filled once instead of per instance. The collection types the app stores are
+ * declared here once and their adapters are built up front.
+ */
+public final class JsonCodec {
+
+    public static final Type EVENT_DATA_LIST = new TypeToken<List<EventData>>(){}.getType();
+
+    private static final JsonCodec INSTANCE = new JsonCodec();
+
+    private final Gson gson;
+
+    private JsonCodec() {
+        gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ResponseTypeAdapterFactory())
+                .create();
+
+        // Resolve the adapters once
+        gson.getAdapter(UserData.class);
+        gson.getAdapter(TypeToken.get(EVENT_DATA_LIST));
+    }
+
+    public static JsonCodec getInstance() {
+        return INSTANCE;
+    }
+
+    // Underlying Gson, for Retrofit's converter and streaming parsers
+    public Gson gson() {
+        return gson;
+    }
+
+    public String toJson(Object value) {
+        return gson.toJson(value);
+    }
+
+    public <T> T fromJson(String json, Class<T> type) {
+        return gson.fromJson(json, type);
+    }
+
+    // For the list types above
+    public <T> T fromJson(String json, Type type) {
+        return gson.fromJson(json, type);
+    }
+}
@@ -3,94 +3,212 @@ package com.example.eventmanager.utils;
 import android.content.Context;
 import android.content.SharedPreferences;
 
+import com.example.eventmanager.api.TokenAuthenticator;
 import com.example.eventmanager.api.response.UserData;
-import com.google.gson.Gson;
+import com.example.eventmanager.data.EventRepository;
+import com.example.eventmanager.data.Outbox;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Login state for the whole process.
+ * The tokens and user are read from SharedPreferences once and then served from an
+ * immutable in-memory snapshot, so lookups are plain field reads. Changes replace the
+ * snapshot right away and are written to disk behind the caller, in order, on a
+ * background thread. Token refreshes run on OkHttp threads and logout on the main
+ * thread, so every change reads, publishes and queues its write under one lock.
+ */
+public class SessionManager implements TokenAuthenticator.TokenStore {
 
-public class SessionManager {
-    
     private static final String PREF_NAME = "EventManagerPrefs";
     private static final String KEY_ACCESS_TOKEN = "access_token";
     private static final String KEY_REFRESH_TOKEN = "refresh_token";
     private static final String KEY_USER_DATA = "user_data";
     private static final String KEY_IS_LOGGED_IN = "is_logged_in";
-    
+
+    // What is known about the session at one point in time; never modified
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(null, null, null, false);
+
+        final String accessToken;
+        // "Bearer <token>", built once per token instead of once per request
+        final String authHeader;
+        final String refreshToken;
+        final UserData user;
+        final boolean loggedIn;
+
+        Snapshot(String accessToken, String refreshToken, UserData user, boolean loggedIn) {
+            this.accessToken = accessToken;
+            this.authHeader = accessToken != null && !accessToken.isEmpty() ? "Bearer " + accessToken : null;
+            this.refreshToken = refreshToken;
+            this.user = user;
+            this.loggedIn = loggedIn;
+        }
+    }
+
+    private static final JsonCodec codec = JsonCodec.getInstance();
+    private static volatile Snapshot snapshot;
+    // Held while a change reads the snapshot, replaces it and queues its disk write
+    private static final Object lock = new Object();
+    // Single thread keeps writes in the order the session changed
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor();
+
+    private Context context;
     private SharedPreferences prefs;
-    private SharedPreferences.Editor editor;
-    private Gson gson;
-    
+
     public SessionManager(Context context) {
-        prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-        editor = prefs.edit();
-        gson = new Gson();
+        this.context = context.getApplicationContext();
+        prefs = this.context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        if (snapshot == null) {
+            load(prefs);
+        }
     }
-    
+
+    // Read the stored session the first time any SessionManager is created
+    private static void load(SharedPreferences prefs) {
+        synchronized (lock) {
+            if (snapshot != null) {
+                return;
+            }
+            String userJson = prefs.getString(KEY_USER_DATA, null);
+            UserData user = userJson != null ? codec.fromJson(userJson, UserData.class) : null;
+            snapshot = new Snapshot(
+                    prefs.getString(KEY_ACCESS_TOKEN, null),
+                    prefs.getString(KEY_REFRESH_TOKEN, null),
+                    user,
+                    prefs.getBoolean(KEY_IS_LOGGED_IN, false));
+        }
+    }
+
     // Save login session
     public void saveLoginSession(String accessToken, String refreshToken, UserData user) {
-        editor.putString(KEY_ACCESS_TOKEN, accessToken);
-        editor.putString(KEY_REFRESH_TOKEN, refreshToken);
-        editor.putString(KEY_USER_DATA, gson.toJson(user));
-        editor.putBoolean(KEY_IS_LOGGED_IN, true);
-        editor.apply();
+        synchronized (lock) {
+            snapshot = new Snapshot(accessToken, refreshToken, user, true);
+            writer.execute(() -> prefs.edit()
+                    .putString(KEY_ACCESS_TOKEN, accessToken)
+                    .putString(KEY_REFRESH_TOKEN, refreshToken)
+                    .putString(KEY_USER_DATA, codec.toJson(user))
+                    .putBoolean(KEY_IS_LOGGED_IN, true)
+                    .commit());
+        }
+    }
+
+    // Replace the token pair, e.g. after a refresh; ignored once logged out
+    public void saveTokens(String accessToken, String refreshToken) {
+        synchronized (lock) {
+            Snapshot current = snapshot;
+            if (!current.loggedIn) {
+                return;
+            }
+            snapshot = new Snapshot(accessToken, refreshToken, current.user, true);
+            writer.execute(() -> prefs.edit()
+                    .putString(KEY_ACCESS_TOKEN, accessToken)
+                    .putString(KEY_REFRESH_TOKEN, refreshToken)
+                    .commit());
+        }
+    }
+
+    /**
+     * Store a refreshed token pair only if the session still holds the refresh token
+     * that was sent, so a refresh that finishes after logout or a newer login is dropped.
+     * Returns whether the tokens were stored.
+     */
+    @Override
+    public boolean replaceTokens(String sentRefreshToken, String accessToken, String refreshToken) {
+        synchronized (lock) {
+            Snapshot current = snapshot;
+            if (!current.loggedIn || !sentRefreshToken.equals(current.refreshToken)) {
+                return false;
+            }
+            saveTokens(accessToken, refreshToken);
+            return true;
+        }
+    }
+
+    // Forget the token pair but keep the rest of the session
+    public void clearTokens() {
+        synchronized (lock) {
+            Snapshot current = snapshot;
+            snapshot = new Snapshot(null, null, current.user, current.loggedIn);
+            writer.execute(() -> prefs.edit()
+                    .remove(KEY_ACCESS_TOKEN)
+                    .remove(KEY_REFRESH_TOKEN)
+                    .commit());
+        }
     }
-    
+
     // Check if user is logged in
     public boolean isLoggedIn() {
-        return prefs.getBoolean(KEY_IS_LOGGED_IN, false);
+        return snapshot.loggedIn;
     }
-    
+
     // Get access token
+    @Override
     public String getAccessToken() {
-        return prefs.getString(KEY_ACCESS_TOKEN, null);
+        return snapshot.accessToken;
     }
-    
+
+    // Authorization header value for the access token, or null when there is none
+    public String getAuthHeader() {
+        return snapshot.authHeader;
+    }
+
     // Get refresh token
+    @Override
     public String getRefreshToken() {
-        return prefs.getString(KEY_REFRESH_TOKEN, null);
+        return snapshot.refreshToken;
     }
-    
-    // Get current user
+
+    // Get current user; the instance is shared, treat it as read-only
     public UserData getCurrentUser() {
-        String userJson = prefs.getString(KEY_USER_DATA, null);
-        if (userJson != null) {
-            return gson.fromJson(userJson, UserData.class);
-        }
-        return null;
+        return snapshot.user;
     }
-    
+
     // Check if current user is admin
     public boolean isAdmin() {
-        UserData user = getCurrentUser();
+        UserData user = snapshot.user;
         return user != null && user.isAdmin();
     }
-    
+
     // Get user role
     public String getUserRole() {
-        UserData user = getCurrentUser();
+        UserData user = snapshot.user;
         return user != null ? user.getRole() : null;
     }
-    
+
     // Get user name
     public String getUserName() {
-        UserData user = getCurrentUser();
+        UserData user = snapshot.user;
         return user != null ? user.getName() : null;
     }
-    
+
     // Get user email
     public String getUserEmail() {
-        UserData user = getCurrentUser();
+        UserData user = snapshot.user;
         return user != null ? user.getEmail() : null;
     }
-    
+
     // Update user data
     public void updateUserData(UserData user) {
-        editor.putString(KEY_USER_DATA, gson.toJson(user));
-        editor.apply();
+        synchronized (lock) {
+            Snapshot current = snapshot;
+            snapshot = new Snapshot(current.accessToken, current.refreshToken, user, current.loggedIn);
+            writer.execute(() -> prefs.edit()
+                    .putString(KEY_USER_DATA, codec.toJson(user))
+                    .commit());
+        }
     }
-    
+
     // Logout - clear all session data
     public void logout() {
-        editor.clear();
-        editor.apply();
+        synchronized (lock) {
+            snapshot = Snapshot.EMPTY;
+            writer.execute(() -> prefs.edit().clear().commit());
+        }
+
+        // Queued actions and stored events belong to this user
+        Outbox.getInstance(context).clear();
+        EventRepository.getInstance(context).clear();
     }
 }
-
@@ -0,0 +1,65 @@
+package com.example.eventmanager;
+
+import org.junit.Assume;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Support for the opt-in JVM microbenchmarks (the *Benchmark test classes).
+ * They are skipped unless the build runs with -Pbenchmark, assert nothing, and write
+ * their numbers to build/reports/benchmarks/<name>.txt instead of the test output.
+ */
+public final class Benchmarks {
+
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    private Benchmarks() {
+    }
+
+    public static void assumeEnabled() {
+        Assume.assumeTrue("Benchmarks run with -Pbenchmark", Boolean.getBoolean("benchmark"));
+    }
+
+    // Best wall time of one run out of rounds; interleave competing tasks between calls
+    public static long bestNanos(int rounds, Task task) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            task.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    // Bytes the current thread allocates per run, or -1 when the JVM cannot report it
+    public static long allocatedBytes(int rounds, Task task) throws Exception {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        long threadId = Thread.currentThread().getId();
+
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < rounds; i++) {
+            task.run();
+        }
+        return (threadBean.getThreadAllocatedBytes(threadId) - before) / rounds;
+    }
+
+    public static void report(String name, List<String> lines) throws IOException {
+        File dir = new File(System.getProperty("benchmark.dir", "build/reports/benchmarks"));
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        Files.write(new File(dir, name + ".txt").toPath(), lines, StandardCharsets.UTF_8);
+    }
+}
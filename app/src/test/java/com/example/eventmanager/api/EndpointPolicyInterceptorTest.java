@@ -0,0 +1,233 @@
+package com.example.eventmanager.api;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import static org.junit.Assert.*;
+
+/**
+ * The circuit breaker in EndpointPolicyInterceptor, on a real OkHttp chain that ends in
+ * an interceptor standing in for the server. Requests carry no ApiService method, so
+ * they are not retried, and the breaker's clock is moved by hand.
+ */
+public class EndpointPolicyInterceptorTest {
+
+    private static final long OPEN_MS = 5 * 1000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final AtomicInteger served = new AtomicInteger();
+    // Requests to these paths wait in the server until released
+    private final Map<String, Gate> gates = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final OkHttpClient client = new OkHttpClient.Builder()
+            .addInterceptor(new EndpointPolicyInterceptor(now::get))
+            .addInterceptor(chain -> {
+                served.incrementAndGet();
+                String path = chain.request().url().encodedPath();
+                Gate gate = gates.get(path);
+                if (gate != null) {
+                    gate.entered.countDown();
+                    try {
+                        gate.release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                    if (gate.cancel) {
+                        chain.call().cancel();
+                        throw new IOException("Canceled");
+                    }
+                }
+                return new Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(path.endsWith("/down/") ? 503 : 200)
+                        .message("")
+                        .body(ResponseBody.create("", null))
+                        .build();
+            })
+            .build();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void opensAfterThreeFailures() throws IOException {
+        assertEquals(503, call("/down/"));
+        assertEquals(503, call("/down/"));
+        assertEquals(503, call("/down/"));
+
+        assertRefused("/ok/");
+        assertEquals(3, served.get());
+    }
+
+    @Test
+    public void successResetsFailureCount() throws IOException {
+        call("/down/");
+        call("/down/");
+        call("/ok/");
+        call("/down/");
+
+        assertEquals(200, call("/ok/"));
+    }
+
+    @Test
+    public void letsOneProbeThroughAfterOpenPeriod() throws Exception {
+        open();
+        now.addAndGet(OPEN_MS - 1);
+        assertRefused("/ok/");
+
+        now.addAndGet(1);
+        Gate probe = gate("/probe/", false);
+        Future<Integer> probeCall = callAsync("/probe/");
+        probe.awaitEntered();
+
+        // Only one request finds out whether the server is back
+        assertRefused("/ok/");
+
+        probe.release.countDown();
+        assertEquals(200, (int) probeCall.get(5, TimeUnit.SECONDS));
+        assertEquals(200, call("/ok/"));
+    }
+
+    @Test
+    public void failedProbeDoublesOpenPeriod() throws IOException {
+        open();
+        now.addAndGet(OPEN_MS);
+        assertEquals(503, call("/down/"));
+
+        now.addAndGet(2 * OPEN_MS - 1);
+        assertRefused("/ok/");
+        now.addAndGet(1);
+        assertEquals(503, call("/down/"));
+
+        now.addAndGet(4 * OPEN_MS - 1);
+        assertRefused("/ok/");
+        now.addAndGet(1);
+        assertEquals(200, call("/ok/"));
+
+        // Closed again, with the open period back to its start
+        open();
+        now.addAndGet(OPEN_MS);
+        assertEquals(200, call("/ok/"));
+    }
+
+    @Test
+    public void cancelledProbeLetsNextRequestProbe() throws Exception {
+        open();
+        now.addAndGet(OPEN_MS);
+
+        Gate probe = gate("/probe/", true);
+        Future<Integer> probeCall = callAsync("/probe/");
+        probe.awaitEntered();
+        probe.release.countDown();
+        try {
+            probeCall.get(5, TimeUnit.SECONDS);
+            fail("Probe was cancelled");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof IOException);
+        }
+
+        // No result from the cancelled probe: the breaker is neither stuck nor reopened
+        assertEquals(200, call("/ok/"));
+    }
+
+    @Test
+    public void lateFailureDoesNotCountAsProbe() throws Exception {
+        // Let through while the breaker was still closed, and answered after it opened
+        Gate late = gate("/late/down/", false);
+        Future<Integer> lateCall = callAsync("/late/down/");
+        late.awaitEntered();
+
+        open();
+        now.addAndGet(OPEN_MS);
+        Gate probe = gate("/probe/down/", false);
+        Future<Integer> probeCall = callAsync("/probe/down/");
+        probe.awaitEntered();
+
+        late.release.countDown();
+        assertEquals(503, (int) lateCall.get(5, TimeUnit.SECONDS));
+        // The probe is still out
+        assertRefused("/ok/");
+
+        probe.release.countDown();
+        assertEquals(503, (int) probeCall.get(5, TimeUnit.SECONDS));
+
+        // Doubled once, for the probe alone
+        now.addAndGet(2 * OPEN_MS - 1);
+        assertRefused("/ok/");
+        now.addAndGet(1);
+        assertEquals(200, call("/ok/"));
+    }
+
+    private void open() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(503, call("/down/"));
+        }
+        assertRefused("/ok/");
+    }
+
+    private int call(String path) throws IOException {
+        try (Response response = client.newCall(request(path)).execute()) {
+            return response.code();
+        }
+    }
+
+    private Future<Integer> callAsync(String path) {
+        return executor.submit(() -> call(path));
+    }
+
+    private void assertRefused(String path) throws IOException {
+        int servedBefore = served.get();
+        try {
+            call(path);
+            fail("Expected the breaker to refuse " + path);
+        } catch (CircuitOpenException expected) {
+            assertEquals(servedBefore, served.get());
+        }
+    }
+
+    private Gate gate(String path, boolean cancel) {
+        Gate gate = new Gate(cancel);
+        gates.put(path, gate);
+        return gate;
+    }
+
+    private static Request request(String path) {
+        return new Request.Builder().url("http://10.0.2.2:8000" + path).build();
+    }
+
+    private static final class Gate {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final boolean cancel;
+
+        Gate(boolean cancel) {
+            this.cancel = cancel;
+        }
+
+        void awaitEntered() throws InterruptedException {
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+        }
+    }
+}
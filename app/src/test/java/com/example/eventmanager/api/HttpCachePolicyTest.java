@@ -0,0 +1,163 @@
+package com.example.eventmanager.api;
+
+import com.example.eventmanager.api.request.BatchRegistrationRequest;
+import com.example.eventmanager.api.request.BatchReminderRequest;
+import com.example.eventmanager.api.request.EventRegistrationRequest;
+import com.google.gson.Gson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import okhttp3.Cache;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+/**
+ * A successful outbox batch must drop the cached events/{id}/ detail of every event it
+ * names, so the detail screen does not get the pre-registration copy back from disk.
+ */
+public class HttpCachePolicyTest {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    @Rule
+    public TemporaryFolder cacheDir = new TemporaryFolder();
+
+    private final Gson gson = new Gson();
+    private MockWebServer server;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        Cache cache = new Cache(cacheDir.getRoot(), 1024 * 1024);
+        client = new OkHttpClient.Builder()
+                .cache(cache)
+                .addNetworkInterceptor(new HttpCachePolicy(cache))
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void detailIsServedFromCacheWhileFresh() throws IOException {
+        cacheDetail(5);
+
+        try (Response response = get("/api/events/5/")) {
+            assertNull(response.networkResponse());
+            assertEquals(detailJson(5, false), response.body().string());
+        }
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void batchRegisterDropsCachedDetail() throws IOException {
+        cacheDetail(5);
+
+        BatchRegistrationRequest batch = new BatchRegistrationRequest(Collections.singletonList(
+                new BatchRegistrationRequest.Item(5,
+                        new EventRegistrationRequest("Ann", "ann@example.com", "555", "S1"), "key-1")));
+        post("/api/events/batch/register/", gson.toJson(batch));
+
+        assertRefetched(5);
+    }
+
+    @Test
+    public void batchSetReminderDropsCachedDetail() throws IOException {
+        cacheDetail(5);
+
+        BatchReminderRequest batch = new BatchReminderRequest(Collections.singletonList(
+                new BatchReminderRequest.Item(5, "1_hour", "key-1")));
+        post("/api/events/batch/set-reminder/", gson.toJson(batch));
+
+        assertRefetched(5);
+    }
+
+    @Test
+    public void batchKeepsOtherEventsCached() throws IOException {
+        cacheDetail(5);
+
+        BatchReminderRequest batch = new BatchReminderRequest(Collections.singletonList(
+                new BatchReminderRequest.Item(6, "1_hour", "key-1")));
+        post("/api/events/batch/set-reminder/", gson.toJson(batch));
+
+        try (Response response = get("/api/events/5/")) {
+            assertNull(response.networkResponse());
+        }
+    }
+
+    @Test
+    public void failedBatchKeepsCachedDetail() throws IOException {
+        cacheDetail(5);
+
+        BatchReminderRequest batch = new BatchReminderRequest(Collections.singletonList(
+                new BatchReminderRequest.Item(5, "1_hour", "key-1")));
+        server.enqueue(new MockResponse().setResponseCode(503));
+        try (Response ignored = client.newCall(new Request.Builder()
+                .url(server.url("/api/events/batch/set-reminder/"))
+                .post(RequestBody.create(gson.toJson(batch), JSON))
+                .build()).execute()) {
+            // Drained by close
+        }
+
+        try (Response response = get("/api/events/5/")) {
+            assertNull(response.networkResponse());
+        }
+    }
+
+    private void cacheDetail(int eventId) throws IOException {
+        server.enqueue(new MockResponse()
+                .setHeader("ETag", "\"v1\"")
+                .setBody(detailJson(eventId, false)));
+        try (Response response = get("/api/events/" + eventId + "/")) {
+            assertNotNull(response.networkResponse());
+            response.body().string();
+        }
+    }
+
+    // The next detail request goes to the server and sees the registration
+    private void assertRefetched(int eventId) throws IOException {
+        server.enqueue(new MockResponse()
+                .setHeader("ETag", "\"v2\"")
+                .setBody(detailJson(eventId, true)));
+        try (Response response = get("/api/events/" + eventId + "/")) {
+            assertNotNull(response.networkResponse());
+            assertEquals(detailJson(eventId, true), response.body().string());
+        }
+    }
+
+    private Response get(String path) throws IOException {
+        return client.newCall(new Request.Builder().url(server.url(path)).build()).execute();
+    }
+
+    private void post(String path, String json) throws IOException {
+        server.enqueue(new MockResponse().setBody("{\"success\":true}"));
+        try (Response response = client.newCall(new Request.Builder()
+                .url(server.url(path))
+                .post(RequestBody.create(json, JSON))
+                .build()).execute()) {
+            assertTrue(response.isSuccessful());
+        }
+    }
+
+    private static String detailJson(int eventId, boolean registered) {
+        return "{\"success\":true,\"event\":{\"id\":" + eventId + ",\"is_registered\":" + registered + "}}";
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.eventmanager.api;
+
+import com.example.eventmanager.Benchmarks;
+import com.example.eventmanager.api.response.BaseResponse;
+import com.example.eventmanager.api.response.EventListResponse;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parse cost of a 1k-event EventListResponse with reflective Gson and with
+ * ResponseTypeAdapterFactory: the first parse on a new Gson, which includes building
+ * its bindings, warm parses, and allocation per parse.
+ */
+public class ResponseTypeAdapterBenchmark {
+
+    private static final int EVENT_COUNT = 1000;
+    private static final int FIRST_PARSE_SAMPLES = 50;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 100;
+
+    @Test
+    public void parseEventList() throws Exception {
+        Benchmarks.assumeEnabled();
+        String json = ResponseTypeAdapterFactoryTest.buildEventListJson(EVENT_COUNT);
+
+        // Gson's own classes are loaded, so first parses differ only by model binding
+        new Gson().fromJson("{\"success\":true}", BaseResponse.class);
+        newAdapterGson().fromJson("{\"success\":true}", BaseResponse.class);
+
+        // A new Gson per sample; the median is steadier than one cold run
+        long[] firstReflective = new long[FIRST_PARSE_SAMPLES];
+        long[] firstAdapters = new long[FIRST_PARSE_SAMPLES];
+        for (int i = 0; i < FIRST_PARSE_SAMPLES; i++) {
+            Gson reflective = new Gson();
+            Gson adapters = newAdapterGson();
+            firstReflective[i] = Benchmarks.bestNanos(1, () -> reflective.fromJson(json, EventListResponse.class));
+            firstAdapters[i] = Benchmarks.bestNanos(1, () -> adapters.fromJson(json, EventListResponse.class));
+        }
+        long firstAllocReflective = Benchmarks.allocatedBytes(FIRST_PARSE_SAMPLES,
+                () -> new Gson().fromJson(json, EventListResponse.class));
+        long firstAllocAdapters = Benchmarks.allocatedBytes(FIRST_PARSE_SAMPLES,
+                () -> newAdapterGson().fromJson(json, EventListResponse.class));
+
+        Gson reflective = new Gson();
+        Gson adapters = newAdapterGson();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            reflective.fromJson(json, EventListResponse.class);
+            adapters.fromJson(json, EventListResponse.class);
+        }
+        long warmReflective = Long.MAX_VALUE;
+        long warmAdapters = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            warmReflective = Math.min(warmReflective,
+                    Benchmarks.bestNanos(1, () -> reflective.fromJson(json, EventListResponse.class)));
+            warmAdapters = Math.min(warmAdapters,
+                    Benchmarks.bestNanos(1, () -> adapters.fromJson(json, EventListResponse.class)));
+        }
+        long allocReflective = Benchmarks.allocatedBytes(MEASURED_ROUNDS,
+                () -> reflective.fromJson(json, EventListResponse.class));
+        long allocAdapters = Benchmarks.allocatedBytes(MEASURED_ROUNDS,
+                () -> adapters.fromJson(json, EventListResponse.class));
+
+        List<String> lines = new ArrayList<>();
+        lines.add("EventListResponse, " + EVENT_COUNT + " events");
+        lines.add("first parse, new Gson (median of " + FIRST_PARSE_SAMPLES + "): reflective "
+                + median(firstReflective) / 1000 + " us, adapters " + median(firstAdapters) / 1000 + " us");
+        lines.add("first parse alloc: reflective " + firstAllocReflective / 1024
+                + " KB, adapters " + firstAllocAdapters / 1024 + " KB");
+        lines.add("warm parse (best of " + MEASURED_ROUNDS + "): reflective " + warmReflective / 1000
+                + " us, adapters " + warmAdapters / 1000 + " us");
+        lines.add("warm alloc per parse: reflective " + allocReflective / 1024
+                + " KB, adapters " + allocAdapters / 1024 + " KB");
+        Benchmarks.report("ResponseTypeAdapterBenchmark", lines);
+    }
+
+    private static Gson newAdapterGson() {
+        return new GsonBuilder()
+                .registerTypeAdapterFactory(new ResponseTypeAdapterFactory())
+                .create();
+    }
+
+    private static long median(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.eventmanager.api;
+
+import com.example.eventmanager.api.response.EventData;
+import com.example.eventmanager.api.response.EventListResponse;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The hand-written adapters in ResponseTypeAdapterFactory must bind an
+ * EventListResponse exactly as reflective Gson does.
+ */
+public class ResponseTypeAdapterFactoryTest {
+
+    private static final int EVENT_COUNT = 1000;
+
+    @Test
+    public void adaptersMatchReflectiveParse() {
+        String json = buildEventListJson(EVENT_COUNT);
+
+        EventListResponse reflective = new Gson().fromJson(json, EventListResponse.class);
+        EventListResponse generated = newAdapterGson().fromJson(json, EventListResponse.class);
+
+        assertEquals(reflective.isSuccess(), generated.isSuccess());
+        assertEquals(reflective.getMessage(), generated.getMessage());
+        assertEquals(reflective.getCount(), generated.getCount());
+        assertEquals(reflective.getSyncedAt(), generated.getSyncedAt());
+        assertEquals(reflective.getDeleted(), generated.getDeleted());
+        assertEquals(EVENT_COUNT, generated.getEvents().size());
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            assertEventEquals(reflective.getEvents().get(i), generated.getEvents().get(i));
+        }
+    }
+
+    @Test
+    public void adaptersRoundTrip() {
+        Gson gson = newAdapterGson();
+        String json = buildEventListJson(10);
+
+        EventListResponse parsed = gson.fromJson(json, EventListResponse.class);
+        EventListResponse reparsed = gson.fromJson(gson.toJson(parsed), EventListResponse.class);
+
+        assertEquals(parsed.getSyncedAt(), reparsed.getSyncedAt());
+        for (int i = 0; i < parsed.getEvents().size(); i++) {
+            assertEventEquals(parsed.getEvents().get(i), reparsed.getEvents().get(i));
+        }
+    }
+
+    private static Gson newAdapterGson() {
+        return new GsonBuilder()
+                .registerTypeAdapterFactory(new ResponseTypeAdapterFactory())
+                .create();
+    }
+
+    private static void assertEventEquals(EventData expected, EventData actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getDate(), actual.getDate());
+        assertEquals(expected.getTime(), actual.getTime());
+        assertEquals(expected.getLocation(), actual.getLocation());
+        assertEquals(expected.getCategory(), actual.getCategory());
+        assertEquals(expected.getCreatedBy(), actual.getCreatedBy());
+        assertEquals(expected.getCreatedByName(), actual.getCreatedByName());
+        assertEquals(expected.getMaxParticipants(), actual.getMaxParticipants());
+        assertEquals(expected.getRegisteredCount(), actual.getRegisteredCount());
+        assertEquals(expected.isFull(), actual.isFull());
+        assertEquals(expected.isActive(), actual.isActive());
+        assertEquals(expected.isRegistered(), actual.isRegistered());
+        assertEquals(expected.hasReminder(), actual.hasReminder());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+    }
+
+    // Same shape as the backend's events/ response; shared with ResponseTypeAdapterBenchmark
+    static String buildEventListJson(int count) {
+        StringBuilder json = new StringBuilder(count * 450);
+        json.append("{\"success\":true,\"count\":").append(count).append(",\"events\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            int id = 1000 + i;
+            json.append("{\"id\":").append(id)
+                    .append(",\"title\":\"Event ").append(id).append('"')
+                    .append(",\"description\":\"Description for event ").append(id).append(" with some detail text\"")
+                    .append(",\"date\":\"2025-12-").append(String.format("%02d", 1 + i % 28)).append('"')
+                    .append(",\"time\":\"").append(String.format("%02d", 8 + i % 12)).append(":00:00\"")
+                    .append(",\"location\":\"Hall ").append(i % 10).append('"')
+                    .append(",\"category\":\"").append(i % 2 == 0 ? "Workshop" : "Seminar").append('"')
+                    .append(",\"created_by\":").append(1 + i % 5)
+                    .append(",\"created_by_name\":\"Admin ").append(1 + i % 5).append('"')
+                    .append(",\"max_participants\":").append(50 + i % 100)
+                    .append(",\"registered_count\":").append(i % 50)
+                    .append(",\"is_full\":").append(i % 7 == 0)
+                    .append(",\"is_active\":true")
+                    .append(",\"is_registered\":").append(i % 3 == 0)
+                    .append(",\"has_reminder\":").append(i % 4 == 0)
+                    .append(",\"created_at\":\"2025-11-01T10:00:00.000000Z\"")
+                    .append(",\"updated_at\":\"2025-11-02T10:00:00.").append(String.format("%06d", i)).append("Z\"")
+                    .append('}');
+        }
+        json.append("],\"deleted\":[3,7,11],\"synced_at\":\"2025-11-03T09:00:00.000000Z\"}");
+        return json.toString();
+    }
+}
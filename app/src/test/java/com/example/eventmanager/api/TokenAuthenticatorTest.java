@@ -0,0 +1,185 @@
+package com.example.eventmanager.api;
+
+import com.google.gson.Gson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Concurrent requests with an expired access token against a server that answers 401
+ * until the token is refreshed: one refresh for all of them, each replayed with the
+ * new token, and the 401 passed on when the refresh token is turned down too.
+ */
+public class TokenAuthenticatorTest {
+
+    private static final int CALLS = 8;
+    private static final String REFRESH_PATH = "/api/auth/token/refresh/";
+
+    private final AtomicInteger refreshes = new AtomicInteger();
+    private final AtomicInteger replays = new AtomicInteger();
+    // Every call has been refused with the old token
+    private final CountDownLatch allRefused = new CountDownLatch(CALLS);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLS);
+    private final FakeTokens tokens = new FakeTokens("old-access", "old-refresh");
+
+    private MockWebServer server;
+    private OkHttpClient client;
+    private volatile boolean rejectRefresh;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (REFRESH_PATH.equals(request.getPath())) {
+                    refreshes.incrementAndGet();
+                    // Answer once every call is waiting on the refresh
+                    allRefused.await(5, TimeUnit.SECONDS);
+                    if (rejectRefresh) {
+                        return new MockResponse().setResponseCode(401);
+                    }
+                    return new MockResponse().setBody("{\"access\":\"new-access\",\"refresh\":\"new-refresh\"}");
+                }
+                if ("Bearer new-access".equals(request.getHeader("Authorization"))) {
+                    replays.incrementAndGet();
+                    return new MockResponse().setBody("{\"success\":true}");
+                }
+                allRefused.countDown();
+                return new MockResponse().setResponseCode(401);
+            }
+        });
+        server.start();
+
+        client = new OkHttpClient.Builder()
+                .addInterceptor(new AuthInterceptor(() -> "Bearer " + tokens.getAccessToken()))
+                .authenticator(new TokenAuthenticator(tokens, new OkHttpClient(),
+                        () -> server.url("/api/"), new Gson()))
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        server.shutdown();
+    }
+
+    @Test
+    public void concurrent401sShareOneRefresh() throws Exception {
+        List<Integer> codes = callConcurrently();
+
+        assertEquals(1, refreshes.get());
+        assertEquals(CALLS, replays.get());
+        for (int code : codes) {
+            assertEquals(200, code);
+        }
+        assertEquals("new-access", tokens.getAccessToken());
+        assertEquals("new-refresh", tokens.getRefreshToken());
+    }
+
+    @Test
+    public void rejectedRefreshPassesOn401() throws Exception {
+        rejectRefresh = true;
+
+        List<Integer> codes = callConcurrently();
+
+        assertEquals(1, refreshes.get());
+        assertEquals(0, replays.get());
+        for (int code : codes) {
+            assertEquals(401, code);
+        }
+        assertEquals("old-access", tokens.getAccessToken());
+    }
+
+    @Test
+    public void refreshAfterLogoutIsDropped() throws Exception {
+        tokens.beforeReplace = tokens::logout;
+
+        List<Integer> codes = callConcurrently();
+
+        assertEquals(1, refreshes.get());
+        for (int code : codes) {
+            assertEquals(401, code);
+        }
+        assertNull(tokens.getAccessToken());
+    }
+
+    private List<Integer> callConcurrently() throws Exception {
+        List<Future<Integer>> calls = new ArrayList<>();
+        for (int i = 0; i < CALLS; i++) {
+            calls.add(executor.submit(() -> {
+                Request request = new Request.Builder().url(server.url("/api/events/")).build();
+                try (Response response = client.newCall(request).execute()) {
+                    return response.code();
+                }
+            }));
+        }
+        List<Integer> codes = new ArrayList<>();
+        for (Future<Integer> call : calls) {
+            codes.add(call.get(10, TimeUnit.SECONDS));
+        }
+        return codes;
+    }
+
+    // SessionManager's contract without SharedPreferences
+    private static final class FakeTokens implements TokenAuthenticator.TokenStore {
+        private String accessToken;
+        private String refreshToken;
+        // Runs when a refreshed pair arrives, before it is stored
+        Runnable beforeReplace = () -> { };
+
+        FakeTokens(String accessToken, String refreshToken) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+        }
+
+        @Override
+        public synchronized String getAccessToken() {
+            return accessToken;
+        }
+
+        @Override
+        public synchronized String getRefreshToken() {
+            return refreshToken;
+        }
+
+        @Override
+        public boolean replaceTokens(String sentRefreshToken, String accessToken, String refreshToken) {
+            beforeReplace.run();
+            synchronized (this) {
+                if (!sentRefreshToken.equals(this.refreshToken)) {
+                    return false;
+                }
+                this.accessToken = accessToken;
+                this.refreshToken = refreshToken;
+                return true;
+            }
+        }
+
+        synchronized void logout() {
+            accessToken = null;
+            refreshToken = null;
+        }
+    }
+}
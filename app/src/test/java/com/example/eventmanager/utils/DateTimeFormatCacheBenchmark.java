@@ -0,0 +1,108 @@
+package com.example.eventmanager.utils;
+
+import com.example.eventmanager.Benchmarks;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Cost of the date and time text of one onBindViewHolder, produced by the
+ * string-splitting formatters EventAdapter used, by the per-row SimpleDateFormat ones
+ * the admin dashboard used, and by DateTimeFormatCache.
+ */
+public class DateTimeFormatCacheBenchmark {
+
+    private static final int ROW_COUNT = 1000;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 20;
+
+    private enum Renderer { SPLIT, SIMPLE_DATE_FORMAT, CACHE }
+
+    private final String[] dates = new String[ROW_COUNT];
+    private final String[] times = new String[ROW_COUNT];
+
+    @Test
+    public void bindDateAndTime() throws Exception {
+        Benchmarks.assumeEnabled();
+
+        // Same spread as a real list: a few dozen dates and a dozen start times
+        for (int i = 0; i < ROW_COUNT; i++) {
+            dates[i] = "2025-12-" + String.format(Locale.US, "%02d", 1 + i % 28);
+            times[i] = String.format(Locale.US, "%02d", 8 + i % 12) + ":" + (i % 2 == 0 ? "00" : "30") + ":00";
+        }
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            for (Renderer renderer : Renderer.values()) {
+                bindAll(renderer);
+            }
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add("Date + time text, " + ROW_COUNT + " binds (best of " + MEASURED_ROUNDS + ")");
+        for (Renderer renderer : Renderer.values()) {
+            long nanos = Benchmarks.bestNanos(MEASURED_ROUNDS, () -> bindAll(renderer));
+            long bytes = Benchmarks.allocatedBytes(MEASURED_ROUNDS, () -> bindAll(renderer));
+            lines.add(renderer + ": " + nanos / ROW_COUNT + " ns/bind, "
+                    + (bytes >= 0 ? bytes / ROW_COUNT + " B/bind" : "allocation not reported"));
+        }
+        Benchmarks.report("DateTimeFormatCacheBenchmark", lines);
+    }
+
+    private int bindAll(Renderer renderer) {
+        int total = 0;
+        for (int i = 0; i < ROW_COUNT; i++) {
+            total += bind(renderer, i);
+        }
+        return total;
+    }
+
+    // What one onBindViewHolder does for the date and time views
+    private int bind(Renderer renderer, int row) {
+        String date;
+        String time;
+        switch (renderer) {
+            case SPLIT:
+                date = DateTimeFormatCacheTest.splitFormatDate(dates[row]);
+                time = DateTimeFormatCacheTest.splitFormatTime(times[row]);
+                break;
+            case SIMPLE_DATE_FORMAT:
+                date = simpleFormatDate(dates[row]);
+                time = simpleFormatTime(times[row]);
+                break;
+            default:
+                date = DateTimeFormatCache.formatDate(dates[row]);
+                time = DateTimeFormatCache.formatTime(times[row]);
+                break;
+        }
+        return date.length() + time.length();
+    }
+
+    // Admin dashboard before DateTimeFormatCache
+    private static String simpleFormatDate(String dateStr) {
+        try {
+            SimpleDateFormat inputFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
+            SimpleDateFormat outputFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
+            Date date = inputFormat.parse(dateStr);
+            return date != null ? outputFormat.format(date) : dateStr;
+        } catch (ParseException e) {
+            return dateStr;
+        }
+    }
+
+    private static String simpleFormatTime(String timeStr) {
+        try {
+            SimpleDateFormat inputFormat = new SimpleDateFormat("HH:mm:ss", Locale.getDefault());
+            SimpleDateFormat outputFormat = new SimpleDateFormat("h:mm a", Locale.getDefault());
+            Date time = inputFormat.parse(timeStr);
+            return time != null ? outputFormat.format(time) : timeStr;
+        } catch (ParseException e) {
+            return timeStr;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.eventmanager.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * DateTimeFormatCache must print what the string-splitting formatters in EventAdapter
+ * printed, whatever the default locale.
+ */
+public class DateTimeFormatCacheTest {
+
+    private static final int ROW_COUNT = 1000;
+
+    private Locale previousLocale;
+    private String[] dates;
+    private String[] times;
+
+    @Before
+    public void setUp() {
+        previousLocale = Locale.getDefault();
+
+        // Same spread as a real list: a few dozen dates and a dozen start times
+        dates = new String[ROW_COUNT];
+        times = new String[ROW_COUNT];
+        for (int i = 0; i < ROW_COUNT; i++) {
+            dates[i] = "2025-12-" + String.format(Locale.US, "%02d", 1 + i % 28);
+            times[i] = String.format(Locale.US, "%02d", 8 + i % 12) + ":" + (i % 2 == 0 ? "00" : "30") + ":00";
+        }
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(previousLocale);
+    }
+
+    @Test
+    public void formatsLikeTheOldRenderers() {
+        for (int i = 0; i < ROW_COUNT; i++) {
+            assertEquals(splitFormatDate(dates[i]), DateTimeFormatCache.formatDate(dates[i]));
+            assertEquals(splitFormatTime(times[i]), DateTimeFormatCache.formatTime(times[i]));
+        }
+        assertEquals("12:05 AM", DateTimeFormatCache.formatTime("00:05:00"));
+        assertEquals("12:00 PM", DateTimeFormatCache.formatTime("12:00"));
+        assertEquals("Dec 15, 2025 2:05 PM", DateTimeFormatCache.formatDateTime("2025-12-15T14:05:09.123456+05:00"));
+        assertEquals("Dec 15, 2025 2:05 PM", DateTimeFormatCache.formatDateTime("2025-12-15T14:05:09Z"));
+    }
+
+    @Test
+    public void unparseableValuesComeBackUnchanged() {
+        assertEquals("", DateTimeFormatCache.formatDate(null));
+        assertEquals("", DateTimeFormatCache.formatTime(""));
+        assertEquals("TBA", DateTimeFormatCache.formatDate("TBA"));
+        assertEquals("25:00", DateTimeFormatCache.formatTime("25:00"));
+        assertEquals("yesterday", DateTimeFormatCache.formatDateTime("yesterday"));
+    }
+
+    @Test
+    public void ignoresDefaultLocale() {
+        Locale.setDefault(Locale.GERMANY);
+        assertEquals("Mar 15, 2025", DateTimeFormatCache.formatDate("2025-03-15"));
+        assertEquals("2:30 PM", DateTimeFormatCache.formatTime("14:30:00"));
+        assertEquals("Mar 15, 2025 2:30 PM", DateTimeFormatCache.formatDateTime("2025-03-15T14:30:00Z"));
+    }
+
+    // ==================== Previous formatters ====================
+
+    // EventAdapter / RegistrationAdapter before DateTimeFormatCache; shared with DateTimeFormatCacheBenchmark
+    static String splitFormatDate(String date) {
+        String[] parts = date.split("-");
+        String[] months = {"Jan", "Feb", "Mar", "Apr", "May", "Jun",
+                           "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+        int monthIndex = Integer.parseInt(parts[1]) - 1;
+        return months[monthIndex] + " " + Integer.parseInt(parts[2]) + ", " + parts[0];
+    }
+
+    static String splitFormatTime(String time) {
+        String[] parts = time.split(":");
+        int hour = Integer.parseInt(parts[0]);
+        int minute = Integer.parseInt(parts[1]);
+        String amPm = hour >= 12 ? "PM" : "AM";
+        if (hour > 12) hour -= 12;
+        if (hour == 0) hour = 12;
+        return hour + ":" + String.format("%02d", minute) + " " + amPm;
+    }
+}